@@ -0,0 +1,47 @@
+package rug.astro.control;
+
+import org.openjdk.jmh.annotations.*;
+import rug.astro.model.BenchmarkWorlds;
+import rug.astro.model.Game;
+import rug.astro.model.Spaceship;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a whole game tick, and the collision check on its own, in worlds with more and more planets. The planets
+ * are at random locations, so with more planets there are more of them near the ship. The ship flies in circles, so
+ * that it keeps meeting other planets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameUpdaterBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int planets;
+
+    private GameUpdater updater;
+
+    @Setup
+    public void setUp() {
+        Game game = BenchmarkWorlds.withRandomPlanets(this.planets, 42);
+        Spaceship ship = game.getSpaceship();
+        ship.setLocation(Game.SPACESIZE / 2.0, Game.SPACESIZE / 2.0);
+        ship.setAccelerateKeyPressed(true);
+        ship.setTurnLeftKeyPressed(true);
+        ship.setDepartureKeyPressed(true); // Leave every planet right after landing on it, to keep flying.
+        this.updater = new GameUpdater(game);
+    }
+
+    @Benchmark
+    public void updatePhysics() {
+        this.updater.tick();
+    }
+
+    @Benchmark
+    public void checkCollisions() {
+        this.updater.checkCollisions();
+    }
+}
@@ -0,0 +1,74 @@
+package rug.astro.control;
+
+import org.openjdk.jmh.annotations.*;
+import rug.astro.model.Game;
+import rug.astro.model.Spaceship;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replaying a whole input recording, which makes a recorded session into a workload that does exactly the same
+ * thing in every run. A recording can be given with -p recording=path/to/recording.bin, for instance one recorded with
+ * -Dastro.recordInput while playing. Without one, a session of an autopilot pressing random keys is recorded first, in
+ * the same way as HeadlessMain does it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+    /**
+     * The number of ticks in the recording that is made when none is given, and how long the autopilot holds on to its
+     * keys.
+     */
+    private static final int RECORDED_TICKS = 10_000;
+
+    private static final int TICKS_PER_DECISION = 15;
+
+    @Param({""})
+    private String recording;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.bytes = this.recording.isEmpty() ? record() : Files.readAllBytes(Paths.get(this.recording));
+    }
+
+    @Benchmark
+    public long replay() throws IOException {
+        return new InputReplayer(new ByteArrayInputStream(this.bytes)).replay(new Game(0L));
+    }
+
+    /**
+     * @return A recording of a session of an autopilot pressing random keys.
+     */
+    private static byte[] record() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Random random = new Random(42);
+        Game game = new Game(42);
+        InputRecorder recorder = new InputRecorder(out);
+        game.setInputRecorder(recorder);
+        GameUpdater updater = new GameUpdater(game);
+        Spaceship ship = game.getSpaceship();
+        for (int tick = 0; tick < RECORDED_TICKS && !game.isGameOver(); tick++) {
+            if (tick % TICKS_PER_DECISION == 0) {
+                ship.setAccelerateKeyPressed(random.nextBoolean());
+                ship.setTurnLeftKeyPressed(random.nextInt(4) == 0);
+                ship.setTurnRightKeyPressed(random.nextInt(4) == 0);
+                ship.setDepartureKeyPressed(random.nextInt(8) == 0);
+            }
+            updater.tick();
+        }
+        recorder.close();
+        return out.toByteArray();
+    }
+}
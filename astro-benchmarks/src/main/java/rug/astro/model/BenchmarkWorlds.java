@@ -0,0 +1,110 @@
+package rug.astro.model;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Makes games with a given number of planets for the benchmarks. This lives in the model's package, so that it can use
+ * the constructor that gives a game another catalog of planets.
+ */
+public final class BenchmarkWorlds {
+    private BenchmarkWorlds() {
+    }
+
+    /**
+     * Writes a catalog with the given number of made up planets to a temporary file. The file is deleted when the JVM
+     * exits.
+     *
+     * @param planets The number of planets in the catalog.
+     * @return The path of the catalog.
+     */
+    @SuppressWarnings("unchecked") // json-simple's collections are raw.
+    public static String writeCatalog(int planets) {
+        JSONArray catalog = new JSONArray();
+        for (int i = 0; i < planets; i++) {
+            JSONObject planet = new JSONObject();
+            planet.put("name", "Planet " + i);
+            planet.put("description", "Planet " + i + " is a made up planet, which only exists to be benchmarked.");
+            catalog.add(planet);
+        }
+        try {
+            File file = File.createTempFile("astro-catalog-", ".json");
+            file.deleteOnExit();
+            try (Writer writer = new FileWriter(file)) {
+                catalog.writeJSONString(writer);
+            }
+            return file.getPath();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes a game whose planets come from the given catalog, placed the way they always are.
+     *
+     * @param catalogPath The path of the catalog, as written by writeCatalog().
+     * @return The new game.
+     */
+    public static Game withCatalog(String catalogPath) {
+        return new Game(catalogPath);
+    }
+
+    /**
+     * Makes a game with any number of planets, at random locations. Planets that are spaced out properly only fit in
+     * space by the hundred, so to measure how the game copes with many more planets than that, these planets are
+     * allowed to overlap.
+     *
+     * @param planets The number of planets.
+     * @param seed The seed of the random locations.
+     * @return The new game.
+     */
+    public static Game withRandomPlanets(int planets, long seed) {
+        Game game = new Game(writeCatalog(0));
+        PlanetCatalog catalog;
+        try {
+            catalog = PlanetCatalog.open(writeCatalog(planets));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < planets; i++) {
+            double x = random.nextDouble() * Game.SPACESIZE;
+            double y = random.nextDouble() * Game.SPACESIZE;
+            Planet planet = new Planet(game.getEntities(), x, y, Game.PLANET_RADIUS, catalog, i);
+            game.getPlanets().add(planet);
+            game.getPlanetGrid().insert(planet.getIndex(), x, y);
+        }
+        game.publishWorld(game.getWorld().getStars());
+        return game;
+    }
+
+    /**
+     * Adds stars at random locations to a game, on top of the ones it already has. The stars of a world never change, so
+     * the game gets a new world with all of them.
+     *
+     * @param game The game to add stars to.
+     * @param stars The number of stars to add.
+     * @param seed The seed of the random locations.
+     */
+    public static void addStars(Game game, int stars, long seed) {
+        StarField old = game.getWorld().getStars();
+        StarField field = new StarField(0, 0, old.size() + stars);
+        for (int i = 0; i < old.size(); i++) {
+            field.add(old.getX(i), old.getY(i), old.getAngle(i));
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < stars; i++) {
+            int x = random.nextInt(Game.SPACESIZE);
+            int y = random.nextInt(Game.SPACESIZE);
+            field.add(x, y, random.nextInt(90));
+        }
+        game.publishWorld(field);
+    }
+}
@@ -0,0 +1,44 @@
+package rug.astro.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures opening a catalog of planets and reading one of its entries, for a JSON catalog, which has to be read in
+ * full, and for the same catalog converted to the binary format, which is mapped into memory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogBenchmark {
+    @Param({"16", "100000"})
+    private int catalogSize;
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private String path;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.path = BenchmarkWorlds.writeCatalog(this.catalogSize);
+        if (this.format.equals("binary")) {
+            File binary = File.createTempFile("astro-catalog-", ".bin");
+            binary.deleteOnExit();
+            PlanetCatalog.convert(this.path, binary.getPath());
+            this.path = binary.getPath();
+        }
+    }
+
+    @Benchmark
+    public String openAndRead() throws IOException {
+        PlanetCatalog catalog = PlanetCatalog.open(this.path);
+        return catalog.getDescription(catalog.size() / 2);
+    }
+}
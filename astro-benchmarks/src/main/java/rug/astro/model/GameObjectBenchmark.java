@@ -0,0 +1,42 @@
+package rug.astro.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single step of a game object: a planet, which only moves, and the spaceship, which also turns and
+ * accelerates. The ship keeps its accelerate and turn keys pressed, so it flies in circles and never gets stuck against
+ * the edge of space.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameObjectBenchmark {
+    private Planet planet;
+
+    private Spaceship ship;
+
+    @Setup
+    public void setUp() {
+        Game game = new Game();
+        this.planet = game.getPlanets().iterator().next();
+        this.ship = game.getSpaceship();
+        this.ship.setLocation(Game.SPACESIZE / 2.0, Game.SPACESIZE / 2.0);
+        this.ship.setAccelerateKeyPressed(true);
+        this.ship.setTurnLeftKeyPressed(true);
+    }
+
+    @Benchmark
+    public void planetNextStep() {
+        this.planet.nextStep();
+    }
+
+    @Benchmark
+    public void spaceshipNextStep() {
+        this.ship.nextStep();
+    }
+}
@@ -0,0 +1,40 @@
+package rug.astro.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures making a new world: placing the planets of catalogs of several sizes, and resetting all of a game's data,
+ * which also makes the stars. The largest catalog is close to the number of planets that always fit in space, which is
+ * around 60.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldGenerationBenchmark {
+    @Param({"4", "16", "48"})
+    private int catalogSize;
+
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        this.game = BenchmarkWorlds.withCatalog(BenchmarkWorlds.writeCatalog(this.catalogSize));
+    }
+
+    @Benchmark
+    public Game generatePlanets() {
+        this.game.generatePlanets();
+        return this.game;
+    }
+
+    @Benchmark
+    public Game initializeGameData() {
+        this.game.initializeGameData();
+        return this.game;
+    }
+}
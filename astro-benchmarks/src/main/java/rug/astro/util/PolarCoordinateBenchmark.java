@@ -0,0 +1,29 @@
+package rug.astro.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures making a polar coordinate, which normalizes its angle and radius. The angles include negative ones and ones
+ * beyond a full turn, which take the longer way through the normalization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolarCoordinateBenchmark {
+    private final double[] angles = {0.0, 0.8 * Math.PI, -1.2 * Math.PI, 5.0 * Math.PI};
+
+    private final double[] radii = {20, 15, -25, 0};
+
+    private int next;
+
+    @Benchmark
+    public PolarCoordinate construct() {
+        int i = this.next++ & 3;
+        return new PolarCoordinate(this.angles[i], this.radii[i]);
+    }
+}
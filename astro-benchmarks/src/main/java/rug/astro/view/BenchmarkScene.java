@@ -0,0 +1,92 @@
+package rug.astro.view;
+
+import rug.astro.model.BenchmarkWorlds;
+import rug.astro.model.Game;
+import rug.astro.model.Planet;
+
+/**
+ * A scripted scene for the rendering benchmarks: a game, and the circle that the ship flies along while it is painted.
+ * RenderBenchmark times these scenes, and RenderAllocationCheck counts what painting them allocates, so both look at
+ * the same frames.
+ */
+final class BenchmarkScene {
+    /**
+     * How far the ship travels along its circle every frame, in radians.
+     */
+    private static final double ANGLE_PER_FRAME = Math.PI / 180;
+
+    private final String name;
+
+    private final Game game;
+
+    private final double centerX;
+
+    private final double centerY;
+
+    private final double radius;
+
+    /**
+     * Whether the scene is far beyond anything the game shows, and is there to see how the renderer scales.
+     */
+    private final boolean stress;
+
+    private BenchmarkScene(String name, Game game, double centerX, double centerY, double radius, boolean stress) {
+        this.name = name;
+        this.game = game;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+        this.stress = stress;
+        game.setRunning(true); // Stars and planets are only drawn in a running game.
+    }
+
+    /**
+     * @return The scenes to measure.
+     */
+    static BenchmarkScene[] createAll() {
+        Game denseStars = new Game();
+        BenchmarkWorlds.addStars(denseStars, 20_000, 42);
+
+        Game docked = new Game();
+        Planet planet = docked.getPlanets().iterator().next();
+        docked.setCurrentPlanet(planet);
+
+        // The view shows about a sixth of space, so this many planets puts around a thousand of them in view.
+        Game crowded = BenchmarkWorlds.withRandomPlanets(6_250, 42);
+
+        double middle = Game.SPACESIZE / 2.0;
+        return new BenchmarkScene[]{
+                new BenchmarkScene("open space", new Game(), middle, middle, 300, false),
+                new BenchmarkScene("dense star field", denseStars, middle, middle, 600, false),
+                new BenchmarkScene("docked", docked, planet.getX(), planet.getY(), 0, false),
+                new BenchmarkScene("world border", new Game(), 200, 200, 150, false),
+                new BenchmarkScene("1k visible planets", crowded, middle, middle, 300, true),
+        };
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    Game getGame() {
+        return this.game;
+    }
+
+    boolean isStress() {
+        return this.stress;
+    }
+
+    /**
+     * Puts the ship where it is in the given frame, and publishes that as the game's state.
+     *
+     * @param frame The number of the frame. Negative numbers can be used for frames that are painted before measuring.
+     */
+    void setFrame(int frame) {
+        double angle = frame * ANGLE_PER_FRAME;
+        this.game.getSpaceship().setLocation(
+                this.centerX + Math.cos(angle) * this.radius,
+                this.centerY + Math.sin(angle) * this.radius
+        );
+        this.game.publishSnapshot();
+    }
+}
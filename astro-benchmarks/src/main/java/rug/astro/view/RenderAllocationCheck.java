@@ -0,0 +1,185 @@
+package rug.astro.view;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that painting a frame doesn't allocate, by painting the benchmark scenes into an image, so it runs without a
+ * display, and counting the bytes that the painting thread allocates with the JVM's ThreadMXBean. Once everything is
+ * warmed up, no frame of any scene may allocate more than the Java2D baseline; otherwise the program exits with status
+ * 1, so that a build can fail on it.
+ *
+ * Frames aren't entirely free of allocation, but what is left happens inside Java2D: the antialiased fill and outline
+ * of the ship's path each allocate a path iterator, and switching fonts after drawing text makes Java2D work out its
+ * font info again. So besides the scenes, the same run measures a baseline: frames that make the same kind of Java2D
+ * calls as the renderer, with everything the renderer itself works out prepared beforehand. The most that a baseline
+ * frame allocates is what Java2D needs, and a frame of a scene may not allocate a single byte more than that, so that
+ * anything the renderer itself would allocate, such as a new Color or String on one frame, fails the check.
+ *
+ * Usage: RenderAllocationCheck [frames per scene]
+ */
+public class RenderAllocationCheck {
+    /**
+     * The number of frames of the baseline and of every scene that are painted before counting any of them, so that
+     * the JIT compiler and the caches of the renderer have settled down. Until the JIT compiler is done with the code
+     * that all scenes share, frames allocate objects that it later does away with, so everything is warmed up first.
+     */
+    private static final int WARMUP_FRAMES = 2_000;
+
+    /**
+     * Frames that can be painted and counted: those of the baseline, or those of a scene.
+     */
+    private interface Frames {
+        /**
+         * Gets ready to paint the given frame. This isn't counted.
+         */
+        void setFrame(int frame);
+
+        /**
+         * Paints the frame.
+         */
+        void paint(Graphics2D g);
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("This JVM can't count the bytes that a thread allocates.");
+            System.exit(1);
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        BenchmarkScene[] scenes = BenchmarkScene.createAll();
+        Frames[] sceneFrames = new Frames[scenes.length];
+        for (int i = 0; i < scenes.length; i++) {
+            sceneFrames[i] = paintScene(scenes[i]);
+        }
+        Frames baselineFrames = new BaselineFrame();
+
+        BufferedImage image = PlanetImages.createCompatibleImage(AstroFrame.WINDOW_SIZE.width, AstroFrame.WINDOW_SIZE.height);
+        Graphics2D graphics = image.createGraphics();
+        warmUp(baselineFrames, graphics);
+        for (Frames scene : sceneFrames) {
+            warmUp(scene, graphics);
+        }
+
+        long baseline = measure(threads, baselineFrames, graphics, frames);
+        System.out.printf("%-20s %6d bytes in the worst frame%n", "Java2D baseline", baseline);
+        boolean overBaseline = false;
+        for (int i = 0; i < scenes.length; i++) {
+            long worst = measure(threads, sceneFrames[i], graphics, frames);
+            System.out.printf("%-20s %6d bytes in the worst frame, %d over the baseline%n", scenes[i].getName(), worst,
+                    Math.max(0, worst - baseline));
+            if (worst > baseline) {
+                System.out.printf("%s allocates more than Java2D needs.%n", scenes[i].getName());
+                overBaseline = true;
+            }
+        }
+        graphics.dispose();
+        if (overBaseline) {
+            System.exit(1);
+        }
+        System.out.println("No scene allocates more than Java2D needs.");
+    }
+
+    /**
+     * @return The frames of a scene, painted through a panel of its own. The snapshot of every frame is published
+     * before its painting starts, so only painting is counted.
+     */
+    private static Frames paintScene(BenchmarkScene scene) {
+        AstroPanel panel = new AstroPanel(scene.getGame());
+        panel.setSize(AstroFrame.WINDOW_SIZE);
+        return new Frames() {
+            @Override
+            public void setFrame(int frame) {
+                scene.setFrame(frame);
+            }
+
+            @Override
+            public void paint(Graphics2D g) {
+                panel.paintComponent(g);
+            }
+        };
+    }
+
+    private static void warmUp(Frames frames, Graphics2D graphics) {
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            frames.setFrame(-1 - frame);
+            frames.paint(graphics);
+        }
+    }
+
+    /**
+     * Paints frames and counts what each of them allocates.
+     *
+     * @return The most bytes that a single frame allocated.
+     */
+    private static long measure(com.sun.management.ThreadMXBean threads, Frames frames, Graphics2D graphics, int count) {
+        long thread = Thread.currentThread().getId();
+        long worst = 0L;
+        for (int frame = 0; frame < count; frame++) {
+            frames.setFrame(frame);
+            long before = threads.getThreadAllocatedBytes(thread);
+            frames.paint(graphics);
+            worst = Math.max(worst, threads.getThreadAllocatedBytes(thread) - before);
+        }
+        return worst;
+    }
+
+    /**
+     * A frame with the renderer's own work taken out. It makes the same kind of Java2D calls as the renderer does, in
+     * the same order: the background, the star tiles, the ship's body, a planet, the minimap with the ship's dot, and
+     * the text above it. Everything they draw is made once, beforehand.
+     */
+    private static final class BaselineFrame implements Frames {
+        private final Image tile = PlanetImages.createCompatibleImage(Tiles.TILE_SIZE, Tiles.TILE_SIZE, Transparency.OPAQUE);
+
+        private final Image planet = PlanetImages.getInstance().get(1);
+
+        private final Image minimap = PlanetImages.createCompatibleImage(150, 150, Transparency.OPAQUE);
+
+        private final Path2D.Double ship = new Path2D.Double();
+
+        private final Color shipColor = new Color(0x3366FF);
+
+        private BaselineFrame() {
+            this.ship.moveTo(420, 400);
+            this.ship.lineTo(390, 390);
+            this.ship.lineTo(390, 410);
+            this.ship.closePath();
+        }
+
+        @Override
+        public void setFrame(int frame) {
+        }
+
+        @Override
+        public void paint(Graphics2D g) {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, AstroFrame.WINDOW_SIZE.width, AstroFrame.WINDOW_SIZE.height);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.setFont(GameRenderer.TEXT_FONT);
+            for (int y = 0; y < 2; y++) {
+                for (int x = 0; x < 2; x++) {
+                    g.drawImage(this.tile, x * Tiles.TILE_SIZE - 100, y * Tiles.TILE_SIZE - 100, null);
+                }
+            }
+            g.setColor(this.shipColor);
+            g.fill(this.ship);
+            g.setColor(Color.WHITE);
+            g.draw(this.ship);
+            g.drawImage(this.planet, 200, 200, null);
+            g.drawImage(this.minimap, 640, 40, null);
+            g.setColor(Color.CYAN);
+            g.fillRect(715, 115, 4, 4);
+            g.setColor(Color.WHITE);
+            g.setFont(GameRenderer.MINIMAP_FONT);
+            g.drawString("Visited planets: 0/16", 650, 30);
+        }
+    }
+}
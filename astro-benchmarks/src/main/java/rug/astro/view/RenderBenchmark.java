@@ -0,0 +1,179 @@
+package rug.astro.view;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures how long it takes to paint frames, by painting scripted scenes into an image instead of onto the screen, so
+ * it runs without a display, for instance on a build server. For every scene, whole frames are painted through
+ * AstroPanel.paintComponent(), and each of the renderer's draw methods is also timed on its own. The 50th, 99th and
+ * 99.9th percentile of the times are printed. Slow scenes are measured for a limited time, so they may get fewer
+ * frames than asked for.
+ *
+ * A frame budget can be given, in milliseconds; the default is that of a 144 Hz display. If the 99th percentile of the
+ * whole frames of any scene is over budget, the program exits with status 1, so that a build can fail on it. Stress
+ * scenes, which are far beyond anything the game shows, are there to see how the renderer scales. They are held to a
+ * budget of their own, which defaults to that of a 60 Hz display, so that a renderer that slows down badly with the
+ * number of things in view still fails the build.
+ *
+ * Usage: RenderBenchmark [frames per scene] [frame budget in ms] [stress frame budget in ms]
+ */
+public class RenderBenchmark {
+    /**
+     * The number of frames painted before measuring, so that the JIT compiler and the caches of the renderer have
+     * settled down.
+     */
+    private static final int WARMUP_FRAMES = 500;
+
+    /**
+     * The most time spent on warming up and on measuring a single scene. Scenes that are slow to paint get fewer frames,
+     * so that a run always ends in reasonable time.
+     */
+    private static final long MAX_WARMUP_NANOSECONDS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final long MAX_MEASURE_NANOSECONDS = TimeUnit.SECONDS.toNanos(20);
+
+    /**
+     * The frame budget when none is given: the time between two refreshes of a 144 Hz display.
+     */
+    private static final double DEFAULT_BUDGET_MILLISECONDS = 1000.0 / 144;
+
+    /**
+     * The frame budget of stress scenes when none is given: the time between two refreshes of a 60 Hz display.
+     */
+    private static final double DEFAULT_STRESS_BUDGET_MILLISECONDS = 1000.0 / 60;
+
+    /**
+     * The percentiles that are reported.
+     */
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        double budget = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_BUDGET_MILLISECONDS;
+        double stressBudget = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_STRESS_BUDGET_MILLISECONDS;
+
+        boolean overBudget = false;
+        System.out.printf("%-20s %-16s %7s %9s %9s %9s%n", "Scene", "Part", "Frames", "p50 ms", "p99 ms", "p99.9 ms");
+        for (BenchmarkScene scene : BenchmarkScene.createAll()) {
+            double[] framePercentiles = measure(scene, frames);
+            double sceneBudget = scene.isStress() ? stressBudget : budget;
+            if (framePercentiles[1] > sceneBudget) {
+                System.out.printf("%s is over the %sframe budget of %.2f ms.%n", scene.getName(),
+                        scene.isStress() ? "stress " : "", sceneBudget);
+                overBudget = true;
+            }
+        }
+        if (overBudget) {
+            System.exit(1);
+        }
+        System.out.printf("All scenes are within the frame budget of %.2f ms, and the stress frame budget of %.2f ms.%n",
+                budget, stressBudget);
+    }
+
+    /**
+     * Measures a scene and prints its percentiles.
+     *
+     * @param scene The scene to measure.
+     * @param frames The number of frames to measure.
+     * @return The percentiles of the times of whole frames, in milliseconds.
+     */
+    private static double[] measure(BenchmarkScene scene, int frames) {
+        BufferedImage image = PlanetImages.createCompatibleImage(AstroFrame.WINDOW_SIZE.width, AstroFrame.WINDOW_SIZE.height);
+        Graphics2D graphics = image.createGraphics();
+        AstroPanel panel = new AstroPanel(scene.getGame());
+        panel.setSize(AstroFrame.WINDOW_SIZE);
+
+        // The draw methods are timed on a renderer of their own, so that they don't share caches with the panel's.
+        GameRenderer renderer = new GameRenderer(scene.getGame());
+        Map<String, Consumer<Graphics2D>> parts = new LinkedHashMap<>();
+        parts.put("drawStars", renderer::drawStars);
+        parts.put("drawGameObjects", renderer::drawGameObjects);
+        parts.put("drawDead", renderer::drawDead);
+        parts.put("drawBorderX", renderer::drawBorderX);
+        parts.put("drawBorderY", renderer::drawBorderY);
+        parts.put("drawPlanets", renderer::drawPlanets);
+        parts.put("drawMinimap", renderer::drawMinimap);
+        parts.put("drawInfo", renderer::drawInfo);
+
+        long warmupEnd = System.nanoTime() + MAX_WARMUP_NANOSECONDS;
+        for (int frame = 0; frame < WARMUP_FRAMES && System.nanoTime() < warmupEnd; frame++) {
+            paintFrame(scene, -1 - frame, panel, renderer, parts.values(), graphics, null, null);
+        }
+
+        long[] frameTimes = new long[frames];
+        long[][] partTimes = new long[parts.size()][frames];
+        long measureEnd = System.nanoTime() + MAX_MEASURE_NANOSECONDS;
+        int measured = 0;
+        while (measured < frames && System.nanoTime() < measureEnd) {
+            paintFrame(scene, measured, panel, renderer, parts.values(), graphics, frameTimes, partTimes);
+            measured++;
+        }
+        graphics.dispose();
+
+        double[] framePercentiles = print(scene.getName(), "frame", Arrays.copyOf(frameTimes, measured));
+        int part = 0;
+        for (String name : parts.keySet()) {
+            print("", name, Arrays.copyOf(partTimes[part++], measured));
+        }
+        return framePercentiles;
+    }
+
+    /**
+     * Paints one frame of a scene through the panel, and then once more one draw method at a time.
+     *
+     * @param frame The number of the frame, which decides where the ship is.
+     * @param frameTimes Where to store the time of the whole frame, or null if it isn't measured.
+     * @param partTimes Where to store the time of each draw method, or null if they aren't measured.
+     */
+    private static void paintFrame(BenchmarkScene scene, int frame, AstroPanel panel, GameRenderer renderer,
+                                   Iterable<Consumer<Graphics2D>> parts, Graphics2D graphics,
+                                   long[] frameTimes, long[][] partTimes) {
+        scene.setFrame(frame);
+
+        long start = System.nanoTime();
+        panel.paintComponent(graphics);
+        long frameTime = System.nanoTime() - start;
+        if (frameTimes != null) {
+            frameTimes[frame] = frameTime;
+        }
+
+        renderer.prepare(scene.getGame().getSnapshot(), 0L);
+        int part = 0;
+        for (Consumer<Graphics2D> draw : parts) {
+            start = System.nanoTime();
+            draw.accept(graphics);
+            long partTime = System.nanoTime() - start;
+            if (partTimes != null) {
+                partTimes[part][frame] = partTime;
+            }
+            part++;
+        }
+    }
+
+    /**
+     * Prints one line with the percentiles of some times.
+     *
+     * @param scene The name of the scene, or an empty string.
+     * @param part What was timed.
+     * @param times The times, in nanoseconds. They are sorted by this method.
+     * @return The percentiles, in milliseconds.
+     */
+    private static double[] print(String scene, String part, long[] times) {
+        Arrays.sort(times);
+        double[] percentiles = new double[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            int index = Math.max((int) Math.ceil(PERCENTILES[i] * times.length) - 1, 0);
+            percentiles[i] = times[index] / 1e6;
+        }
+        System.out.printf("%-20s %-16s %7d %9.3f %9.3f %9.3f%n", scene, part, times.length,
+                percentiles[0], percentiles[1], percentiles[2]);
+        return percentiles;
+    }
+}
@@ -0,0 +1,26 @@
+package rug.astro;
+
+import rug.astro.model.PlanetCatalog;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Converts a JSON catalog of planets into the binary format that the game maps into memory. JSON catalogs are easy to
+ * write and change by hand; converting them once makes opening the catalog take no time, however large it is. The game
+ * uses generated.bin instead of generated.json if it exists.
+ *
+ * Usage: CatalogConverter catalog.json catalog.bin
+ */
+public class CatalogConverter {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CatalogConverter catalog.json catalog.bin");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        int planets = PlanetCatalog.convert(args[0], args[1]);
+        System.out.printf("Converted %d planets into %s (%d bytes) in %.2f s.%n",
+                planets, args[1], new File(args[1]).length(), (System.nanoTime() - start) / 1e9);
+    }
+}
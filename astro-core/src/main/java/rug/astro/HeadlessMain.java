@@ -0,0 +1,71 @@
+package rug.astro;
+
+import rug.astro.control.GameUpdater;
+import rug.astro.control.InputRecorder;
+import rug.astro.model.Game;
+import rug.astro.model.Spaceship;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Runs games without any window. Every session gets its own game and game updater, which are ticked as fast as
+ * possible while a simple autopilot presses random keys. No AWT or Swing classes are needed for this, so it can be used
+ * for soak tests and server-side validation of the simulation.
+ *
+ * Every session is seeded with its number, so a run does the same thing every time. The keys of all sessions can be
+ * recorded into a file, which ReplayMain can play back.
+ *
+ * Usage: HeadlessMain [sessions] [ticks per session] [recording file]
+ */
+public class HeadlessMain {
+    /**
+     * The number of ticks the autopilot holds on to a choice of keys before picking new ones.
+     */
+    private static final int TICKS_PER_DECISION = 15;
+
+    public static void main(String[] args) throws IOException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        InputRecorder recorder = args.length > 2 ? new InputRecorder(new FileOutputStream(args[2])) : null;
+
+        long start = System.nanoTime();
+        int discovered = 0;
+        for (int session = 0; session < sessions; session++) {
+            discovered += runSession(session, ticks, recorder);
+        }
+        if (recorder != null) {
+            recorder.close();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Simulated %d sessions of %d ticks in %.2f s (%.0f ticks/s), %d planets discovered.%n",
+                sessions, ticks, seconds, sessions * (double) ticks / seconds, discovered);
+    }
+
+    /**
+     * Plays a single game for the given number of ticks.
+     *
+     * @param seed Decides the world, and which keys the autopilot presses.
+     * @param ticks The number of ticks to simulate.
+     * @param recorder Where to record the keys, or null.
+     * @return The number of planets that were discovered during the session.
+     */
+    private static int runSession(long seed, int ticks, InputRecorder recorder) {
+        Random random = new Random(seed);
+        Game game = new Game(seed);
+        game.setInputRecorder(recorder);
+        GameUpdater updater = new GameUpdater(game);
+        Spaceship ship = game.getSpaceship();
+        for (int tick = 0; tick < ticks && !game.isGameOver(); tick++) {
+            if (tick % TICKS_PER_DECISION == 0) {
+                ship.setAccelerateKeyPressed(random.nextBoolean());
+                ship.setTurnLeftKeyPressed(random.nextInt(4) == 0);
+                ship.setTurnRightKeyPressed(random.nextInt(4) == 0);
+                ship.setDepartureKeyPressed(random.nextInt(8) == 0);
+            }
+            updater.tick();
+        }
+        return game.getDiscovered();
+    }
+}
@@ -0,0 +1,141 @@
+package rug.astro;
+
+import rug.astro.control.GameUpdater;
+import rug.astro.model.Game;
+import rug.astro.model.Spaceship;
+import rug.astro.net.GameClient;
+import rug.astro.net.GameServer;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays a game on a server with a number of clients, all on this machine and without any window, to see what the
+ * network costs. The server runs its game updater in real time, as it would for real players, while the clients are
+ * polled from the main thread, each with a simple autopilot that presses random keys.
+ *
+ * At the end, it tells how many bytes every client sent and received per second, how much time the server's game
+ * updater spent on the network per client and per tick, and how much processor time the clients took. It also checks
+ * that every client ended up with every ship.
+ *
+ * Usage: NetworkMain [clients] [seconds]
+ */
+public class NetworkMain {
+    /**
+     * How often the autopilots pick new keys, in milliseconds.
+     */
+    private static final int MILLISECONDS_PER_DECISION = 500;
+
+    /**
+     * How long to wait between polls of the clients, in microseconds. Real clients poll once per display frame, which
+     * is about seven times as long.
+     */
+    private static final int MICROSECONDS_PER_POLL = 1000;
+
+    public static void main(String[] args) throws IOException {
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        Game game = new Game(0);
+        GameServer server = new GameServer(game, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        game.setServer(server);
+        game.start();
+
+        GameClient[] clients = new GameClient[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clients[i] = new GameClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+        }
+        // Let everyone join before measuring, so that only the play itself is counted.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!allHaveShips(clients, clientCount + 1)) {
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Not every client was welcomed in time.");
+            }
+            pollAll(clients);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(MICROSECONDS_PER_POLL));
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] bytesSent = new long[clientCount];
+        long[] bytesReceived = new long[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            bytesSent[i] = clients[i].getBytesSent();
+            bytesReceived[i] = clients[i].getBytesReceived();
+        }
+        long networkTime = server.getNetworkTime();
+        long serverBytesSent = server.getBytesSent();
+        int firstTick = clients[0].getTick();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+
+        Random random = new Random(0);
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long nextDecision = start;
+        while (System.nanoTime() < end) {
+            if (System.nanoTime() >= nextDecision) {
+                for (GameClient client : clients) {
+                    int keys = 0;
+                    keys |= random.nextBoolean() ? Spaceship.ACCELERATE_KEY : 0;
+                    keys |= random.nextInt(4) == 0 ? Spaceship.TURN_LEFT_KEY : 0;
+                    keys |= random.nextInt(4) == 0 ? Spaceship.TURN_RIGHT_KEY : 0;
+                    keys |= random.nextInt(8) == 0 ? Spaceship.DEPARTURE_KEY : 0;
+                    client.sendKeys(keys);
+                }
+                nextDecision += TimeUnit.MILLISECONDS.toNanos(MILLISECONDS_PER_DECISION);
+            }
+            pollAll(clients);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(MICROSECONDS_PER_POLL));
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long clientCpu = threads.getCurrentThreadCpuTime() - cpuStart;
+        int ticks = clients[0].getTick() - firstTick;
+        long sent = 0;
+        long received = 0;
+        boolean complete = true;
+        for (int i = 0; i < clientCount; i++) {
+            sent += clients[i].getBytesSent() - bytesSent[i];
+            received += clients[i].getBytesReceived() - bytesReceived[i];
+            complete &= clients[i].getShips().size() == clientCount + 1;
+        }
+        networkTime = server.getNetworkTime() - networkTime;
+        serverBytesSent = server.getBytesSent() - serverBytesSent;
+        game.quit();
+        server.close();
+        for (GameClient client : clients) {
+            client.close();
+        }
+
+        System.out.printf("%d clients for %.2f s, %d ticks (%d expected).%n",
+                clientCount, elapsed, ticks, Math.round(elapsed * 1000 / GameUpdater.MILLISECONDS_PER_TICK));
+        System.out.printf("Per client: %.0f bytes/s down (%.1f bytes/tick), %.0f bytes/s up.%n",
+                received / elapsed / clientCount, received / (double) clientCount / Math.max(1, ticks),
+                sent / elapsed / clientCount);
+        System.out.printf("Server: %.0f bytes/s sent in all, %.2f us of network time per client per tick.%n",
+                serverBytesSent / elapsed, networkTime / 1e3 / clientCount / Math.max(1, ticks));
+        System.out.printf("Clients: %.2f us of processor time per client per tick.%n",
+                clientCpu / 1e3 / clientCount / Math.max(1, ticks));
+        System.out.println(complete ? "Every client has every ship." : "Some clients are missing ships!");
+    }
+
+    private static void pollAll(GameClient[] clients) throws IOException {
+        for (GameClient client : clients) {
+            client.poll();
+        }
+    }
+
+    private static boolean allHaveShips(GameClient[] clients, int ships) {
+        for (GameClient client : clients) {
+            if (client.getShips().size() != ships) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
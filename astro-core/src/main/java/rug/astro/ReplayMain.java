@@ -0,0 +1,40 @@
+package rug.astro;
+
+import rug.astro.control.InputReplayer;
+import rug.astro.model.Game;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Plays an input recording back without any window, as fast as possible, and prints how long that took and how the
+ * game ended. Since replaying is deterministic, every pass ends the same way, and the time it takes can be compared
+ * between versions of the simulation: recordings of real sessions make for realistic workloads.
+ *
+ * Usage: ReplayMain recording [passes]
+ */
+public class ReplayMain {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayMain recording [passes]");
+            System.exit(2);
+        }
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        for (int pass = 0; pass < passes; pass++) {
+            Game game = new Game();
+            long start = System.nanoTime();
+            long ticks;
+            InputReplayer replayer;
+            try (InputStream in = new FileInputStream(args[0])) {
+                replayer = new InputReplayer(in);
+                ticks = replayer.replay(game);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Replayed %d ticks in %.2f s (%.0f ticks/s), %d planets discovered, ship ended at (%.3f, %.3f).%n",
+                    ticks, seconds, ticks / seconds, replayer.getDiscovered(),
+                    game.getSpaceship().getX(), game.getSpaceship().getY());
+        }
+    }
+}
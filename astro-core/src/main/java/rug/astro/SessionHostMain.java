@@ -0,0 +1,118 @@
+package rug.astro;
+
+import rug.astro.control.GameUpdater;
+import rug.astro.control.InputQueue;
+import rug.astro.control.SessionHost;
+import rug.astro.metrics.LatencySummary;
+import rug.astro.model.Game;
+import rug.astro.model.Spaceship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many games at once on a session host, in real time and without any window, to see how many games a machine can
+ * keep on time. The keys of every game are pressed by a simple autopilot on the main thread, through the game's input
+ * queue, as a player would.
+ *
+ * At the end, it tells how many games were admitted and refused, how many ticks ran against how many were due, how late
+ * the ticks were, and how much of the workers' time the ticks took.
+ *
+ * Usage: SessionHostMain [sessions] [seconds] [threads]
+ */
+public class SessionHostMain {
+    /**
+     * How often the autopilots pick new keys, in milliseconds.
+     */
+    private static final int MILLISECONDS_PER_DECISION = 500;
+
+    public static void main(String[] args) {
+        int sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        SessionHost host = new SessionHost(threads, sessionCount);
+        List<SessionHost.Session> sessions = new ArrayList<>();
+        int refused = 0;
+        long openStart = System.nanoTime();
+        for (int i = 0; i < sessionCount; i++) {
+            try {
+                sessions.add(host.open(new Game(i)));
+            } catch (RejectedExecutionException e) {
+                refused++;
+            }
+        }
+        double openSeconds = (System.nanoTime() - openStart) / 1e9;
+
+        for (SessionHost.Session session : sessions) { // Only measure lateness from here on, once every game runs.
+            session.getMetrics().reset();
+        }
+        Random random = new Random(0);
+        int[] keys = new int[sessions.size()];
+        // The ticks run, the ticks due and the workers' busy time are all counted over the same window, from here on.
+        long[] startTicks = new long[sessions.size()];
+        for (int i = 0; i < sessions.size(); i++) {
+            startTicks[i] = sessions.get(i).getMetrics().getTicks();
+        }
+        long start = System.nanoTime();
+        long busyStart = host.getBusyTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < sessions.size(); i++) {
+                int held = 0;
+                held |= random.nextBoolean() ? Spaceship.ACCELERATE_KEY : 0;
+                held |= random.nextInt(4) == 0 ? Spaceship.TURN_LEFT_KEY : 0;
+                held |= random.nextInt(4) == 0 ? Spaceship.TURN_RIGHT_KEY : 0;
+                held |= random.nextInt(8) == 0 ? Spaceship.DEPARTURE_KEY : 0;
+                int pressed = Integer.lowestOneBit(held & ~keys[i]);
+                keys[i] = held;
+                sessions.get(i).getGame().getInputQueue().offer(InputQueue.keyEvent(held, pressed), System.nanoTime());
+            }
+            try {
+                Thread.sleep(MILLISECONDS_PER_DECISION);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long busyTime = host.getBusyTime() - busyStart;
+        long ticks = 0;
+        for (int i = 0; i < sessions.size(); i++) {
+            ticks += sessions.get(i).getMetrics().getTicks() - startTicks[i];
+        }
+        double load = host.getLoad();
+
+        long dropped = 0;
+        long caughtUp = 0;
+        int finished = 0;
+        double[] p99 = new double[sessions.size()];
+        double max = 0.0;
+        for (int i = 0; i < sessions.size(); i++) {
+            SessionHost.Session session = sessions.get(i);
+            LatencySummary lateness = session.getMetrics().getTickLateness();
+            dropped += session.getMetrics().getDroppedTicks();
+            caughtUp += session.getMetrics().getCatchUpTicks();
+            finished += session.isFinished() ? 1 : 0;
+            p99[i] = lateness.getP99();
+            max = Math.max(max, lateness.getMax());
+        }
+        host.close();
+        Arrays.sort(p99);
+
+        System.out.printf("Admitted %d sessions in %.2f s on %d threads, refused %d.%n",
+                sessions.size(), openSeconds, threads, refused);
+        System.out.printf("Ran %d ticks in %.2f s (%d due), %d caught up, %d dropped; %d sessions ended early.%n",
+                ticks, elapsed, Math.round(sessions.size() * elapsed * 1000 / GameUpdater.MILLISECONDS_PER_TICK),
+                caughtUp, dropped, finished);
+        if (!sessions.isEmpty()) {
+            System.out.printf("Tick lateness: median p99 %.3f ms, worst p99 %.3f ms, max %.3f ms (a tick is %.1f ms).%n",
+                    p99[p99.length / 2], p99[p99.length - 1], max, GameUpdater.MILLISECONDS_PER_TICK);
+        }
+        System.out.printf("Workers: %.2f us per tick, busiest worker at %.0f%% load.%n",
+                busyTime / 1e3 / Math.max(1, ticks), load * 100);
+    }
+}
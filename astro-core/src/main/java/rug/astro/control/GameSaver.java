@@ -0,0 +1,111 @@
+package rug.astro.control;
+
+import rug.astro.model.SavedGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes saved games to a file on a thread of its own, so that the game updater only has to take a copy of the game's
+ * state, and never waits for the disk.
+ *
+ * A saved game is first written next to the file, and then moved over it, so that the file always holds a whole saved
+ * game, even if the application stops halfway through writing one. If games are saved faster than they can be written,
+ * only the latest one is written: there is at most one saved game waiting at any time.
+ */
+public class GameSaver implements Closeable {
+    /**
+     * The longest time that closing waits for the last saved game to be written, in seconds.
+     */
+    private static final int CLOSE_TIMEOUT = 5;
+
+    private final Path file;
+
+    private final Path temporaryFile;
+
+    /**
+     * The saved game that is waiting to be written, or null if there is none.
+     */
+    private final AtomicReference<SavedGame> pending = new AtomicReference<>();
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "GameSaver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new saver.
+     *
+     * @param file The file to write saved games to. An existing file is replaced by the first saved game.
+     */
+    public GameSaver(Path file) {
+        this.file = file;
+        this.temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    /**
+     * Hands a saved game to the saver, which writes it soon after. This returns right away.
+     *
+     * @param saved The saved game.
+     */
+    public void save(SavedGame saved) {
+        if (this.pending.getAndSet(saved) == null) { // Otherwise, a write is already on its way and picks this one up.
+            try {
+                this.writer.execute(this::writePending);
+            } catch (RejectedExecutionException e) {
+                System.err.println("The game can't be saved anymore, since the saver is closed.");
+            }
+        }
+    }
+
+    /**
+     * Writes the saved game that is waiting, if any.
+     */
+    private void writePending() {
+        SavedGame saved = this.pending.getAndSet(null);
+        if (saved == null) {
+            return;
+        }
+        try {
+            try (OutputStream out = Files.newOutputStream(this.temporaryFile)) {
+                saved.write(out);
+            }
+            try {
+                Files.move(this.temporaryFile, this.file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(this.temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not save the game to " + this.file + ".");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes the saved game that is waiting, if any, and stops the saver. Games that are saved after this are not
+     * written.
+     */
+    @Override
+    public void close() {
+        this.writer.shutdown();
+        try {
+            if (!this.writer.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                System.err.println("Gave up waiting for the game to be saved to " + this.file + ".");
+            }
+        } catch (InterruptedException e) {
+            System.err.println("Interrupted while waiting for the game to be saved.");
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package rug.astro.control;
+
+import rug.astro.metrics.GameMetrics;
+import rug.astro.model.*;
+import rug.astro.net.GameServer;
+import rug.astro.util.IntList;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class GameUpdater implements Runnable {
+    /**
+     * The refresh rate of the display, in frames per second. Increasing this number makes the game look smoother, up to
+     * a certain point where it's no longer noticeable.
+     */
+    private static final int DISPLAY_FPS = 144;
+
+    /**
+     * The rate at which the game ticks (how often physics updates are applied), in frames per second. Increasing this
+     * number speeds up everything in the game. Ships react faster to input, bullets fly faster, etc.
+     */
+    private static final int PHYSICS_FPS = 30;
+
+    /**
+     * The number of milliseconds in a game tick.
+     */
+    public static final double MILLISECONDS_PER_TICK = 1000.0 / PHYSICS_FPS;
+
+    /**
+     * The number of nanoseconds in a game tick. The game loop keeps time in nanoseconds, so that no time is lost to
+     * rounding between ticks.
+     */
+    private static final long NANOSECONDS_PER_TICK = TimeUnit.SECONDS.toNanos(1) / PHYSICS_FPS;
+
+    /**
+     * The number of nanoseconds between two display refreshes.
+     */
+    private static final long NANOSECONDS_PER_DISPLAY_FRAME = TimeUnit.SECONDS.toNanos(1) / DISPLAY_FPS;
+
+    /**
+     * The maximum number of ticks that may be run back to back to catch up after the loop has fallen behind, for
+     * example because the machine was busy. Any time beyond that is dropped, so that a slow tick can never cause an
+     * ever growing backlog of ticks (the so called spiral of death).
+     */
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    /**
+     * The number of ticks between two autosaves, which is five seconds. Saving only takes a copy of the game's state in
+     * the tick; the copy is written to disk by the game saver's own thread.
+     */
+    private static final int AUTOSAVE_TICKS = 5 * PHYSICS_FPS;
+
+    /**
+     * Set this to true to allow asteroids to collide with each other, potentially causing chain reactions of asteroid
+     * collisions.
+     */
+    private static final boolean KESSLER_SYNDROME = false;
+
+    /**
+     * The game that this updater works for.
+     */
+    private Game game;
+
+    /**
+     * Counts the number of times the game has updated.
+     */
+    private int updateCounter;
+
+    /**
+     * The limit to the number of asteroids that may be present. If the current number of asteroids exceeds this amount,
+     * no new asteroids will spawn.
+     */
+    private int asteroidsLimit;
+
+    /**
+     * Receives the planets near the ship that are checked for collisions. It is reused every tick.
+     */
+    private final IntList collisionCandidates = new IntList();
+
+    /**
+     * Where the durations of the ticks and their phases are recorded.
+     */
+    private final GameMetrics metrics;
+
+    /**
+     * Applies the key events from the game's input queue to the ship. It is made once, rather than every tick.
+     */
+    private final InputQueue.Handler inputHandler = this::applyKeyEvent;
+
+    /**
+     * The time at which the current tick started taking in input, which is when the events in it take effect.
+     */
+    private long inputTime;
+
+    /**
+     * Constructs a new game updater with the given game.
+     *
+     * @param game The game that this updater will update when it's running.
+     */
+    public GameUpdater(Game game) {
+        this.game = game;
+        this.metrics = game.getMetrics();
+        this.updateCounter = 0;
+    }
+
+    /**
+     * The main game loop.
+     *
+     * Starts the game updater thread. This will run until the quit() method is called on this updater's game object.
+     * This will also send the game to all clients if the game runs on a server.
+     *
+     * Time is measured with System.nanoTime() and collected in an accumulator, from which a fixed amount is taken for
+     * every tick, so leftover time carries over to the next tick instead of being thrown away. In between ticks and
+     * display frames the thread parks until the next one is due, rather than spinning on the clock.
+     */
+    @Override
+    public void run() {
+        long previousTime = System.nanoTime();
+        long nextDisplayFrame = previousTime;
+        long timeSinceLastTick = 0L;
+
+        while (this.game.isRunning() && !this.game.isGameOver() && !Thread.currentThread().isInterrupted()) {
+            long currentTime = System.nanoTime();
+            timeSinceLastTick += currentTime - previousTime;
+            previousTime = currentTime;
+
+            int ticks = 0;
+            while (timeSinceLastTick >= NANOSECONDS_PER_TICK && ticks < MAX_CATCH_UP_TICKS) {
+                this.metrics.recordTickLateness(timeSinceLastTick - NANOSECONDS_PER_TICK);
+                this.updatePhysics(); // Perform one 'step' in the game.
+                timeSinceLastTick -= NANOSECONDS_PER_TICK;
+                ticks++;
+            }
+            if (ticks > 1) {
+                this.metrics.addCatchUpTicks(ticks - 1);
+            }
+            if (timeSinceLastTick >= NANOSECONDS_PER_TICK) { // Too far behind to catch up, so drop the backlog.
+                this.metrics.addDroppedTicks(timeSinceLastTick / NANOSECONDS_PER_TICK);
+                timeSinceLastTick %= NANOSECONDS_PER_TICK;
+            }
+
+            if (currentTime >= nextDisplayFrame) { // Check if enough time has passed to refresh the display.
+                long notifyStart = System.nanoTime();
+                this.game.notifyListeners(TimeUnit.NANOSECONDS.toMillis(timeSinceLastTick)); // Tell the panel that it should refresh.
+                this.metrics.recordNotify(System.nanoTime() - notifyStart);
+                nextDisplayFrame += NANOSECONDS_PER_DISPLAY_FRAME;
+                if (nextDisplayFrame < currentTime) { // Don't try to make up for display frames that were missed.
+                    nextDisplayFrame = currentTime + NANOSECONDS_PER_DISPLAY_FRAME;
+                }
+            }
+
+            long nextTick = currentTime + NANOSECONDS_PER_TICK - timeSinceLastTick;
+            long waitTime = Math.min(nextTick, nextDisplayFrame) - System.nanoTime();
+            if (waitTime > 0) {
+                LockSupport.parkNanos(this, waitTime); // May wake up early, for instance when the game is quit.
+            }
+        }
+    }
+
+    /**
+     * Advances the game by exactly one tick, right away. This is used to drive a game that has no real-time game loop,
+     * such as a headless simulation that runs as fast as it can.
+     */
+    public void tick() {
+        this.updatePhysics();
+    }
+
+    /**
+     * Called every game tick, to update all of the game's model objects.
+     *
+     * First, each object's movement is updated by calling nextStep() on it.
+     * Then, if the player is pressing the key to fire the ship's weapon, a new bullet should spawn.
+     * Then, once all objects' positions are updated, we check for any collisions between them.
+     * And finally, any objects which are destroyed by collisions are removed from the game.
+     *
+     * Also, every 200 game ticks, if possible, a new random asteroid is added to the game.
+     *
+     * The time spent on each phase is recorded in the game's metrics. That takes a few reads of System.nanoTime() and
+     * some array writes, which is nothing next to the tick itself.
+     */
+    private void updatePhysics()
+    {
+        long start = System.nanoTime();
+        this.inputTime = start;
+        this.game.getInputQueue().drain(this.inputHandler); // Take in the keys pressed since the last tick.
+        GameServer server = this.game.getServer();
+        if (server != null) {
+            server.receive(); // Take in the keys of the other players, and let new players join.
+        }
+        this.game.getEntities().stepAll(); // Moves the ship and all planets in one go.
+        this.game.getSpaceship().applyControls();
+        for (Spaceship other : this.game.getOtherShips()) {
+            other.nextStep();
+        }
+        this.game.streamChunks(); // In an open universe, make sure the planets around the ship are there.
+        long moved = System.nanoTime();
+        InputRecorder recorder = this.game.getInputRecorder();
+        if (recorder != null) {
+            recorder.record(this.game.getSpaceship().getKeys());
+        }
+        this.checkDeparture();
+        long departed = System.nanoTime();
+        this.checkCollisions();
+        long collided = System.nanoTime();
+        this.updateCounter++;
+        this.game.publishSnapshot(); // Let the views see the outcome of this tick.
+        if (server != null) {
+            server.broadcast(this.updateCounter); // Let the other players see it too.
+        }
+        GameSaver saver = this.game.getGameSaver();
+        if (saver != null && this.updateCounter % AUTOSAVE_TICKS == 0) {
+            saver.save(this.game.save());
+        }
+        long end = System.nanoTime();
+        this.metrics.recordTick(moved - start, departed - moved, collided - departed, end - start);
+    }
+
+    /**
+     * Applies a key event to the ship, and records how long ago it happened.
+     *
+     * @param event The event, as made by InputQueue.keyEvent().
+     * @param time The value of System.nanoTime() at which the event happened.
+     */
+    private void applyKeyEvent(int event, long time) {
+        this.game.getSpaceship().applyKeyEvent(InputQueue.heldKeys(event), InputQueue.pressedKey(event));
+        this.metrics.recordInputLatency(this.inputTime - time);
+    }
+
+    /**
+     * Lets every ship that is on a planet, and whose player presses the departure key, take off.
+     */
+    private void checkDeparture() {
+        this.checkDeparture(this.game.getSpaceship());
+        for (Spaceship other : this.game.getOtherShips()) {
+            this.checkDeparture(other);
+        }
+    }
+
+    private void checkDeparture(Spaceship s) {
+        if (s.getPlanet() != null && s.isDepartureKeyPressed()) {
+            s.setLocation(s.getX(), s.getY() - 80);
+            s.setPlanet(null);
+        }
+    }
+
+    /**
+     * Checks all objects for collisions and marks them as destroyed upon collision. All objects can collide with
+     * objects of a different type, but not with objects of the same type. I.e. bullets cannot collide with bullets etc.
+     *
+     * Only the planets that the planet grid has near the ship are checked, since no other planet can be reached. Every
+     * ship is checked, and whichever ship lands on a planet first discovers it.
+     *
+     * This is package-private, rather than private, so that benchmarks can measure it on its own.
+     */
+    void checkCollisions() {
+        this.checkCollisions(this.game.getSpaceship());
+        for (Spaceship other : this.game.getOtherShips()) {
+            this.checkCollisions(other);
+        }
+    }
+
+    private void checkCollisions(Spaceship ship) {
+        double reach = ship.getRadius() + Game.PLANET_RADIUS;
+        this.game.getPlanetGrid().query(ship.getX() - reach, ship.getY() - reach, ship.getX() + reach, ship.getY() + reach, this.collisionCandidates);
+        for (int i = 0; i < this.collisionCandidates.size(); i++) {
+            Planet planet = (Planet) this.game.getEntities().get(this.collisionCandidates.get(i));
+            if (ship.collides(planet)) {
+                ship.setLocation(planet.getX(), planet.getY());
+                ship.setVelocity(planet.getVelocityX(), planet.getVelocityY());
+                ship.setPlanet(planet);
+                if (!planet.isVisited()) {
+                    planet.setVisited(true);
+                    this.game.setDiscovered(this.game.getDiscovered()+1);
+                    this.game.notifyPlanetVisited(planet);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Removes all destroyed objects (those which have collided with another object).
+     *
+     * When an asteroid is destroyed, it may spawn some smaller successor asteroids, and these are added to the game's
+     * list of asteroids.
+     */
+    private void removeDestroyedObjects () {
+    }
+}
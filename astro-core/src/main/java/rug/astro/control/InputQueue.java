@@ -0,0 +1,146 @@
+package rug.astro.control;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carries key events from the thread that handles input, such as Swing's event dispatch thread, to the game updater
+ * thread, which takes them all at the start of every tick. It is a ring buffer for exactly one producer and one
+ * consumer, so that it needs no locks: the producer publishes an event by moving the tail past it, and the consumer
+ * frees its slot by moving the head past it. Each side only ever writes its own index, and those writes are what make
+ * the events visible to the other side.
+ *
+ * Every event carries the value of System.nanoTime() at which it happened, so that the time between pressing a key and
+ * the tick that acts on it can be measured.
+ *
+ * An event holds all keys that are held down after it, plus the key that was pressed by it, if any. So a key that is
+ * pressed and released again within one tick still counts for that tick, and if events ever have to be dropped because
+ * the queue is full, the next event that does get through puts all keys right again.
+ */
+public final class InputQueue {
+    /**
+     * The number of events that fit in the queue. This must be a power of two. At one event per key press or release,
+     * this is far more than fits in a tick.
+     */
+    private static final int CAPACITY = 1 << 10;
+
+    private static final int MASK = CAPACITY - 1;
+
+    /**
+     * The number of bits that the pressed key is shifted by in an event.
+     */
+    private static final int PRESSED_KEY_SHIFT = 8;
+
+    /**
+     * Receives the events that are taken from the queue.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * Handles one event.
+         *
+         * @param event The event.
+         * @param time The value of System.nanoTime() at which the event happened.
+         */
+        void handle(int event, long time);
+    }
+
+    private final int[] events = new int[CAPACITY];
+
+    private final long[] times = new long[CAPACITY];
+
+    /**
+     * The number of events ever taken, and the number ever added. Only the consumer moves the head, and only the
+     * producer moves the tail.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The head as the producer last saw it. The producer only looks at the real head when this says the queue is full,
+     * so that it doesn't have to read the consumer's index on every event.
+     */
+    private long cachedHead;
+
+    /**
+     * The number of events that were dropped because the queue was full. Only the producer changes this.
+     */
+    private volatile long droppedEvents;
+
+    /**
+     * Makes an event out of the keys that are held down after it, and the key it pressed.
+     *
+     * @param heldKeys The keys held down after the event, as a combination of the key bits of Spaceship.
+     * @param pressedKey The key that was pressed, or 0 if a key was released.
+     * @return The event.
+     */
+    public static int keyEvent(int heldKeys, int pressedKey) {
+        return heldKeys | (pressedKey << PRESSED_KEY_SHIFT);
+    }
+
+    /**
+     * @param event An event.
+     * @return The keys held down after the event.
+     */
+    public static int heldKeys(int event) {
+        return event & ((1 << PRESSED_KEY_SHIFT) - 1);
+    }
+
+    /**
+     * @param event An event.
+     * @return The key that the event pressed, or 0 if it released one.
+     */
+    public static int pressedKey(int event) {
+        return event >>> PRESSED_KEY_SHIFT;
+    }
+
+    /**
+     * Adds an event to the queue. This may only be called by the one producer thread.
+     *
+     * @param event The event.
+     * @param time The value of System.nanoTime() at which the event happened.
+     * @return True if the event was added, or false if it was dropped because the queue is full.
+     */
+    public boolean offer(int event, long time) {
+        long t = this.tail.get();
+        if (t - this.cachedHead >= CAPACITY) {
+            this.cachedHead = this.head.get();
+            if (t - this.cachedHead >= CAPACITY) {
+                this.droppedEvents++;
+                return false;
+            }
+        }
+        int slot = (int) t & MASK;
+        this.events[slot] = event;
+        this.times[slot] = time;
+        this.tail.lazySet(t + 1); // Publishes the event; the writes above can't be seen after this one.
+        return true;
+    }
+
+    /**
+     * Takes all events that are in the queue, oldest first, and hands them to the handler. Events that are added while
+     * this runs are left for the next time. This may only be called by the one consumer thread.
+     *
+     * @param handler Receives the events.
+     * @return The number of events taken.
+     */
+    public int drain(Handler handler) {
+        long h = this.head.get();
+        long t = this.tail.get();
+        for (long i = h; i < t; i++) {
+            int slot = (int) i & MASK;
+            handler.handle(this.events[slot], this.times[slot]);
+        }
+        if (t != h) {
+            this.head.lazySet(t); // Frees the slots, now that they have been read.
+        }
+        return (int) (t - h);
+    }
+
+    /**
+     * @return The number of events that were dropped because the queue was full.
+     */
+    public long getDroppedEvents() {
+        return this.droppedEvents;
+    }
+}
@@ -0,0 +1,171 @@
+package rug.astro.control;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records the keys that the player pressed in every tick, so that a game can be played again exactly as it went, by an
+ * InputReplayer. Together with the seed of the world, the keys are all it takes: the simulation does the same thing
+ * every time it is given the same world and the same keys.
+ *
+ * A recording is a compact binary stream. It starts with MAGIC and VERSION, followed by entries of two kinds:
+ * <ul>
+ *     <li>WORLD_ENTRY, followed by the seed of a new world as a long, and a byte of flags, with OPEN_UNIVERSE_FLAG set
+ *     if the world is an open universe. The game starts over in that world.</li>
+ *     <li>The keys of a tick, as a byte made of the key bits of Spaceship, followed by the number of ticks in a row that
+ *     these keys were pressed, as a variable-length number: seven bits per byte, lowest first, with the high bit set in
+ *     all but the last byte.</li>
+ * </ul>
+ * Keys are usually held for many ticks, so a run of ticks takes only two or three bytes.
+ *
+ * The game updater thread records the ticks, while the recording may be closed from elsewhere, for instance when the
+ * application exits, which is why the methods are synchronized.
+ */
+public class InputRecorder implements Closeable {
+    /**
+     * The first bytes of every recording: "ASIR", for Astro input recording.
+     */
+    static final int MAGIC = 0x41534952;
+
+    /**
+     * The version of the format of recordings.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Marks the start of a new world. It can't be mistaken for keys, since those only use the lowest four bits.
+     */
+    static final int WORLD_ENTRY = 0xFF;
+
+    /**
+     * The flag of a world entry that tells that the world is an open universe.
+     */
+    static final int OPEN_UNIVERSE_FLAG = 1;
+
+    private final DataOutputStream out;
+
+    /**
+     * The keys of the run of ticks that hasn't been written yet, and the number of ticks in it.
+     */
+    private int runKeys;
+
+    private long runLength;
+
+    /**
+     * Whether a world has been started, since ticks can only be recorded in a world.
+     */
+    private boolean inWorld;
+
+    /**
+     * Whether writing has failed, or the recorder is closed. After that, nothing is recorded anymore.
+     */
+    private boolean stopped;
+
+    /**
+     * Constructs a new recorder, and writes the start of the recording.
+     *
+     * @param out The stream to write the recording to. It is closed along with the recorder.
+     * @throws IOException If the start of the recording could not be written.
+     */
+    public InputRecorder(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    /**
+     * Records that the game starts over in a new world. This is called by the game whenever it generates a world.
+     *
+     * @param worldSeed The seed of the new world.
+     * @param openUniverse Whether the new world is an open universe.
+     */
+    public synchronized void startWorld(long worldSeed, boolean openUniverse) {
+        if (this.stopped) {
+            return;
+        }
+        try {
+            this.writeRun();
+            this.out.writeByte(WORLD_ENTRY);
+            this.out.writeLong(worldSeed);
+            this.out.writeByte(openUniverse ? OPEN_UNIVERSE_FLAG : 0);
+            this.out.flush(); // Whatever happens to the application, the worlds before this one are safely written.
+            this.inWorld = true;
+        } catch (IOException e) {
+            this.fail(e);
+        }
+    }
+
+    /**
+     * Records the keys of one tick. Ticks before the first world are ignored, since they couldn't be replayed.
+     *
+     * @param keys The keys that were pressed in the tick, as a combination of the key bits of Spaceship.
+     */
+    public synchronized void record(int keys) {
+        if (this.stopped || !this.inWorld) {
+            return;
+        }
+        if (keys == this.runKeys || this.runLength == 0) {
+            this.runKeys = keys;
+            this.runLength++;
+            return;
+        }
+        try {
+            this.writeRun();
+            this.runKeys = keys;
+            this.runLength = 1;
+        } catch (IOException e) {
+            this.fail(e);
+        }
+    }
+
+    /**
+     * Writes the run of ticks that hasn't been written yet, and closes the recording. Nothing is recorded after this.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.stopped) {
+            return;
+        }
+        try {
+            this.writeRun();
+            this.stopped = true;
+            this.out.close();
+        } catch (IOException e) {
+            this.fail(e);
+        }
+    }
+
+    /**
+     * Writes the run of ticks that hasn't been written yet, if there is one.
+     */
+    private void writeRun() throws IOException {
+        if (this.runLength == 0) {
+            return;
+        }
+        this.out.writeByte(this.runKeys);
+        long length = this.runLength;
+        while (length >= 0x80) {
+            this.out.writeByte((int) (length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        this.out.writeByte((int) length);
+        this.runLength = 0;
+    }
+
+    /**
+     * Gives up on recording after writing failed. The game itself goes on.
+     */
+    private void fail(IOException e) {
+        System.err.println("Could not write the input recording, so recording stops.");
+        e.printStackTrace();
+        this.stopped = true;
+        try {
+            this.out.close();
+        } catch (IOException ignored) {
+            // The recording is broken already.
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package rug.astro.control;
+
+import rug.astro.model.Game;
+import rug.astro.model.Spaceship;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Plays a recording made by an InputRecorder back: for every world in the recording, the game is started over in that
+ * world, and then ticked with the recorded keys, one tick after the other, as fast as possible. No window or real-time
+ * game loop is involved, so this can be used to reproduce a session, or to use it as a workload for measuring the
+ * simulation.
+ *
+ * The game must read the same catalog of planets as the game that was recorded, or the worlds won't be the same.
+ */
+public class InputReplayer {
+    private final DataInputStream in;
+
+    /**
+     * The number of planets discovered in the worlds that were played so far.
+     */
+    private int discovered;
+
+    /**
+     * Constructs a new replayer, and checks that the stream holds a recording.
+     *
+     * @param in The stream to read the recording from.
+     * @throws IOException If the recording could not be read, or the stream doesn't hold a recording.
+     */
+    public InputReplayer(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != InputRecorder.MAGIC) {
+            throw new IOException("This is not an input recording.");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Input recordings of version " + version + " are not supported.");
+        }
+    }
+
+    /**
+     * Plays the rest of the recording on the given game, until the recording ends or the game is over.
+     *
+     * @param game The game to play the recording on. It shouldn't be running.
+     * @return The number of ticks played.
+     * @throws IOException If the recording could not be read.
+     */
+    public long replay(Game game) throws IOException {
+        GameUpdater updater = new GameUpdater(game);
+        Spaceship ship = game.getSpaceship();
+        long ticks = 0;
+        boolean inWorld = false;
+        int entry;
+        while ((entry = this.in.read()) != -1) {
+            if (entry == InputRecorder.WORLD_ENTRY) {
+                if (inWorld) {
+                    this.discovered += game.getDiscovered();
+                }
+                long worldSeed = this.in.readLong();
+                boolean openUniverse = (this.in.readUnsignedByte() & InputRecorder.OPEN_UNIVERSE_FLAG) != 0;
+                game.initializeGameData(worldSeed, openUniverse);
+                inWorld = true;
+                continue;
+            }
+            if (!inWorld) {
+                throw new IOException("The recording has ticks before its first world.");
+            }
+            long length = this.readLength();
+            ship.setKeys(entry);
+            for (long i = 0; i < length && !game.isGameOver(); i++) {
+                updater.tick();
+                ticks++;
+            }
+            if (game.isGameOver()) {
+                break;
+            }
+        }
+        if (inWorld) {
+            this.discovered += game.getDiscovered();
+        }
+        return ticks;
+    }
+
+    /**
+     * @return The number of planets discovered in all worlds that were played so far.
+     */
+    public int getDiscovered() {
+        return this.discovered;
+    }
+
+    /**
+     * @return The length of a run of ticks, written as a variable-length number.
+     */
+    private long readLength() throws IOException {
+        long length = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = this.in.readUnsignedByte(); // Throws an EOFException if the recording is cut off.
+            length |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return length;
+            }
+        }
+        throw new IOException("The recording holds a run of ticks that is too long.");
+    }
+}
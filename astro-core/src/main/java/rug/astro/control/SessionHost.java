@@ -0,0 +1,413 @@
+package rug.astro.control;
+
+import rug.astro.metrics.GameMetrics;
+import rug.astro.model.Game;
+
+import java.io.Closeable;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs many games at once on a few threads, rather than on a thread of their own each, as Game.start() does. Every
+ * worker thread takes care of a share of the games, and ticks each of them when it is due, 30 times per second, with
+ * the same game updater as always. In between, the worker parks until the next game is due, so an idle host takes no
+ * processor time, and a thousand games cost a thousand ticks per tick period, not a thousand threads. A worker keeps
+ * its games in order of when they are due, so that waking up only takes the games that are due, rather than a look at
+ * every game.
+ *
+ * Games are spread over the workers as they are admitted, each to the worker that is least busy, and keep their own
+ * schedule from the moment they were admitted, so the ticks of a worker's games are spread over the tick period rather
+ * than all due at once. A game that is late catches up like in the game updater's own loop, and the lateness of every
+ * tick, the ticks caught up and the ticks dropped are recorded in the game's metrics, which are published over JMX
+ * while the game is hosted.
+ *
+ * The host refuses new games when it runs as many as it may, or when even its least busy worker would spend more than
+ * MAX_LOAD of its time on ticks with one more game, so that the games it already runs stay on time.
+ */
+public class SessionHost implements Closeable {
+    /**
+     * The number of nanoseconds in a game tick.
+     */
+    private static final long NANOSECONDS_PER_TICK = Math.round(GameUpdater.MILLISECONDS_PER_TICK * 1e6);
+
+    /**
+     * The maximum number of ticks that a game may run back to back to catch up, as in the game updater.
+     */
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    /**
+     * The share of its time that a worker may spend on ticks before the host refuses new games.
+     */
+    private static final double MAX_LOAD = 0.75;
+
+    /**
+     * The period over which the load of a worker is measured, in nanoseconds.
+     */
+    private static final long LOAD_PERIOD = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Orders sessions by when their next tick is due. The times are compared by their difference, like System.nanoTime()
+     * values should be, since they may wrap around.
+     */
+    private static final Comparator<Session> BY_NEXT_TICK = (a, b) -> Long.signum(a.nextTick - b.nextTick);
+
+    /**
+     * A game that runs on the host.
+     */
+    public static final class Session {
+        private final Game game;
+
+        private final GameUpdater updater;
+
+        /**
+         * The time at which the next tick is due, as a value of System.nanoTime(). Only the worker uses this.
+         */
+        private long nextTick;
+
+        /**
+         * Set to close the session. The worker quits the game when it sees this, the next time the game is due.
+         */
+        private volatile boolean closing;
+
+        /**
+         * Set by the worker once it has stopped ticking the game.
+         */
+        private volatile boolean finished;
+
+        private Session(Game game, long start) {
+            this.game = game;
+            this.updater = new GameUpdater(game);
+            this.nextTick = start;
+        }
+
+        public Game getGame() {
+            return this.game;
+        }
+
+        /**
+         * @return The metrics of the game, with the lateness of its ticks, and how many of them had to be caught up or
+         * were dropped.
+         */
+        public GameMetrics getMetrics() {
+            return this.game.getMetrics();
+        }
+
+        /**
+         * @return Whether the game isn't ticked anymore, since it was closed, quit or is over.
+         */
+        public boolean isFinished() {
+            return this.finished;
+        }
+
+        /**
+         * Stops the game, and saves it if it has a game saver. This returns right away; the game's worker quits it,
+         * after which the session is finished. Games on a host should be stopped this way rather than by quitting them
+         * directly, since a game can only be saved by the thread that ticks it.
+         */
+        public void close() {
+            this.closing = true;
+        }
+    }
+
+    /**
+     * A thread that ticks a share of the games.
+     */
+    private final class Worker implements Runnable {
+        private final Thread thread;
+
+        /**
+         * The sessions that were admitted to this worker, but that it didn't pick up yet.
+         */
+        private final Queue<Session> admitted = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The sessions that this worker ticks, the one that is due first at the head. Only the worker uses this queue.
+         */
+        private final PriorityQueue<Session> sessions = new PriorityQueue<>(BY_NEXT_TICK);
+
+        /**
+         * The number of sessions of this worker, admitted ones included.
+         */
+        private final AtomicInteger sessionCount = new AtomicInteger();
+
+        /**
+         * The share of its time that the worker spent on ticks during the last load period.
+         */
+        private volatile double load;
+
+        /**
+         * The number of sessions that the worker ticked at the end of the last load period.
+         */
+        private volatile int loadSessions;
+
+        /**
+         * The total time that the worker spent on ticks, in nanoseconds.
+         */
+        private volatile long busyTime;
+
+        private Worker(int index) {
+            this.thread = new Thread(this, "SessionHost-" + index);
+            this.thread.setDaemon(true); // Hosted games should never keep the application alive on their own.
+        }
+
+        @Override
+        public void run() {
+            long periodStart = System.nanoTime();
+            long periodBusyTime = 0L;
+            while (!closed) {
+                for (Session session = this.admitted.poll(); session != null; session = this.admitted.poll()) {
+                    this.sessions.add(session);
+                }
+
+                // The clock is read once for all the games that are due now, which are taken from the head of the queue.
+                long start = System.nanoTime();
+                while (!this.sessions.isEmpty() && this.sessions.peek().nextTick - start <= 0) {
+                    Session session = this.sessions.poll();
+                    if (this.tick(session, start)) {
+                        this.sessions.add(session); // Back into the queue, at the time of its next tick.
+                    } else {
+                        this.finish(session);
+                    }
+                }
+                long nextDue = this.sessions.isEmpty() ? start + NANOSECONDS_PER_TICK : this.sessions.peek().nextTick;
+                long end = System.nanoTime();
+                periodBusyTime += end - start;
+                this.busyTime += end - start;
+                if (end - periodStart >= LOAD_PERIOD) {
+                    this.load = periodBusyTime / (double) (end - periodStart);
+                    this.loadSessions = this.sessions.size();
+                    periodStart = end;
+                    periodBusyTime = 0L;
+                }
+
+                long waitTime = nextDue - System.nanoTime();
+                if (waitTime > 0) {
+                    LockSupport.parkNanos(this, waitTime); // Woken up early when a game is admitted, or the host closes.
+                }
+            }
+            for (Session session = this.admitted.poll(); session != null; session = this.admitted.poll()) {
+                this.sessions.add(session);
+            }
+            for (Session session = this.sessions.poll(); session != null; session = this.sessions.poll()) {
+                session.closing = true;
+                this.finish(session);
+            }
+        }
+
+        /**
+         * Tells how busy the worker would be with one more session. Since the load is only measured once per load
+         * period, the sessions admitted since then are counted in at the load of the sessions measured, so that a
+         * burst of admissions can't overload the worker before its load catches up.
+         *
+         * @return The expected share of its time that the worker would spend on ticks.
+         */
+        private double getExpectedLoad() {
+            int measured = this.loadSessions;
+            double load = this.load;
+            return measured == 0 ? load : load * (this.sessionCount.get() + 1) / measured;
+        }
+
+        /**
+         * Runs the ticks of a game that are due.
+         *
+         * @param session The session of the game, which is due.
+         * @param currentTime The value of System.nanoTime() when the worker woke up, which the lateness of the ticks is
+         *                    measured against.
+         * @return Whether the game should be ticked again later.
+         */
+        private boolean tick(Session session, long currentTime) {
+            Game game = session.game;
+            if (session.closing || !game.isRunning() || game.isGameOver()) {
+                return false;
+            }
+            long lateness = currentTime - session.nextTick;
+            GameMetrics metrics = game.getMetrics();
+            try {
+                int ticks = 0;
+                while (lateness >= 0 && ticks < MAX_CATCH_UP_TICKS) {
+                    metrics.recordTickLateness(lateness);
+                    session.updater.tick();
+                    session.nextTick += NANOSECONDS_PER_TICK;
+                    lateness -= NANOSECONDS_PER_TICK;
+                    ticks++;
+                }
+                if (ticks > 1) {
+                    metrics.addCatchUpTicks(ticks - 1);
+                }
+                if (lateness >= 0) { // Too far behind to catch up, so drop the backlog.
+                    long dropped = lateness / NANOSECONDS_PER_TICK + 1;
+                    metrics.addDroppedTicks(dropped);
+                    session.nextTick += dropped * NANOSECONDS_PER_TICK;
+                }
+                game.notifyListeners(0L); // The game was just ticked, so it is drawn as it is.
+            } catch (RuntimeException e) { // Only this game is lost, not the others of this worker.
+                System.err.println("A hosted game failed, so it is stopped.");
+                e.printStackTrace();
+                session.closing = true;
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Stops ticking a session, which has been taken out of the queue. A session that was closed has its game quit,
+         * which also saves it.
+         *
+         * @param session The session.
+         */
+        private void finish(Session session) {
+            if (session.closing) {
+                session.game.quit(); // There is no game updater thread, so this only stops and saves the game.
+            }
+            session.game.getMetrics().unregister();
+            this.sessionCount.decrementAndGet();
+            SessionHost.this.sessionCount.decrementAndGet();
+            session.finished = true;
+        }
+    }
+
+    private final Worker[] workers;
+
+    private final int maxSessions;
+
+    private final AtomicInteger sessionCount = new AtomicInteger();
+
+    private final AtomicInteger rejectedSessions = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new host, and starts its workers.
+     *
+     * @param threads The number of worker threads. One per processor core makes sense for a host that does nothing
+     *                else.
+     * @param maxSessions The most games that the host runs at the same time.
+     */
+    public SessionHost(int threads, int maxSessions) {
+        if (threads < 1 || maxSessions < 0) {
+            throw new IllegalArgumentException("A host needs at least one thread, and can't run fewer than no games.");
+        }
+        this.maxSessions = maxSessions;
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            this.workers[i] = new Worker(i);
+        }
+        for (Worker worker : this.workers) {
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * Starts running a game on this host, rather than on a game updater thread of its own. The game must not be
+     * started in any other way.
+     *
+     * @param game The game to run. It must not be running, and must not be a client of a game server.
+     * @return The session of the game, through which it can be closed.
+     * @throws RejectedExecutionException If the host is closed, runs as many games as it may, or is too busy to take on
+     * another game.
+     */
+    public Session open(Game game) {
+        if (game.isRunning() || game.getClient() != null) {
+            throw new IllegalArgumentException("Only games that aren't running, and aren't clients, can be hosted.");
+        }
+        if (this.closed) {
+            throw new RejectedExecutionException("The host is closed.");
+        }
+        if (this.sessionCount.incrementAndGet() > this.maxSessions) {
+            this.reject();
+            throw new RejectedExecutionException("The host already runs " + this.maxSessions + " games.");
+        }
+        Worker worker = this.workers[0];
+        double load = worker.getExpectedLoad();
+        for (Worker other : this.workers) {
+            double otherLoad = other.getExpectedLoad();
+            if (otherLoad < load || (otherLoad == load && other.sessionCount.get() < worker.sessionCount.get())) {
+                worker = other;
+                load = otherLoad;
+            }
+        }
+        if (load > MAX_LOAD) {
+            this.reject();
+            throw new RejectedExecutionException("The host is too busy to run another game.");
+        }
+        worker.sessionCount.incrementAndGet();
+        game.setRunning(true);
+        game.getMetrics().register();
+        Session session = new Session(game, System.nanoTime());
+        worker.admitted.add(session);
+        LockSupport.unpark(worker.thread);
+        return session;
+    }
+
+    private void reject() {
+        this.sessionCount.decrementAndGet();
+        this.rejectedSessions.incrementAndGet();
+    }
+
+    /**
+     * @return The number of games that run on this host.
+     */
+    public int getSessionCount() {
+        return this.sessionCount.get();
+    }
+
+    /**
+     * @return The number of games that were refused so far.
+     */
+    public int getRejectedSessions() {
+        return this.rejectedSessions.get();
+    }
+
+    public int getThreads() {
+        return this.workers.length;
+    }
+
+    /**
+     * @return The share of its time that the busiest worker spent on ticks, during the last second or so.
+     */
+    public double getLoad() {
+        double load = 0.0;
+        for (Worker worker : this.workers) {
+            load = Math.max(load, worker.load);
+        }
+        return load;
+    }
+
+    /**
+     * @return The total time that the workers spent on ticks, in nanoseconds.
+     */
+    public long getBusyTime() {
+        long busyTime = 0L;
+        for (Worker worker : this.workers) {
+            busyTime += worker.busyTime;
+        }
+        return busyTime;
+    }
+
+    /**
+     * Closes every session, and stops the workers. This waits until every game has been quit, and saved if it has a
+     * game saver. Games that are opened after this are refused.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        for (Worker worker : this.workers) {
+            LockSupport.unpark(worker.thread);
+        }
+        for (Worker worker : this.workers) {
+            try {
+                worker.thread.join();
+            } catch (InterruptedException e) {
+                System.err.println("Interrupted while waiting for the session host to stop.");
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
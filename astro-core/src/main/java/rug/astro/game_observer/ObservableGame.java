@@ -1,5 +1,7 @@
 package rug.astro.game_observer;
 
+import rug.astro.model.Planet;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,11 +18,17 @@ public abstract class ObservableGame {
      */
     private List<GameUpdateListener> listeners;
 
+    /**
+     * The list of listeners that will be notified when a planet is visited for the first time.
+     */
+    private List<PlanetVisitListener> visitListeners;
+
     /**
      * Constructs a new observable game with initially no listeners.
      */
     protected ObservableGame() {
         this.listeners = new ArrayList<>();
+        this.visitListeners = new ArrayList<>();
     }
 
     /**
@@ -51,4 +59,32 @@ public abstract class ObservableGame {
     public void notifyListeners(long timeSinceLastTick) {
         listeners.forEach(listener -> listener.onGameUpdated(timeSinceLastTick));
     }
+
+    /**
+     * Adds the given listener to the list of listeners that will get notified when a planet is visited for the first
+     * time.
+     *
+     * @param listener The listener to add.
+     */
+    public void addVisitListener(PlanetVisitListener listener) {
+        this.visitListeners.add(listener);
+    }
+
+    /**
+     * Removes a specific visit listener from the game.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeVisitListener(PlanetVisitListener listener) {
+        this.visitListeners.remove(listener);
+    }
+
+    /**
+     * Tells all the registered visit listeners that a planet has been visited for the first time.
+     *
+     * @param planet The planet that was visited.
+     */
+    public void notifyPlanetVisited(Planet planet) {
+        visitListeners.forEach(listener -> listener.onPlanetVisited(planet));
+    }
 }
@@ -0,0 +1,16 @@
+package rug.astro.game_observer;
+
+import rug.astro.model.Planet;
+
+/**
+ * Classes which implement this interface would like to be told when the ship visits a planet for the first time, so
+ * that they only have to update what they show of that planet, instead of looking at every planet over and over.
+ */
+public interface PlanetVisitListener {
+    /**
+     * This method is called by the game updater thread when a planet has been visited for the first time.
+     *
+     * @param planet The planet that was visited. It is already marked as visited.
+     */
+    void onPlanetVisited(Planet planet);
+}
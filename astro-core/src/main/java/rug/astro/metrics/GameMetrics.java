@@ -0,0 +1,213 @@
+package rug.astro.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how a game's loop is doing: how long each phase of a tick takes, how late ticks run, and how often the loop
+ * has to catch up or give up on ticks. The game updater records into these metrics; they can be read by anything, and
+ * are published as an MXBean while the game runs, so that JConsole or a monitoring agent can scrape them.
+ *
+ * The recording methods are only called by the game updater thread.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    /**
+     * Numbers the metrics of every game in this JVM, so that each gets a name of its own over JMX.
+     */
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+
+    private final LatencyHistogram movementLatency = new LatencyHistogram();
+
+    private final LatencyHistogram departureLatency = new LatencyHistogram();
+
+    private final LatencyHistogram collisionLatency = new LatencyHistogram();
+
+    private final LatencyHistogram notifyLatency = new LatencyHistogram();
+
+    private final LatencyHistogram tickLateness = new LatencyHistogram();
+
+    private final LatencyHistogram inputLatency = new LatencyHistogram();
+
+    private volatile long catchUpTicks;
+
+    private volatile long droppedTicks;
+
+    /**
+     * The name under which these metrics are published.
+     */
+    private final ObjectName name;
+
+    /**
+     * Constructs new, empty metrics.
+     */
+    public GameMetrics() {
+        try {
+            this.name = new ObjectName("rug.astro:type=GameMetrics,id=" + NEXT_ID.getAndIncrement());
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Records the durations of the phases of one tick, in nanoseconds.
+     *
+     * @param movement The time spent moving the ship and planets.
+     * @param departure The time spent checking whether the ship leaves a planet.
+     * @param collisions The time spent checking for collisions.
+     * @param total The time spent on the whole tick.
+     */
+    public void recordTick(long movement, long departure, long collisions, long total) {
+        this.movementLatency.record(movement);
+        this.departureLatency.record(departure);
+        this.collisionLatency.record(collisions);
+        this.tickLatency.record(total);
+    }
+
+    /**
+     * Records how much later than planned a tick ran.
+     *
+     * @param nanoseconds The time between when the tick was due and when it ran.
+     */
+    public void recordTickLateness(long nanoseconds) {
+        this.tickLateness.record(nanoseconds);
+    }
+
+    /**
+     * Records how long it took from a key being pressed or released until a tick took it in.
+     *
+     * @param nanoseconds The time it took.
+     */
+    public void recordInputLatency(long nanoseconds) {
+        this.inputLatency.record(nanoseconds);
+    }
+
+    /**
+     * Records how long telling the listeners to update took.
+     *
+     * @param nanoseconds The time it took.
+     */
+    public void recordNotify(long nanoseconds) {
+        this.notifyLatency.record(nanoseconds);
+    }
+
+    /**
+     * Counts ticks that were run to catch up.
+     *
+     * @param ticks The number of ticks.
+     */
+    public void addCatchUpTicks(long ticks) {
+        this.catchUpTicks += ticks;
+    }
+
+    /**
+     * Counts ticks that were skipped.
+     *
+     * @param ticks The number of ticks.
+     */
+    public void addDroppedTicks(long ticks) {
+        this.droppedTicks += ticks;
+    }
+
+    /**
+     * Publishes these metrics in the platform MBean server, if they aren't already.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (!server.isRegistered(this.name)) {
+                server.registerMBean(this, this.name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not publish the game metrics over JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops publishing these metrics, if they are published.
+     */
+    public void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(this.name)) {
+                server.unregisterMBean(this.name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not stop publishing the game metrics over JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The name under which these metrics are published.
+     */
+    public ObjectName getName() {
+        return this.name;
+    }
+
+    @Override
+    public LatencySummary getTickLatency() {
+        return LatencySummary.of(this.tickLatency);
+    }
+
+    @Override
+    public LatencySummary getMovementLatency() {
+        return LatencySummary.of(this.movementLatency);
+    }
+
+    @Override
+    public LatencySummary getDepartureLatency() {
+        return LatencySummary.of(this.departureLatency);
+    }
+
+    @Override
+    public LatencySummary getCollisionLatency() {
+        return LatencySummary.of(this.collisionLatency);
+    }
+
+    @Override
+    public LatencySummary getNotifyLatency() {
+        return LatencySummary.of(this.notifyLatency);
+    }
+
+    @Override
+    public LatencySummary getTickLateness() {
+        return LatencySummary.of(this.tickLateness);
+    }
+
+    @Override
+    public LatencySummary getInputLatency() {
+        return LatencySummary.of(this.inputLatency);
+    }
+
+    @Override
+    public long getTicks() {
+        return this.tickLatency.getCount();
+    }
+
+    @Override
+    public long getCatchUpTicks() {
+        return this.catchUpTicks;
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return this.droppedTicks;
+    }
+
+    @Override
+    public void reset() {
+        this.tickLatency.reset();
+        this.movementLatency.reset();
+        this.departureLatency.reset();
+        this.collisionLatency.reset();
+        this.notifyLatency.reset();
+        this.tickLateness.reset();
+        this.inputLatency.reset();
+        this.catchUpTicks = 0;
+        this.droppedTicks = 0;
+    }
+}
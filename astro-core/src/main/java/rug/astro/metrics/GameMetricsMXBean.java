@@ -0,0 +1,61 @@
+package rug.astro.metrics;
+
+/**
+ * What a game's metrics look like over JMX, for instance in JConsole. Latencies are in milliseconds.
+ */
+public interface GameMetricsMXBean {
+    /**
+     * @return How long whole game ticks took.
+     */
+    LatencySummary getTickLatency();
+
+    /**
+     * @return How long moving the ship and the planets took, every tick.
+     */
+    LatencySummary getMovementLatency();
+
+    /**
+     * @return How long checking whether the ship leaves a planet took, every tick.
+     */
+    LatencySummary getDepartureLatency();
+
+    /**
+     * @return How long checking for collisions took, every tick.
+     */
+    LatencySummary getCollisionLatency();
+
+    /**
+     * @return How long telling the listeners to update took, every display frame.
+     */
+    LatencySummary getNotifyLatency();
+
+    /**
+     * @return How much later than planned the ticks ran.
+     */
+    LatencySummary getTickLateness();
+
+    /**
+     * @return How long it took from a key being pressed or released until a tick took it in.
+     */
+    LatencySummary getInputLatency();
+
+    /**
+     * @return The number of ticks run.
+     */
+    long getTicks();
+
+    /**
+     * @return The number of ticks that were run right after another one, to catch up after falling behind.
+     */
+    long getCatchUpTicks();
+
+    /**
+     * @return The number of ticks that were skipped, because the game had fallen too far behind to catch up.
+     */
+    long getDroppedTicks();
+
+    /**
+     * Forgets everything measured so far.
+     */
+    void reset();
+}
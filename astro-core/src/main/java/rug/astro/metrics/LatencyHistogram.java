@@ -0,0 +1,150 @@
+package rug.astro.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts how often durations of every size occur, so that percentiles of them can be told afterwards, in the manner of
+ * an HDR histogram. Buckets grow with the durations they hold: every power of two is split into SUB_BUCKETS equal
+ * buckets, so any duration is known to within about six percent, from a nanosecond up to centuries, in a fixed, small
+ * array.
+ *
+ * Recording is meant to be done by a single thread, such as the game updater, and costs a few instructions and no
+ * locking or allocation. Other threads may read the histogram at any time; they see the counts as they were at some
+ * moment during recording.
+ */
+public class LatencyHistogram {
+    /**
+     * The number of bits of a duration that decide its bucket within its power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of buckets that every power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets: durations below SUB_BUCKETS nanoseconds each have a bucket of their own, and every power of
+     * two above that has SUB_BUCKETS buckets.
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * The number of durations in each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * The number of durations recorded, their sum and the longest one, in nanoseconds.
+     */
+    private volatile long count;
+
+    private volatile long sum;
+
+    private volatile long max;
+
+    /**
+     * Records a duration. This must only be called by one thread at a time.
+     *
+     * @param nanoseconds The duration, in nanoseconds. Negative durations are counted as zero.
+     */
+    public void record(long nanoseconds) {
+        long value = Math.max(nanoseconds, 0);
+        int bucket = bucketOf(value);
+        // There is only one writer, so the increments need not be atomic; lazySet only keeps readers from seeing torn
+        // values, and is much cheaper than a full atomic update.
+        this.counts.lazySet(bucket, this.counts.get(bucket) + 1);
+        this.sum += value;
+        if (value > this.max) {
+            this.max = value;
+        }
+        this.count++;
+    }
+
+    /**
+     * @return The number of durations recorded.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return The longest duration recorded, in nanoseconds.
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * @return The average of the durations recorded, in nanoseconds, or 0 if there are none.
+     */
+    public double getMean() {
+        long count = this.count;
+        return count == 0 ? 0 : (double) this.sum / count;
+    }
+
+    /**
+     * Finds the duration that the given fraction of all recorded durations is at most.
+     *
+     * @param fraction The fraction, for example 0.99 for the 99th percentile.
+     * @return The highest duration in the bucket that holds the percentile, in nanoseconds, or 0 if nothing has been
+     *         recorded. It is never more than the longest duration recorded.
+     */
+    public long getPercentile(double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += this.counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(fraction * total), 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * Forgets all durations recorded so far. Durations that are recorded at the same time may be partly forgotten.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts.set(i, 0);
+        }
+        this.count = 0;
+        this.sum = 0;
+        this.max = 0;
+    }
+
+    /**
+     * @param value A duration that is not negative.
+     * @return The index of the bucket that the duration goes in.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value); // At least SUB_BUCKET_BITS.
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @param bucket The index of a bucket.
+     * @return The highest duration that goes in the bucket.
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long lowest = (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,81 @@
+package rug.astro.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * The main figures of a latency histogram at some moment, in milliseconds. JMX shows this as a composite value, with
+ * one item for every getter.
+ */
+public class LatencySummary {
+    private final long count;
+
+    private final double mean;
+
+    private final double p50;
+
+    private final double p99;
+
+    private final double p999;
+
+    private final double max;
+
+    @ConstructorProperties({"count", "mean", "p50", "p99", "p999", "max"})
+    public LatencySummary(long count, double mean, double p50, double p99, double p999, double max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    /**
+     * Sums up a histogram.
+     *
+     * @param histogram The histogram, with durations in nanoseconds.
+     * @return The summary, in milliseconds.
+     */
+    static LatencySummary of(LatencyHistogram histogram) {
+        return new LatencySummary(
+                histogram.getCount(),
+                histogram.getMean() / 1e6,
+                histogram.getPercentile(0.5) / 1e6,
+                histogram.getPercentile(0.99) / 1e6,
+                histogram.getPercentile(0.999) / 1e6,
+                histogram.getMax() / 1e6
+        );
+    }
+
+    /**
+     * @return The number of durations recorded.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    public double getP50() {
+        return this.p50;
+    }
+
+    public double getP99() {
+        return this.p99;
+    }
+
+    public double getP999() {
+        return this.p999;
+    }
+
+    public double getMax() {
+        return this.max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.3f p50=%.3f p99=%.3f p99.9=%.3f max=%.3f (ms)",
+                this.count, this.mean, this.p50, this.p99, this.p999, this.max);
+    }
+}
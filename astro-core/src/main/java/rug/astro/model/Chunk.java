@@ -0,0 +1,94 @@
+package rug.astro.model;
+
+/**
+ * A square piece of an open universe, with the stars and planets in it. Everything in a chunk follows from the seed of
+ * the world and the chunk's coordinates, so a chunk that is unloaded and loaded again has exactly the same contents.
+ *
+ * The contents never change once the chunk is made, so views can safely draw the chunks of a snapshot from another
+ * thread while the game updater loads and unloads chunks. Planets don't move, which is why their locations can be kept
+ * here as well; whether a planet has been visited is kept by the planet itself.
+ */
+public final class Chunk {
+    /**
+     * The width and height of a chunk: that of the bounded space of a classic game.
+     */
+    public static final double SIZE = Game.SPACESIZE;
+
+    private final int chunkX;
+
+    private final int chunkY;
+
+    private final Planet[] planets;
+
+    private final double[] planetX;
+
+    private final double[] planetY;
+
+    private final StarField stars;
+
+    Chunk(int chunkX, int chunkY, Planet[] planets, double[] planetX, double[] planetY, StarField stars) {
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        this.planets = planets;
+        this.planetX = planetX;
+        this.planetY = planetY;
+        this.stars = stars;
+    }
+
+    /**
+     * @return The coordinates of the chunk: the chunk at (0, 0) starts at the origin of space, the one at (1, 0) right
+     * of it, and so on.
+     */
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkY() {
+        return chunkY;
+    }
+
+    /**
+     * @return The location of the chunk's top left corner in space.
+     */
+    public double getMinX() {
+        return this.chunkX * SIZE;
+    }
+
+    public double getMinY() {
+        return this.chunkY * SIZE;
+    }
+
+    /**
+     * @param minX The left side of a rectangle in space.
+     * @param minY The top side of the rectangle.
+     * @param maxX The right side of the rectangle.
+     * @param maxY The bottom side of the rectangle.
+     * @return Whether the chunk overlaps the rectangle.
+     */
+    public boolean overlaps(double minX, double minY, double maxX, double maxY) {
+        return this.getMinX() <= maxX && this.getMinX() + SIZE >= minX && this.getMinY() <= maxY && this.getMinY() + SIZE >= minY;
+    }
+
+    public int getPlanetCount() {
+        return this.planets.length;
+    }
+
+    public Planet getPlanet(int i) {
+        return this.planets[i];
+    }
+
+    public double getPlanetX(int i) {
+        return this.planetX[i];
+    }
+
+    public double getPlanetY(int i) {
+        return this.planetY[i];
+    }
+
+    /**
+     * @return The stars in the chunk.
+     */
+    public StarField getStars() {
+        return this.stars;
+    }
+}
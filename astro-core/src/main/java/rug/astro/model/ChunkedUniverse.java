@@ -0,0 +1,278 @@
+package rug.astro.model;
+
+import rug.astro.util.SpatialHash;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * An open universe, without edges, made of chunks that are generated when the ship comes near them and unloaded again
+ * when it has flown far away. Only the chunks around the ship, and a few that were recently near it, are loaded at any
+ * time, so the memory that the universe takes stays the same no matter how far the ship flies.
+ *
+ * A chunk is generated from the seed of the world and its coordinates only, so it comes back the same when it is loaded
+ * again. The one thing that changes in a chunk is which of its planets have been visited; that is kept for every chunk
+ * that was unloaded with visited planets in it, as one bit per planet.
+ *
+ * Only the game updater thread uses this. Views get the loaded chunks through the game's snapshot.
+ */
+final class ChunkedUniverse {
+    /**
+     * The chunks that are loaded around the chunk that the ship is in, in every direction. With one, the ship's chunk
+     * and the eight chunks around it are loaded, so the ship can never see past the loaded chunks: the view reaches at
+     * most half a window from the ship, which is much less than a chunk.
+     */
+    static final int LOAD_RADIUS = 1;
+
+    /**
+     * The most chunks that are loaded at the same time. Chunks beyond the load radius stay loaded until this is
+     * reached, so that flying back and forth over the edge of a chunk doesn't generate the same chunks over and over.
+     */
+    static final int MAX_LOADED_CHUNKS = 25;
+
+    /**
+     * The number of stars in a chunk, which is as many as in the bounded space of a classic game.
+     */
+    private static final int STARS_PER_CHUNK = Game.SPACESIZE / 50;
+
+    /**
+     * The least and most planets in a chunk. Classic games have about as many planets in the same space.
+     */
+    private static final int MIN_PLANETS_PER_CHUNK = 8;
+
+    private static final int MAX_PLANETS_PER_CHUNK = 16;
+
+    /**
+     * A loaded chunk, and when it was last needed.
+     */
+    private static final class LoadedChunk {
+        private final Chunk chunk;
+
+        private long lastNeeded;
+
+        private LoadedChunk(Chunk chunk) {
+            this.chunk = chunk;
+        }
+    }
+
+    private final Game game;
+
+    private final long worldSeed;
+
+    /**
+     * The catalog that the names, descriptions and pictures of planets are picked from.
+     */
+    private final PlanetCatalog catalog;
+
+    /**
+     * The loaded chunks, under the key of their coordinates.
+     */
+    private final Map<Long, LoadedChunk> loaded = new HashMap<>();
+
+    /**
+     * Which planets have been visited, for the chunks that were unloaded with visited planets in them. The bits are the
+     * indices of the planets in their chunk.
+     */
+    private final Map<Long, BitSet> visited = new HashMap<>();
+
+    /**
+     * The chunk that the ship was in at the last update, which is what the loaded chunks are around.
+     */
+    private int centerX;
+
+    private int centerY;
+
+    /**
+     * Counts the updates in which the ship had moved to another chunk.
+     */
+    private long moves;
+
+    /**
+     * The loaded chunks, as given to views. A new array is made whenever chunks are loaded or unloaded, and never
+     * changed after that.
+     */
+    private Chunk[] chunks = new Chunk[0];
+
+    /**
+     * Constructs a new universe. No chunks are loaded until the first update.
+     *
+     * @param game The game that the planets of the universe are part of.
+     * @param worldSeed The seed that all chunks are generated from.
+     * @param catalog The catalog that planets are picked from.
+     */
+    ChunkedUniverse(Game game, long worldSeed, PlanetCatalog catalog) {
+        this.game = game;
+        this.worldSeed = worldSeed;
+        this.catalog = catalog;
+        this.centerX = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Makes sure that the chunks around a location are loaded, and unloads chunks that are far away if there are too
+     * many. This is cheap when the location is in the same chunk as the last time, which is nearly always.
+     *
+     * @param x The location of the ship on the x-axis.
+     * @param y The location of the ship on the y-axis.
+     */
+    void update(double x, double y) {
+        int chunkX = (int) Math.floor(x / Chunk.SIZE);
+        int chunkY = (int) Math.floor(y / Chunk.SIZE);
+        if (chunkX == this.centerX && chunkY == this.centerY) {
+            return;
+        }
+        this.centerX = chunkX;
+        this.centerY = chunkY;
+        this.moves++;
+        for (int dx = -LOAD_RADIUS; dx <= LOAD_RADIUS; dx++) {
+            for (int dy = -LOAD_RADIUS; dy <= LOAD_RADIUS; dy++) {
+                long key = key(chunkX + dx, chunkY + dy);
+                LoadedChunk loadedChunk = this.loaded.get(key);
+                if (loadedChunk == null) {
+                    loadedChunk = new LoadedChunk(this.load(chunkX + dx, chunkY + dy));
+                    this.loaded.put(key, loadedChunk);
+                }
+                loadedChunk.lastNeeded = this.moves;
+            }
+        }
+        if (this.loaded.size() > MAX_LOADED_CHUNKS) {
+            while (this.loaded.size() > MAX_LOADED_CHUNKS) {
+                this.unloadLeastRecentlyNeeded();
+            }
+            this.game.getPlanetGrid().removeEmptyCells();
+        }
+        Chunk[] chunks = new Chunk[this.loaded.size()];
+        int i = 0;
+        for (LoadedChunk loadedChunk : this.loaded.values()) {
+            chunks[i++] = loadedChunk.chunk;
+        }
+        this.chunks = chunks;
+    }
+
+    /**
+     * @return The loaded chunks. The array must not be changed.
+     */
+    Chunk[] getChunks() {
+        return this.chunks;
+    }
+
+    /**
+     * @return Which planets have been visited, for every chunk with visited planets in it, whether it is loaded or not,
+     * under the key of the chunk. The bits are the indices of the planets in their chunk. This is a copy.
+     */
+    Map<Long, BitSet> getVisited() {
+        Map<Long, BitSet> visited = new HashMap<>();
+        for (Map.Entry<Long, BitSet> entry : this.visited.entrySet()) {
+            visited.put(entry.getKey(), (BitSet) entry.getValue().clone());
+        }
+        for (Map.Entry<Long, LoadedChunk> entry : this.loaded.entrySet()) {
+            Chunk chunk = entry.getValue().chunk;
+            BitSet visitedPlanets = new BitSet();
+            for (int i = 0; i < chunk.getPlanetCount(); i++) {
+                visitedPlanets.set(i, chunk.getPlanet(i).isVisited());
+            }
+            if (!visitedPlanets.isEmpty()) {
+                visited.put(entry.getKey(), visitedPlanets);
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Marks planets as visited, in loaded chunks and in chunks that are loaded later on, such as when a saved game is
+     * restored.
+     *
+     * @param chunkKey The key of a chunk.
+     * @param visitedPlanets The indices of the planets in the chunk that have been visited.
+     */
+    void setVisited(long chunkKey, BitSet visitedPlanets) {
+        LoadedChunk loadedChunk = this.loaded.get(chunkKey);
+        if (loadedChunk == null) {
+            this.visited.put(chunkKey, visitedPlanets);
+            return;
+        }
+        Chunk chunk = loadedChunk.chunk;
+        for (int i = 0; i < chunk.getPlanetCount(); i++) {
+            chunk.getPlanet(i).setVisited(visitedPlanets.get(i));
+        }
+    }
+
+    /**
+     * Generates a chunk, and adds its planets to the game.
+     */
+    private Chunk load(int chunkX, int chunkY) {
+        Random random = new Random(chunkSeed(this.worldSeed, chunkX, chunkY));
+        double minX = chunkX * Chunk.SIZE;
+        double minY = chunkY * Chunk.SIZE;
+
+        StarField stars = new StarField(minX, minY, STARS_PER_CHUNK);
+        for (int i = 0; i < STARS_PER_CHUNK; i++) {
+            double x = minX + 20 + random.nextInt(Game.SPACESIZE - 40);
+            double y = minY + 20 + random.nextInt(Game.SPACESIZE - 40);
+            stars.add(x, y, random.nextInt(90));
+        }
+
+        int count = this.catalog.size() == 0 ? 0 : MIN_PLANETS_PER_CHUNK + random.nextInt(MAX_PLANETS_PER_CHUNK - MIN_PLANETS_PER_CHUNK + 1);
+        double[] locations = Game.placePlanets(random, count, minX, minY);
+        BitSet visitedPlanets = this.visited.remove(key(chunkX, chunkY));
+        Planet[] planets = new Planet[count];
+        double[] planetX = new double[count];
+        double[] planetY = new double[count];
+        SpatialHash grid = this.game.getPlanetGrid();
+        for (int i = 0; i < count; i++) {
+            int entry = random.nextInt(this.catalog.size());
+            planetX[i] = locations[2 * i];
+            planetY[i] = locations[2 * i + 1];
+            // A planet's picture goes with its entry in the catalog, as it does in a classic game.
+            planets[i] = new Planet(this.game.getEntities(), planetX[i], planetY[i], Game.PLANET_RADIUS, this.catalog, entry);
+            planets[i].setVisited(visitedPlanets != null && visitedPlanets.get(i));
+            this.game.getPlanets().add(planets[i]);
+            grid.insert(planets[i].getIndex(), planetX[i], planetY[i]);
+        }
+        return new Chunk(chunkX, chunkY, planets, planetX, planetY, stars);
+    }
+
+    /**
+     * Unloads the chunk that was needed longest ago, and remembers which of its planets were visited.
+     */
+    private void unloadLeastRecentlyNeeded() {
+        Map.Entry<Long, LoadedChunk> oldest = null;
+        for (Map.Entry<Long, LoadedChunk> entry : this.loaded.entrySet()) {
+            if (oldest == null || entry.getValue().lastNeeded < oldest.getValue().lastNeeded) {
+                oldest = entry;
+            }
+        }
+        Chunk chunk = oldest.getValue().chunk;
+        this.loaded.remove(oldest.getKey());
+
+        BitSet visitedPlanets = new BitSet();
+        for (int i = 0; i < chunk.getPlanetCount(); i++) {
+            Planet planet = chunk.getPlanet(i);
+            if (planet.isVisited()) {
+                visitedPlanets.set(i);
+            }
+            this.game.getPlanetGrid().remove(planet.getIndex());
+            this.game.getEntities().remove(planet.getIndex());
+            this.game.getPlanets().remove(planet);
+        }
+        if (!visitedPlanets.isEmpty()) {
+            this.visited.put(oldest.getKey(), visitedPlanets);
+        }
+    }
+
+    private static long key(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Mixes the seed of the world and the coordinates of a chunk into the seed of the chunk, so that chunks close to
+     * each other get seeds that have nothing in common.
+     */
+    private static long chunkSeed(long worldSeed, int chunkX, int chunkY) {
+        long z = worldSeed ^ key(chunkX, chunkY) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
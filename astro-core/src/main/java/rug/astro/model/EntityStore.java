@@ -0,0 +1,287 @@
+package rug.astro.model;
+
+import rug.astro.util.IntList;
+import rug.astro.util.SpatialHash;
+
+import java.util.Arrays;
+
+/**
+ * Holds the state of all of a game's objects, laid out as columns of primitive arrays: one array for every field, with
+ * one slot per object. A game object itself only remembers which slot is its own, and reads and writes its state
+ * through this store.
+ *
+ * Keeping the state together like this means that moving all objects for a tick is one linear walk over a few arrays,
+ * instead of following a pointer to a separate location and velocity object for every game object.
+ *
+ * Objects can also be removed one at a time, for instance when a part of an open universe is unloaded. Their slots are
+ * left empty, and given to the next objects that are added, so the store doesn't grow as objects come and go.
+ */
+public class EntityStore {
+    /**
+     * The number of slots that a new store has room for before its arrays have to grow.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The game object that owns each slot.
+     */
+    private GameObject[] objects;
+
+    /**
+     * The x and y values of each object's current location.
+     */
+    private double[] locationX;
+
+    private double[] locationY;
+
+    /**
+     * The x and y values of each object's current velocity, in pixels per game tick.
+     */
+    private double[] velocityX;
+
+    private double[] velocityY;
+
+    /**
+     * The radius of each object.
+     */
+    private double[] radius;
+
+    /**
+     * The number of game ticks that must pass before each object is allowed to collide with other game objects.
+     */
+    private int[] stepsUntilCollisionPossible;
+
+    /**
+     * The number of slots in use. Slots 0 up to (but not including) this number belong to an object, or are empty
+     * because their object was removed.
+     */
+    private int size;
+
+    /**
+     * The empty slots below size, which are filled before the store takes a new slot.
+     */
+    private final IntList freeSlots = new IntList();
+
+    /**
+     * Whether objects are kept within the bounds of space. An open universe has no bounds.
+     */
+    private boolean bounded = true;
+
+    /**
+     * A grid that is kept up to date when the objects in it move, or null if there is none.
+     */
+    private SpatialHash grid;
+
+    /**
+     * Constructs a new, empty store.
+     */
+    public EntityStore() {
+        this.objects = new GameObject[INITIAL_CAPACITY];
+        this.locationX = new double[INITIAL_CAPACITY];
+        this.locationY = new double[INITIAL_CAPACITY];
+        this.velocityX = new double[INITIAL_CAPACITY];
+        this.velocityY = new double[INITIAL_CAPACITY];
+        this.radius = new double[INITIAL_CAPACITY];
+        this.stepsUntilCollisionPossible = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Gives a new game object a slot in this store.
+     *
+     * @param object The object that the slot belongs to.
+     * @param x The object's location on the x-axis.
+     * @param y The object's location on the y-axis.
+     * @param vx Velocity in X direction.
+     * @param vy Velocity in Y direction.
+     * @param r Radius of the object.
+     * @param steps The number of ticks before the object can collide.
+     * @return The index of the object's slot.
+     */
+    int add(GameObject object, double x, double y, double vx, double vy, double r, int steps) {
+        int index;
+        if (!this.freeSlots.isEmpty()) {
+            index = this.freeSlots.removeLast();
+        } else {
+            if (this.size == this.objects.length) {
+                this.grow();
+            }
+            index = this.size++;
+        }
+        this.objects[index] = object;
+        this.locationX[index] = x;
+        this.locationY[index] = y;
+        this.velocityX[index] = vx;
+        this.velocityY[index] = vy;
+        this.radius[index] = r;
+        this.stepsUntilCollisionPossible[index] = steps;
+        return index;
+    }
+
+    /**
+     * Doubles the room in all columns.
+     */
+    private void grow() {
+        int capacity = this.objects.length * 2;
+        this.objects = Arrays.copyOf(this.objects, capacity);
+        this.locationX = Arrays.copyOf(this.locationX, capacity);
+        this.locationY = Arrays.copyOf(this.locationY, capacity);
+        this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+        this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+        this.radius = Arrays.copyOf(this.radius, capacity);
+        this.stepsUntilCollisionPossible = Arrays.copyOf(this.stepsUntilCollisionPossible, capacity);
+    }
+
+    /**
+     * Throws away every slot from the given index onwards. The objects that owned those slots must not be used
+     * anymore.
+     *
+     * @param newSize The number of slots to keep.
+     */
+    void truncate(int newSize) {
+        Arrays.fill(this.objects, newSize, this.size, null); // Let the GC remove the objects that were thrown away.
+        this.size = newSize;
+        this.freeSlots.clear();
+        for (int i = 0; i < newSize; i++) {
+            if (this.objects[i] == null) {
+                this.freeSlots.add(i);
+            }
+        }
+    }
+
+    /**
+     * Empties the slot of an object, so that it can be given to another object later on. The object must not be used
+     * anymore, and must not be in the grid.
+     *
+     * @param index The index of the object's slot.
+     */
+    void remove(int index) {
+        if (this.objects[index] != null) {
+            this.objects[index] = null;
+            this.freeSlots.add(index);
+        }
+    }
+
+    /**
+     * Sets whether objects are kept within the bounds of space.
+     *
+     * @param bounded True to stop objects at the edges of space, false to let them go anywhere.
+     */
+    void setBounded(boolean bounded) {
+        this.bounded = bounded;
+    }
+
+    /**
+     * Sets the grid that should be told whenever an object in it moves. Objects are in the grid under the index of
+     * their slot; objects that aren't in the grid are left alone.
+     *
+     * @param grid The grid to keep up to date, or null.
+     */
+    void setGrid(SpatialHash grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * @return The number of slots in this store, which is the number of objects plus the number of empty slots.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param index The index of a slot.
+     * @return The game object that owns the slot, or null if the slot is empty.
+     */
+    public GameObject get(int index) {
+        return this.objects[index];
+    }
+
+    /**
+     * Advances every object in this store by one game tick: each object moves by its velocity, is kept within the
+     * bounds of space if space has bounds, and gets one tick closer to being able to collide.
+     */
+    public void stepAll() {
+        for (int i = 0; i < this.size; i++) {
+            if (this.objects[i] != null) {
+                this.step(i);
+            }
+        }
+    }
+
+    /**
+     * Advances a single object by one game tick.
+     *
+     * @param i The index of the object's slot.
+     */
+    void step(int i) {
+        double oldX = this.locationX[i];
+        double oldY = this.locationY[i];
+        double x = oldX + this.velocityX[i];
+        double y = oldY + this.velocityY[i];
+        if (this.bounded) {
+            if (x < 0) {
+                x = 0;
+                this.velocityX[i] = 0;
+            } else if (x > Game.SPACESIZE) {
+                x = Game.SPACESIZE;
+                this.velocityX[i] = 0;
+            }
+            if (y < 0) {
+                y = 0;
+                this.velocityY[i] = 0;
+            } else if (y > Game.SPACESIZE) {
+                y = Game.SPACESIZE;
+                this.velocityY[i] = 0;
+            }
+        }
+        this.locationX[i] = x;
+        this.locationY[i] = y;
+        if ((x != oldX || y != oldY) && this.grid != null && this.grid.contains(i)) {
+            this.grid.move(i, x, y);
+        }
+        if (this.stepsUntilCollisionPossible[i] > 0) {
+            this.stepsUntilCollisionPossible[i]--;
+        }
+    }
+
+    double getLocationX(int index) {
+        return this.locationX[index];
+    }
+
+    double getLocationY(int index) {
+        return this.locationY[index];
+    }
+
+    void setLocation(int index, double x, double y) {
+        this.locationX[index] = x;
+        this.locationY[index] = y;
+        if (this.grid != null && this.grid.contains(index)) {
+            this.grid.move(index, x, y);
+        }
+    }
+
+    double getVelocityX(int index) {
+        return this.velocityX[index];
+    }
+
+    double getVelocityY(int index) {
+        return this.velocityY[index];
+    }
+
+    void setVelocity(int index, double vx, double vy) {
+        this.velocityX[index] = vx;
+        this.velocityY[index] = vy;
+    }
+
+    double getRadius(int index) {
+        return this.radius[index];
+    }
+
+    int getStepsUntilCollisionPossible(int index) {
+        return this.stepsUntilCollisionPossible[index];
+    }
+
+    void setStepsUntilCollisionPossible(int index, int steps) {
+        this.stepsUntilCollisionPossible[index] = steps;
+    }
+}
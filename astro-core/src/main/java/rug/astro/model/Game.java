@@ -0,0 +1,770 @@
+package rug.astro.model;
+
+import rug.astro.control.GameSaver;
+import rug.astro.control.GameUpdater;
+import rug.astro.control.InputQueue;
+import rug.astro.control.InputRecorder;
+import rug.astro.net.ClientUpdater;
+import rug.astro.net.GameClient;
+import rug.astro.net.GameServer;
+import rug.astro.game_observer.ObservableGame;
+import rug.astro.metrics.GameMetrics;
+import rug.astro.util.PoissonDiskSampler;
+import rug.astro.util.SpatialHash;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+public class Game extends ObservableGame {
+
+    /**
+     * The spaceship object that the player is in control of.
+     */
+    private Spaceship ship;
+
+    /**
+     * Holds the state of the ship and all planets.
+     */
+    private final EntityStore entities;
+
+    /**
+     * The ships of the other players in a multiplayer game, and the store that holds their state. They are kept apart
+     * from the player's ship and the planets, so that they stay when the planets are replaced.
+     */
+    private final EntityStore otherShipStore = new EntityStore();
+
+    private final List<Spaceship> otherShips = new ArrayList<>();
+
+    private final List<Spaceship> otherShipsView = Collections.unmodifiableList(this.otherShips);
+
+    /**
+     * Indicates whether or not the game is running. Setting this to false causes the game to exit its loop and quit.
+     */
+    protected volatile boolean running = false;
+
+    /**
+     * The game updater thread, which is responsible for updating the game's state as time goes on.
+     */
+    protected transient Thread gameUpdaterThread;
+
+    public static final int SPACESIZE = 2000;
+
+    /**
+     * The files that the planets' names and descriptions are read from, unless a game is given another one. The binary
+     * catalog is used if there is one, and otherwise the JSON catalog that it is made from.
+     */
+    static final String DEFAULT_CATALOG_PATH = "generated.json";
+
+    static final String DEFAULT_BINARY_CATALOG_PATH = "generated.bin";
+
+    /**
+     * The radius of every planet.
+     */
+    public static final double PLANET_RADIUS = 60;
+
+    /**
+     * The minimum distance between two planets, along at least one of the axes.
+     */
+    public static final double PLANET_SPACING = 160;
+
+    /**
+     * The width and height of the cells of the grid that planets are kept in.
+     */
+    private static final double GRID_CELL_SIZE = 256;
+
+    private Collection<Planet> planets;
+
+    /**
+     * The planets bucketed by location. The id of a planet in this grid is its index in the entity store.
+     */
+    private SpatialHash planetGrid;
+
+    private int discovered;
+
+    /**
+     * Counts how many times the world (stars and planets) has been replaced. Views can use this to tell whether
+     * drawings they made of the world are out of date.
+     */
+    private int worldRevision;
+
+    /**
+     * The stars and planets of the current world, as views see them. Snapshots refer to it.
+     */
+    private World world;
+
+    /**
+     * The latest snapshot of the game's state. The game updater replaces it after every tick, and views read it from
+     * other threads, which is why it is volatile: swapping in a new snapshot is all it takes to publish it.
+     */
+    private volatile GameSnapshot snapshot;
+
+    /**
+     * The catalog that the planets' names and descriptions come from. It is opened once, and used for every world.
+     */
+    private final PlanetCatalog catalog;
+
+    /**
+     * Measures how the game loop is doing. These are published over JMX while the game runs.
+     */
+    private final GameMetrics metrics = new GameMetrics();
+
+    /**
+     * Hands out the seeds of the worlds of this game, one for every time the world is generated, so that the whole
+     * sequence of worlds follows from the game's seed.
+     */
+    private final Random worldSeeds;
+
+    /**
+     * The seed of the current world, and the source of randomness that the current world was generated from.
+     */
+    private long worldSeed;
+
+    private Random random;
+
+    /**
+     * Carries the player's key presses to the game updater, which applies them to the ship at the start of every tick.
+     */
+    private final InputQueue inputQueue = new InputQueue();
+
+    /**
+     * Whether the current world is an open universe, without edges, rather than the bounded space of a classic game.
+     */
+    private boolean openUniverse;
+
+    /**
+     * The chunks of the open universe, or null if the current world is bounded.
+     */
+    private ChunkedUniverse universe;
+
+    /**
+     * Saves the game every now and then, in the background, or null if the game isn't saved.
+     */
+    private GameSaver gameSaver;
+
+    /**
+     * The server that other players take part in the game through, or null if they can't.
+     */
+    private GameServer server;
+
+    /**
+     * The client that connects this game to a game on a server, or null if this game runs on its own.
+     */
+    private GameClient client;
+
+    /**
+     * Records the keys pressed in every tick, or null if input isn't recorded.
+     */
+    private InputRecorder inputRecorder;
+
+    /**
+     * Constructs a new game, with a new spaceship and all other model data in its default starting state. Its worlds are
+     * different every time.
+     */
+    public Game() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a new game whose worlds follow from the given seed: two games with the same seed generate the same
+     * worlds, in the same order.
+     *
+     * @param seed The seed of the game.
+     */
+    public Game(long seed) {
+        this(defaultCatalogPath(), seed, false);
+    }
+
+    /**
+     * Constructs a new game whose worlds follow from the given seed, and which are either bounded or open.
+     *
+     * @param seed The seed of the game.
+     * @param openUniverse True for worlds that are open universes, without edges, or false for classic, bounded worlds.
+     */
+    public Game(long seed, boolean openUniverse) {
+        this(defaultCatalogPath(), seed, openUniverse);
+    }
+
+    /**
+     * Constructs a new game whose planets come from the given catalog, instead of the default one. This is meant for
+     * benchmarks that need worlds with a given number of planets.
+     *
+     * @param catalogPath The path of a binary or JSON catalog of planets.
+     */
+    Game(String catalogPath) {
+        this(catalogPath, ThreadLocalRandom.current().nextLong(), false);
+    }
+
+    /**
+     * Constructs a new game whose planets come from the given catalog, and whose worlds follow from the given seed.
+     *
+     * @param catalogPath The path of a binary or JSON catalog of planets. If it can't be opened, the worlds have no
+     *                    planets.
+     * @param seed The seed of the game.
+     * @param openUniverse True for worlds that are open universes, or false for classic, bounded worlds.
+     */
+    Game(String catalogPath, long seed, boolean openUniverse) {
+        this(catalogPath, seed, openUniverse, true);
+    }
+
+    /**
+     * Constructs a new game, and generates its first world, or else starts it out with an empty world.
+     */
+    private Game(String catalogPath, long seed, boolean openUniverse, boolean generateWorld) {
+        this.catalog = openCatalog(catalogPath);
+        this.openUniverse = openUniverse;
+        this.worldSeeds = new Random(seed);
+        this.entities = new EntityStore();
+        this.ship = new Spaceship(this.entities);
+        if (generateWorld) {
+            this.initializeGameData();
+        } else {
+            this.planets = new ArrayList<>();
+            this.planetGrid = new SpatialHash(GRID_CELL_SIZE);
+            this.entities.setGrid(this.planetGrid);
+            this.publishWorld(new StarField(0, 0, 0));
+        }
+    }
+
+    /**
+     * Constructs a new game with an empty world, without stars or planets, which is meant to be connected to a game on a
+     * server. Such a game gets its worlds from the server once it is started, so generating one up front would be for
+     * nothing.
+     *
+     * @return The new game.
+     */
+    public static Game withoutWorld() {
+        return new Game(defaultCatalogPath(), 0L, false, false);
+    }
+
+    public int getDiscovered() {
+        return discovered;
+    }
+
+    public void setDiscovered(int discovered) {
+        this.discovered = discovered;
+    }
+
+    /**
+     * Sets running
+     * @param running
+     */
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    /**
+     * @return The store that holds the state of the ship and all planets.
+     */
+    public EntityStore getEntities() {
+        return entities;
+    }
+
+    public Collection<Planet> getPlanets() {
+        return planets;
+    }
+
+    /**
+     * @return The planet that the player's ship is on, or null if it is in space.
+     */
+    public Planet getCurrentPlanet() {
+        return this.ship.getPlanet();
+    }
+
+    public void setCurrentPlanet(Planet currentPlanet) {
+        this.ship.setPlanet(currentPlanet);
+    }
+
+    /**
+     * @return The ships of the other players, in the order in which they joined. The list can't be changed.
+     */
+    public List<Spaceship> getOtherShips() {
+        return this.otherShipsView;
+    }
+
+    /**
+     * Adds the ship of another player to the game. It starts out where every ship starts.
+     *
+     * @return The new ship.
+     */
+    public Spaceship addShip() {
+        Spaceship ship = new Spaceship(this.otherShipStore);
+        this.otherShips.add(ship);
+        return ship;
+    }
+
+    /**
+     * Takes the ship of another player out of the game. The ship must not be used anymore.
+     *
+     * @param ship The ship, as returned by addShip().
+     */
+    public void removeShip(Spaceship ship) {
+        if (this.otherShips.remove(ship)) {
+            this.otherShipStore.remove(ship.getIndex());
+        }
+    }
+
+    /**
+     * Sets the main ship to an other ship
+     * @param ship
+     */
+    public void setShip(Spaceship ship) {
+        this.ship = ship;
+    }
+
+    /**
+     * Initializes all of the model objects used by the game. Can also be used to reset the game's state back to a
+     * default starting state before beginning a new game. The new world gets the next seed of this game.
+     */
+    public void initializeGameData() {
+        this.initializeGameData(this.worldSeeds.nextLong());
+    }
+
+    /**
+     * Initializes all of the model objects used by the game, in a world generated from the given seed. Given the same
+     * seed and catalog, the same world is generated every time, which is what makes replaying recorded input possible.
+     * The world is bounded or open, like the one before it.
+     *
+     * @param worldSeed The seed of the world.
+     */
+    public void initializeGameData(long worldSeed) {
+        this.initializeGameData(worldSeed, this.openUniverse);
+    }
+
+    /**
+     * Initializes all of the model objects used by the game, in a world generated from the given seed, which is either
+     * bounded or open.
+     *
+     * In an open universe, nothing is generated up front: the chunks around the ship are generated as it flies, while
+     * the game runs. The world still starts out the same every time, since the chunks follow from the world's seed.
+     *
+     * @param worldSeed The seed of the world.
+     * @param openUniverse True for an open universe, or false for a classic, bounded world.
+     */
+    public void initializeGameData(long worldSeed, boolean openUniverse) {
+        this.worldSeed = worldSeed;
+        this.openUniverse = openUniverse;
+        this.random = new Random(worldSeed);
+        if (this.inputRecorder != null) {
+            this.inputRecorder.startWorld(worldSeed, openUniverse);
+        }
+        Random rng = this.random;
+        StarField stars = new StarField(0, 0, openUniverse ? 0 : SPACESIZE/50);
+        if (!openUniverse) { // The stars of an open universe are in its chunks.
+            for (int i = 0; i < SPACESIZE/50; i++) {
+                int x = 20 + rng.nextInt(Game.SPACESIZE - 40);
+                int y = 20 + rng.nextInt(Game.SPACESIZE - 40);
+                int z = rng.nextInt(90);
+                stars.add(x, y, z);
+            }
+        }
+        this.entities.setBounded(!openUniverse);
+        this.ship.reset();
+        this.otherShipStore.setBounded(!openUniverse);
+        for (Spaceship other : this.otherShips) { // The other players start over in the new world as well.
+            other.reset();
+        }
+        if (openUniverse) {
+            this.planets = new ArrayList<>();
+            this.planetGrid = new SpatialHash(GRID_CELL_SIZE);
+            this.entities.truncate(this.ship.getIndex() + 1);
+            this.entities.setGrid(this.planetGrid);
+            this.universe = new ChunkedUniverse(this, worldSeed, this.catalog);
+            this.universe.update(this.ship.getX(), this.ship.getY());
+        } else {
+            this.universe = null;
+            this.generatePlanets();
+        }
+        this.discovered = 0;
+        this.publishWorld(stars);
+    }
+
+    /**
+     * Makes the current stars and planets a new world, and publishes a snapshot with it, so that views draw the new
+     * world from then on. This should only be called by the thread that updates the game.
+     *
+     * @param stars The stars of the new world, which must not be added to anymore.
+     */
+    void publishWorld(StarField stars) {
+        this.worldRevision++;
+        // The planets of an open universe come and go with its chunks, which views get from the snapshots instead.
+        this.world = new World(this.worldRevision, stars, this.openUniverse ? List.of() : this.planets);
+        this.publishSnapshot();
+    }
+
+    /**
+     * @return The stars and planets of the current world, as views see them.
+     */
+    public World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Takes a snapshot of the game's current state and makes it the one that views will see. This should only be called
+     * by the thread that updates the game, once the state is consistent, such as at the end of a tick.
+     */
+    public void publishSnapshot() {
+        this.snapshot = new GameSnapshot(this, this.snapshot);
+    }
+
+    /**
+     * @return The latest published snapshot of the game's state. This can be called from any thread.
+     */
+    public GameSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * @return The measurements of the game loop, such as how long ticks take.
+     */
+    public GameMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * @return Whether the current world is an open universe, rather than a classic, bounded world.
+     */
+    public boolean isOpenUniverse() {
+        return this.openUniverse;
+    }
+
+    /**
+     * @return The chunks of the open universe that are loaded, or null if the current world is bounded. The array must
+     * not be changed.
+     */
+    public Chunk[] getLoadedChunks() {
+        return this.universe == null ? null : this.universe.getChunks();
+    }
+
+    /**
+     * Loads the chunks of the open universe around the ship, and unloads far away ones, if the ship has moved into
+     * another chunk. The game updater does this every tick; in a bounded world it does nothing.
+     */
+    public void streamChunks() {
+        if (this.universe != null) {
+            this.universe.update(this.ship.getX(), this.ship.getY());
+        }
+    }
+
+    /**
+     * @return The seed that the current world was generated from.
+     */
+    public long getWorldSeed() {
+        return this.worldSeed;
+    }
+
+    /**
+     * @return The queue that key events for the ship should be put in. Only one thread may put events in it.
+     */
+    public InputQueue getInputQueue() {
+        return this.inputQueue;
+    }
+
+    /**
+     * @return The recorder that the keys of every tick are written to, or null if input isn't recorded.
+     */
+    public InputRecorder getInputRecorder() {
+        return this.inputRecorder;
+    }
+
+    /**
+     * Starts or stops recording the keys pressed in every tick. Recording starts with the current world, so this should
+     * be called before the game is started, while the world hasn't been played yet.
+     *
+     * @param inputRecorder The recorder to write to, or null to stop recording.
+     */
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
+        if (inputRecorder != null) {
+            inputRecorder.startWorld(this.worldSeed, this.openUniverse);
+        }
+    }
+
+    /**
+     * @return Whatever saves the game in the background, or null if the game isn't saved.
+     */
+    public GameSaver getGameSaver() {
+        return this.gameSaver;
+    }
+
+    /**
+     * Sets whatever saves the game in the background. The game updater hands it a saved game every few seconds, and
+     * the game is saved once more when it is quit.
+     *
+     * @param gameSaver The saver, or null to stop saving the game.
+     */
+    public void setGameSaver(GameSaver gameSaver) {
+        this.gameSaver = gameSaver;
+    }
+
+    /**
+     * @return The catalog that the planets' names and descriptions come from.
+     */
+    public PlanetCatalog getCatalog() {
+        return this.catalog;
+    }
+
+    /**
+     * @return The server that other players take part in the game through, or null if there is none.
+     */
+    public GameServer getServer() {
+        return this.server;
+    }
+
+    /**
+     * Lets other players take part in the game through a server. The game updater has the server take in their keys at
+     * the start of every tick, and send out the changes at the end of it. A server can only run a bounded world.
+     *
+     * @param server The server, or null to play alone.
+     */
+    public void setServer(GameServer server) {
+        this.server = server;
+    }
+
+    /**
+     * @return The client that connects this game to a game on a server, or null if this game runs on its own.
+     */
+    public GameClient getClient() {
+        return this.client;
+    }
+
+    /**
+     * Connects this game to a game that runs on a server. When this game is started, it doesn't run any physics, but
+     * shows the world and the ships as the server sends them, and sends the player's keys to the server.
+     *
+     * @param client The client, or null to run the game here.
+     */
+    public void setClient(GameClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Takes a copy of the game's state that can be written to a file, and restored later. This should be done by the
+     * game updater thread, or while the game is not running.
+     *
+     * @return The saved game.
+     */
+    public SavedGame save() {
+        return new SavedGame(this);
+    }
+
+    /**
+     * @return Which planets of the open universe have been visited, per chunk, or nothing if the world is bounded.
+     */
+    Map<Long, BitSet> getVisitedChunks() {
+        return this.universe == null ? Map.of() : this.universe.getVisited();
+    }
+
+    /**
+     * Brings the game back to the state it was saved in. The game must not be running.
+     *
+     * @param saved The saved game.
+     * @throws IllegalStateException If the game is running.
+     * @throws IllegalArgumentException If the saved game has planets that are not in this game's catalog.
+     */
+    public void restore(SavedGame saved) {
+        if (this.running) {
+            throw new IllegalStateException("A game can't be restored while it is running.");
+        }
+        for (int i = 0; i < saved.getPlanetCount(); i++) {
+            if (saved.getPlanetEntry(i) < 0 || saved.getPlanetEntry(i) >= this.catalog.size()) {
+                throw new IllegalArgumentException("The saved game has planet " + saved.getPlanetEntry(i)
+                        + ", but the catalog has only " + this.catalog.size() + " planets.");
+            }
+        }
+        this.initializeGameData(saved.getWorldSeed(), saved.isOpenUniverse());
+        if (this.universe != null) {
+            for (int i = 0; i < saved.getVisitedChunkCount(); i++) {
+                this.universe.setVisited(saved.getVisitedChunk(i), saved.getVisitedInChunk(i));
+            }
+        } else {
+            // The planets are put back where they were saved, rather than generated again from the world's seed.
+            this.planets = new ArrayList<>();
+            this.planetGrid = new SpatialHash(GRID_CELL_SIZE);
+            this.entities.truncate(this.ship.getIndex() + 1);
+            this.entities.setGrid(this.planetGrid);
+            for (int i = 0; i < saved.getPlanetCount(); i++) {
+                Planet planet = new Planet(this.entities, saved.getPlanetX(i), saved.getPlanetY(i), PLANET_RADIUS,
+                        this.catalog, saved.getPlanetEntry(i));
+                planet.setVisited(saved.isPlanetVisited(i));
+                this.planets.add(planet);
+                this.planetGrid.insert(planet.getIndex(), planet.getX(), planet.getY());
+            }
+        }
+        saved.restoreShip(this.ship);
+        this.streamChunks();
+        this.discovered = saved.getDiscovered();
+        for (Planet planet : this.planets) {
+            if (saved.isCurrentPlanet(planet)) {
+                this.ship.setPlanet(planet);
+            }
+        }
+        this.publishWorld(this.world.getStars()); // The restored planets make a world of their own.
+    }
+
+    /**
+     * @return How many times the world has been replaced. This changes every time the stars and planets are replaced.
+     * Views should use the world revision of the snapshot they draw instead, since this is only for the thread that
+     * updates the game.
+     */
+    public int getWorldRevision() {
+        return worldRevision;
+    }
+
+    /**
+     * Replaces the planets with new ones from the catalog, at new locations, picked with the randomness of the current
+     * world. This is package-private, rather than private, so that benchmarks can measure it on its own.
+     */
+    void generatePlanets() {
+        Random rng = this.random;
+        this.planets = new ArrayList<>();
+        this.planetGrid = new SpatialHash(GRID_CELL_SIZE);
+        this.entities.truncate(this.ship.getIndex() + 1); // Only the ship's slot is kept, the planets are made anew.
+        this.entities.setGrid(this.planetGrid);
+        double[] locations = placePlanets(rng, this.catalog.size(), 0, 0);
+        for (int i = 0; i < this.catalog.size(); i++) {
+            double x = locations[2 * i];
+            double y = locations[2 * i + 1];
+            Planet p = (new Planet(this.entities, x, y, PLANET_RADIUS, this.catalog, i));
+            planets.add(p);
+            planetGrid.insert(p.getIndex(), x, y);
+        }
+    }
+
+    /**
+     * @return The path of the default catalog: the binary one if it exists, or else the JSON one.
+     */
+    private static String defaultCatalogPath() {
+        return Files.exists(Paths.get(DEFAULT_BINARY_CATALOG_PATH)) ? DEFAULT_BINARY_CATALOG_PATH : DEFAULT_CATALOG_PATH;
+    }
+
+    /**
+     * Opens the catalog of planets. A catalog that can't be opened is reported, and replaced by an empty one, so that
+     * the game can still be played, without planets.
+     *
+     * @param path The path of the catalog.
+     * @return The catalog.
+     */
+    private static PlanetCatalog openCatalog(String path) {
+        try {
+            return PlanetCatalog.open(path);
+        } catch (IOException e) {
+            System.err.println("Could not open the planet catalog " + path + ", so there will be no planets.");
+            e.printStackTrace();
+            return PlanetCatalog.EMPTY;
+        }
+    }
+
+    /**
+     * @return The planets bucketed by location, under their index in getEntities().
+     */
+    public SpatialHash getPlanetGrid() {
+        return planetGrid;
+    }
+
+    /**
+     * @return The game's spaceship.
+     */
+    public Spaceship getSpaceship() {
+        return this.ship;
+    }
+
+    /**
+     * @return Whether or not the game is running.
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * @return True if the player's ship has been destroyed, or false otherwise.
+     */
+    public boolean isGameOver() {
+        if (!ship.isDestroyed()) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Picks locations for planets, so that no two planets are closer than PLANET_SPACING along both axes. Space is first
+     * filled with as many spread out locations as fit, and then the planets get a random selection of those, so that
+     * they are scattered evenly over all of space.
+     *
+     * @param rng The source of randomness.
+     * @param count The number of planets to place.
+     * @param originX The left side of the space to place the planets in, which is SPACESIZE wide and high.
+     * @param originY The top side of the space to place the planets in.
+     * @return The locations, as pairs of x- and y-values.
+     * @throws IllegalStateException If the planets don't fit in space.
+     */
+    static double[] placePlanets(Random rng, int count, double originX, double originY) {
+        double[] candidates = new PoissonDiskSampler(originX + 70.0, originY + 100.0,
+                originX + SPACESIZE - 80, originY + SPACESIZE - 80, PLANET_SPACING).sample(rng);
+        int available = candidates.length / 2;
+        if (available < count) {
+            throw new IllegalStateException("There is only room for " + available + " of the " + count + " planets in space.");
+        }
+        // Shuffle the first count locations into place, swapping each with a random location from the rest.
+        for (int i = 0; i < count; i++) {
+            int j = i + rng.nextInt(available - i);
+            double x = candidates[2 * j];
+            double y = candidates[2 * j + 1];
+            candidates[2 * j] = candidates[2 * i];
+            candidates[2 * j + 1] = candidates[2 * i + 1];
+            candidates[2 * i] = x;
+            candidates[2 * i + 1] = y;
+        }
+        return candidates;
+    }
+
+    /**
+     * Using this game's current model, spools up a new game updater thread to begin a game loop and start processing
+     * user input and physics updates. Only if the game isn't currently running, that is. While the game runs, its metrics
+     * are published over JMX.
+     */
+    public synchronized void start() {
+        if (!this.running) {
+            this.running = true;
+            this.metrics.register();
+            // A client shows the game that runs on a server, rather than running a game of its own.
+            Runnable updater = this.client != null ? new ClientUpdater(this, this.client) : new GameUpdater(this);
+            this.gameUpdaterThread = new Thread(updater, "GameUpdater");
+            this.gameUpdaterThread.setDaemon(true); // The game loop should never keep the application alive on its own.
+            this.gameUpdaterThread.start();
+        }
+    }
+
+    /**
+     * Tries to quit the game, if it is running. This stops the game loop, wakes up the game updater thread if it is
+     * waiting for the next tick, and waits for it to finish, so that a new game can safely be started right after.
+     */
+    public synchronized void quit() {
+        Thread updaterThread = this.gameUpdaterThread;
+        this.running = false;
+        this.gameUpdaterThread = null; // Throw away the game updater thread and let the GC remove it.
+        this.metrics.unregister();
+        if (updaterThread != null && updaterThread != Thread.currentThread()) {
+            LockSupport.unpark(updaterThread);
+            try { // Wait for the game updater to exit its game loop.
+                updaterThread.join();
+            } catch (InterruptedException exception) {
+                System.err.println("Interrupted while waiting for the game updater thread to finish execution.");
+                Thread.currentThread().interrupt();
+                return; // The game updater may still be changing the game, so it can't be saved.
+            }
+        }
+        if (this.gameSaver != null) { // The game updater has stopped, so the game can be saved from here.
+            this.gameSaver.save(this.save());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package rug.astro.model;
+
+/**
+ * A game object is a thin handle on a slot in an entity store. Its location, velocity, radius and collision grace
+ * period live in the store's arrays; the object only knows where to find them.
+ */
+public abstract class GameObject {
+
+    private static final long serialVersionUID = 2L;
+
+    /**
+     * The store that holds this object's state.
+     */
+    private final EntityStore store;
+
+    /**
+     * The index of this object's slot in the store.
+     */
+    private final int index;
+
+    /**
+     * A flag that is set when this object collides with another. This tells the game engine that this object should be
+     * removed from the game.
+     */
+    protected boolean destroyed;
+
+    /**
+     * Constructs a new game object with the specified location, velocity and radius.
+     *
+     * @param store The store that will hold the object's state.
+     * @param locationX The object's location on the x-axis.
+     * @param locationY The object's location on the y-axis.
+     * @param velocityX Velocity in X direction.
+     * @param velocityY Velocity in Y direction.
+     * @param radius Radius of the object.
+     */
+    protected GameObject(EntityStore store, double locationX, double locationY, double velocityX, double velocityY, double radius) {
+        this.store = store;
+        this.index = store.add(this, locationX, locationY, velocityX, velocityY, radius, this.getDefaultStepsUntilCollisionPossible());
+    }
+
+    /**
+     * Child classes should implement this method to define what happens to an object when the game advances by one game
+     * tick in the main loop. The amount of time that passes with each step should be the same, so that movement is
+     * uniform even when performance may suffer.
+     *
+     * Note that EntityStore.stepAll() does the same for all objects at once, which is what the game loop uses.
+     */
+    public void nextStep() {
+        this.store.step(this.index);
+    }
+
+    /**
+     * Flags this object as destroyed, so that the game may deal with it.
+     */
+    public final void destroy() {
+        this.destroyed = true;
+    }
+
+    /**
+     * @return The index of this object's slot in its entity store.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * @return radius of the object in amount of pixels.
+     */
+    public double getRadius()
+    {
+        return this.store.getRadius(this.index);
+    }
+
+    /**
+     * @return The object's current location on the x-axis.
+     */
+    public double getX() {
+        return this.store.getLocationX(this.index);
+    }
+
+    /**
+     * @return The object's current location on the y-axis.
+     */
+    public double getY() {
+        return this.store.getLocationY(this.index);
+    }
+
+    public void setDestroyed(boolean destroyed) {
+        this.destroyed = destroyed;
+    }
+
+    public void setLocation(double x, double y) {
+        this.store.setLocation(this.index, x, y);
+    }
+
+    public void setVelocity(double velocityX, double velocityY) {
+        this.store.setVelocity(this.index, velocityX, velocityY);
+    }
+
+    /**
+     * @return The current velocity of this object on the x-axis, in pixels per game tick.
+     */
+    public double getVelocityX() {
+        return this.store.getVelocityX(this.index);
+    }
+
+    /**
+     * @return The current velocity of this object on the y-axis, in pixels per game tick.
+     */
+    public double getVelocityY() {
+        return this.store.getVelocityY(this.index);
+    }
+
+    /**
+     * @return The speed of the object, as a scalar value combining the x- and y-velocities.
+     */
+    public double getSpeed() {
+        double velocityX = this.getVelocityX();
+        double velocityY = this.getVelocityY();
+        return Math.sqrt(velocityX * velocityX + velocityY * velocityY);
+    }
+
+    /**
+     * @return true if the object is destroyed, false otherwise.
+     */
+    public final boolean isDestroyed()
+    {
+        return this.destroyed;
+    }
+
+    /**
+     * Given some other game object, this method checks whether the current object and the given object collide with
+     * each other. It does this by measuring the distance between the objects and checking whether it is larger than the
+     * sum of the radii. Furthermore both objects should be allowed to collide.
+     *
+     * @param other The other object that it may collide with.
+     * @return True if object collides with given object, false otherwise.
+     */
+    public boolean collides(GameObject other) {
+        double dx = this.getX() - other.getX();
+        double dy = this.getY() - other.getY();
+        double reach = this.getRadius() + other.getRadius();
+        return dx * dx + dy * dy < reach * reach // Comparing squares saves taking a square root.
+                && this.canCollide() && other.canCollide();
+    }
+
+    /**
+     * @return Whether or not this object is immune from collisions.
+     */
+    public boolean canCollide() {
+        return this.store.getStepsUntilCollisionPossible(this.index) <= 0 && !isDestroyed();
+    }
+
+    /**
+     * Makes this object immune from collisions again, as it was when it was made.
+     */
+    protected void resetStepsUntilCollisionPossible() {
+        this.store.setStepsUntilCollisionPossible(this.index, this.getDefaultStepsUntilCollisionPossible());
+    }
+
+    /**
+     * @return The number of steps, or game ticks, for which this object is immune from collisions.
+     */
+    protected abstract int getDefaultStepsUntilCollisionPossible();
+}
@@ -0,0 +1,300 @@
+package rug.astro.model;
+
+/**
+ * An immutable copy of the parts of a game's state that change while the game runs, taken at the end of a game tick.
+ * The game updater publishes a new snapshot after every tick, and views read the latest one, so that a view always
+ * draws the state of one single tick, without ever having to lock the game or wait for the game updater.
+ *
+ * The stars and planets are not copied: a snapshot refers to the world it was taken in, which never changes, and in an
+ * open universe to the loaded chunks, which never change either. So views draw the world of the snapshot, even while
+ * the game updater replaces it, and should use the snapshot's world revision to tell whether the world has changed.
+ *
+ * The ships of other players are copied along with where they were in the snapshot before, so that views can draw them
+ * moving smoothly from one location to the next, however far apart their locations come in, such as over a network.
+ */
+public final class GameSnapshot {
+    private final double shipX;
+
+    private final double shipY;
+
+    private final double shipVelocityX;
+
+    private final double shipVelocityY;
+
+    private final double shipDirection;
+
+    private final boolean shipAccelerating;
+
+    private final boolean shipDestroyed;
+
+    private final int shipColor;
+
+    /**
+     * The planet the ship was on, or null if it was in space.
+     */
+    private final Planet currentPlanet;
+
+    private final int discovered;
+
+    private final int planetCount;
+
+    /**
+     * The stars and planets of a bounded world at the time of the snapshot.
+     */
+    private final World world;
+
+    /**
+     * Whether the world is an open universe, and its chunks that were loaded, or null if the world is bounded.
+     */
+    private final boolean openUniverse;
+
+    private final Chunk[] chunks;
+
+    /**
+     * The value of System.nanoTime() when the snapshot was taken.
+     */
+    private final long time;
+
+    /**
+     * The ships of the other players, and their state. The ships themselves are only kept to find them again in the
+     * next snapshot.
+     */
+    private final Spaceship[] otherShips;
+
+    private final double[] otherX;
+
+    private final double[] otherY;
+
+    /**
+     * Where each of the other ships was in the snapshot before, or where it is now if it wasn't in that snapshot.
+     */
+    private final double[] otherPreviousX;
+
+    private final double[] otherPreviousY;
+
+    private final double[] otherDirection;
+
+    private final boolean[] otherAccelerating;
+
+    private final boolean[] otherDestroyed;
+
+    private final int[] otherColor;
+
+    /**
+     * The arrays of a snapshot without other ships, which are shared, so that playing alone takes no extra garbage.
+     */
+    private static final Spaceship[] NO_SHIPS = new Spaceship[0];
+
+    private static final double[] NO_DOUBLES = new double[0];
+
+    private static final boolean[] NO_BOOLEANS = new boolean[0];
+
+    private static final int[] NO_INTS = new int[0];
+
+    /**
+     * Takes a snapshot of the current state of a game. This should be done by the thread that updates the game.
+     *
+     * @param game The game to take a snapshot of.
+     * @param previous The snapshot taken before this one, or null if there is none.
+     */
+    GameSnapshot(Game game, GameSnapshot previous) {
+        Spaceship ship = game.getSpaceship();
+        this.shipX = ship.getX();
+        this.shipY = ship.getY();
+        this.shipVelocityX = ship.getVelocityX();
+        this.shipVelocityY = ship.getVelocityY();
+        this.shipDirection = ship.getDirection();
+        this.shipAccelerating = ship.isAccelerating();
+        this.shipDestroyed = ship.isDestroyed();
+        this.shipColor = ship.getColor();
+        this.currentPlanet = game.getCurrentPlanet();
+        this.discovered = game.getDiscovered();
+        this.planetCount = game.getPlanets().size();
+        this.world = game.getWorld();
+        this.openUniverse = game.isOpenUniverse();
+        this.chunks = game.getLoadedChunks();
+        this.time = System.nanoTime();
+
+        int count = game.getOtherShips().size();
+        if (count == 0) {
+            this.otherShips = NO_SHIPS;
+            this.otherX = this.otherY = this.otherPreviousX = this.otherPreviousY = this.otherDirection = NO_DOUBLES;
+            this.otherAccelerating = this.otherDestroyed = NO_BOOLEANS;
+            this.otherColor = NO_INTS;
+            return;
+        }
+        this.otherShips = game.getOtherShips().toArray(NO_SHIPS);
+        this.otherX = new double[count];
+        this.otherY = new double[count];
+        this.otherPreviousX = new double[count];
+        this.otherPreviousY = new double[count];
+        this.otherDirection = new double[count];
+        this.otherAccelerating = new boolean[count];
+        this.otherDestroyed = new boolean[count];
+        this.otherColor = new int[count];
+        for (int i = 0; i < count; i++) {
+            Spaceship other = this.otherShips[i];
+            this.otherX[i] = other.getX();
+            this.otherY[i] = other.getY();
+            this.otherDirection[i] = other.getDirection();
+            this.otherAccelerating[i] = other.isAccelerating();
+            this.otherDestroyed[i] = other.isDestroyed();
+            this.otherColor[i] = other.getColor();
+            int before = previous == null ? -1 : previous.indexOf(other, i);
+            this.otherPreviousX[i] = before < 0 ? this.otherX[i] : previous.otherX[before];
+            this.otherPreviousY[i] = before < 0 ? this.otherY[i] : previous.otherY[before];
+        }
+    }
+
+    /**
+     * Finds one of the other ships in this snapshot. Ships keep their order, and new ships come last, so a ship is at
+     * the same index as in the next snapshot, or a little after it if ships before it have left.
+     *
+     * @param ship The ship to find.
+     * @param from The index to start looking at.
+     * @return The index of the ship, or -1 if it isn't in this snapshot.
+     */
+    private int indexOf(Spaceship ship, int from) {
+        for (int i = from; i < this.otherShips.length; i++) {
+            if (this.otherShips[i] == ship) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public double getShipX() {
+        return shipX;
+    }
+
+    public double getShipY() {
+        return shipY;
+    }
+
+    public double getShipVelocityX() {
+        return shipVelocityX;
+    }
+
+    public double getShipVelocityY() {
+        return shipVelocityY;
+    }
+
+    public double getShipDirection() {
+        return shipDirection;
+    }
+
+    public boolean isShipAccelerating() {
+        return shipAccelerating;
+    }
+
+    public boolean isShipDestroyed() {
+        return shipDestroyed;
+    }
+
+    /**
+     * @return The ship's color, as a packed 0xRRGGBB value.
+     */
+    public int getShipColor() {
+        return shipColor;
+    }
+
+    public Planet getCurrentPlanet() {
+        return currentPlanet;
+    }
+
+    public int getDiscovered() {
+        return discovered;
+    }
+
+    public int getPlanetCount() {
+        return planetCount;
+    }
+
+    /**
+     * @return The world revision of the game at the time of the snapshot.
+     */
+    public int getWorldRevision() {
+        return world.getRevision();
+    }
+
+    /**
+     * @return The stars and planets of the world at the time of the snapshot. In an open universe, this is empty, and
+     * they are in the chunks.
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * @return Whether the world is an open universe, rather than a classic, bounded world.
+     */
+    public boolean isOpenUniverse() {
+        return openUniverse;
+    }
+
+    /**
+     * @return The chunks of the open universe that were loaded, or null if the world is bounded. The chunks never
+     * change, so they can be drawn from any thread. The array must not be changed.
+     */
+    public Chunk[] getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return The value of System.nanoTime() when the snapshot was taken.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return The number of ships of other players.
+     */
+    public int getOtherShipCount() {
+        return otherShips.length;
+    }
+
+    /**
+     * @param i The index of one of the other ships.
+     * @return Its location on the x-axis.
+     */
+    public double getOtherShipX(int i) {
+        return otherX[i];
+    }
+
+    public double getOtherShipY(int i) {
+        return otherY[i];
+    }
+
+    /**
+     * @param i The index of one of the other ships.
+     * @return Its location on the x-axis in the snapshot before this one.
+     */
+    public double getOtherShipPreviousX(int i) {
+        return otherPreviousX[i];
+    }
+
+    public double getOtherShipPreviousY(int i) {
+        return otherPreviousY[i];
+    }
+
+    public double getOtherShipDirection(int i) {
+        return otherDirection[i];
+    }
+
+    public boolean isOtherShipAccelerating(int i) {
+        return otherAccelerating[i];
+    }
+
+    public boolean isOtherShipDestroyed(int i) {
+        return otherDestroyed[i];
+    }
+
+    /**
+     * @param i The index of one of the other ships.
+     * @return Its color, as a packed 0xRRGGBB value.
+     */
+    public int getOtherShipColor(int i) {
+        return otherColor[i];
+    }
+}
@@ -0,0 +1,68 @@
+package rug.astro.model;
+
+/**
+ * A planet that the ship can land on. Its name and description are not kept in the planet itself, but read from the
+ * catalog that the planet comes from when they are asked for, which is only when the ship lands. So a planet takes a
+ * few dozen bytes, however long its description is.
+ */
+public class Planet extends GameObject {
+    /**
+     * The catalog that the planet's name and description are in, and the index of its entry there.
+     */
+    private final PlanetCatalog catalog;
+
+    private final int entry;
+
+    private boolean visited;
+
+    public Planet(EntityStore store, double locationX, double locationY, double radius, PlanetCatalog catalog, int entry) {
+        super(store, locationX, locationY, 0, 0, radius);
+        this.catalog = catalog;
+        this.entry = entry;
+        this.destroyed = false;
+        this.visited = false;
+    }
+
+    public boolean isVisited() {
+        return visited;
+    }
+
+    public void setVisited(boolean visited) {
+        this.visited = visited;
+    }
+
+    /**
+     * @return The index of the planet's entry in its catalog. In a bounded world, this is also the index of the
+     * planet in the game's list of planets.
+     */
+    public int getEntry() {
+        return this.entry;
+    }
+
+    /**
+     * @return The planet's name, which is read from the catalog.
+     */
+    public String getName() {
+        return this.catalog.getName(this.entry);
+    }
+
+    /**
+     * @return The number of the picture that the view should use for this planet: the planet's entry in the catalog,
+     * counting from 1. The model only knows the number; loading the actual image is left to the view.
+     */
+    public int getImageId() {
+        return this.entry + 1;
+    }
+
+    /**
+     * @return The planet's description, which is read from the catalog.
+     */
+    public String getDescription() {
+        return this.catalog.getDescription(this.entry);
+    }
+
+    @Override
+    protected int getDefaultStepsUntilCollisionPossible() {
+        return 30;
+    }
+}
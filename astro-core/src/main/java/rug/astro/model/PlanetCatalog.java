@@ -0,0 +1,208 @@
+package rug.astro.model;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The catalog that the names and descriptions of planets come from. Entry i of the catalog belongs to the planet with
+ * picture i + 1.
+ *
+ * Catalogs are kept in a compact binary format, which is mapped into memory as a whole instead of being read: opening
+ * one takes the same short time no matter how many entries it has, the entries don't take up any heap until they are
+ * asked for, and the operating system keeps only the parts that are used in memory. The format is, in big-endian order:
+ *
+ * - the magic number MAGIC, the format version, the number of entries, and where the table of entries starts;
+ * - the entries, one after the other: the length of the name in bytes as an unsigned short, the name, and the
+ *   description, both in UTF-8;
+ * - the table of entries: where each entry starts, as an int.
+ *
+ * An entry ends where the next one starts, or where the table starts. Binary catalogs are made from JSON catalogs,
+ * which are easier to write by hand, by CatalogConverter. A JSON catalog can also be opened directly; it is then
+ * converted in memory, while it is read, without building a tree of JSON objects first.
+ *
+ * Catalogs never change, and their entries are read without moving the buffer's position, so any thread can read them.
+ * Descriptions are by far the largest part of an entry, and are only shown for the planet that the ship is on, so they
+ * are decoded when asked for, and only the last few are kept.
+ */
+public final class PlanetCatalog {
+    /**
+     * The first four bytes of a binary catalog: "ASPC" in ASCII.
+     */
+    static final int MAGIC = 0x41535043;
+
+    static final int VERSION = 1;
+
+    /**
+     * The size of the header: the magic number, the version, the number of entries and where the table starts.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * A catalog without any entries, which makes worlds without planets.
+     */
+    public static final PlanetCatalog EMPTY = new PlanetCatalog(PlanetCatalogBuilder.empty());
+
+    /**
+     * The number of decoded descriptions that are kept.
+     */
+    private static final int CACHED_DESCRIPTIONS = 8;
+
+    private final ByteBuffer buffer;
+
+    private final int size;
+
+    private final int tableStart;
+
+    /**
+     * The descriptions decoded last, under the index of their entry, least recently used first. Only a few are kept, so
+     * the catalog's use of the heap doesn't grow with the number of planets landed on.
+     */
+    private final Map<Integer, String> descriptions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return this.size() > CACHED_DESCRIPTIONS;
+        }
+    };
+
+    /**
+     * Constructs a catalog on top of a buffer holding a binary catalog. Only the header is checked, so that this takes
+     * no time; an entry that is damaged shows when it is read.
+     *
+     * @param buffer The binary catalog, from position zero up to its limit.
+     * @throws IllegalArgumentException If the buffer doesn't hold a binary catalog of a version that can be read.
+     */
+    PlanetCatalog(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("This is not a binary planet catalog.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Planet catalogs of version " + buffer.getInt(4) + " can't be read.");
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.tableStart = buffer.getInt(12);
+        if (this.size < 0 || this.tableStart < HEADER_SIZE || (long) this.tableStart + 4L * this.size != buffer.limit()) {
+            throw new IllegalArgumentException("The planet catalog is damaged: its table of entries doesn't fit.");
+        }
+    }
+
+    /**
+     * Opens a catalog. A binary catalog is mapped into memory; any other file is read as a JSON catalog, an array of
+     * objects that each have a name and a description.
+     *
+     * @param path The path of the catalog.
+     * @return The catalog.
+     * @throws IOException If the file can't be read, or isn't a catalog.
+     */
+    public static PlanetCatalog open(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            channel.read(magic, 0);
+            if (magic.position() == 4 && magic.getInt(0) == MAGIC) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("The planet catalog " + path + " is larger than 2 GB.");
+                }
+                try {
+                    return new PlanetCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Could not open the planet catalog " + path + ".", e);
+                }
+            }
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8)) {
+            return new PlanetCatalog(PlanetCatalogBuilder.fromJson(reader));
+        }
+    }
+
+    /**
+     * Converts a JSON catalog into a binary one.
+     *
+     * @param jsonPath The path of the JSON catalog.
+     * @param binaryPath The path to write the binary catalog to. An existing file is replaced.
+     * @return The number of entries in the catalog.
+     * @throws IOException If the JSON catalog can't be read, or the binary one can't be written.
+     */
+    public static int convert(String jsonPath, String binaryPath) throws IOException {
+        ByteBuffer catalog;
+        try (Reader reader = new InputStreamReader(new FileInputStream(jsonPath), StandardCharsets.UTF_8)) {
+            catalog = PlanetCatalogBuilder.fromJson(reader);
+        }
+        try (FileChannel channel = new FileOutputStream(binaryPath).getChannel()) {
+            while (catalog.hasRemaining()) {
+                channel.write(catalog);
+            }
+        }
+        return catalog.getInt(8);
+    }
+
+    /**
+     * @return The number of entries in the catalog.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param i The index of an entry.
+     * @return The name of the planet.
+     */
+    public String getName(int i) {
+        int start = this.getEntryStart(i);
+        return this.decode(start + 2, this.getNameLength(start));
+    }
+
+    /**
+     * @param i The index of an entry.
+     * @return The description of the planet.
+     */
+    public String getDescription(int i) {
+        synchronized (this.descriptions) {
+            String description = this.descriptions.get(i);
+            if (description == null) {
+                int start = this.getEntryStart(i);
+                int descriptionStart = start + 2 + this.getNameLength(start);
+                description = this.decode(descriptionStart, this.getEntryEnd(i) - descriptionStart);
+                this.descriptions.put(i, description);
+            }
+            return description;
+        }
+    }
+
+    private int getEntryStart(int i) {
+        if (i < 0 || i >= this.size) {
+            throw new IndexOutOfBoundsException("There is no entry " + i + " in a catalog of " + this.size + " entries.");
+        }
+        return this.buffer.getInt(this.tableStart + 4 * i);
+    }
+
+    private int getEntryEnd(int i) {
+        return i + 1 < this.size ? this.buffer.getInt(this.tableStart + 4 * (i + 1)) : this.tableStart;
+    }
+
+    private int getNameLength(int entryStart) {
+        return this.buffer.getShort(entryStart) & 0xFFFF;
+    }
+
+    /**
+     * Decodes text from the catalog, without touching the buffer's position.
+     *
+     * @param start Where the text starts.
+     * @param length The length of the text in bytes.
+     * @return The text.
+     */
+    private String decode(int start, int length) {
+        byte[] bytes = new byte[length];
+        this.buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,200 @@
+package rug.astro.model;
+
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import rug.astro.util.IntList;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds a binary planet catalog, in the format described by PlanetCatalog, from a JSON catalog. The JSON is streamed:
+ * every planet is written into the binary catalog as soon as its object has been read, so no tree of JSON objects is
+ * ever built.
+ */
+final class PlanetCatalogBuilder implements ContentHandler {
+    /**
+     * The binary catalog so far. The header is filled in when the catalog is finished.
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+    /**
+     * Where each entry starts.
+     */
+    private final IntList entryStarts = new IntList();
+
+    /**
+     * How deep the parser is: 1 inside the array of planets, 2 inside a planet's object, and more inside anything that
+     * a planet's object holds.
+     */
+    private int depth;
+
+    /**
+     * The key of the value that is being read, the name and the description of the planet that is being read.
+     */
+    private String key;
+
+    private String name;
+
+    private String description;
+
+    private PlanetCatalogBuilder() {
+        this.buffer.position(PlanetCatalog.HEADER_SIZE);
+    }
+
+    /**
+     * @return A binary catalog without any entries.
+     */
+    static ByteBuffer empty() {
+        return new PlanetCatalogBuilder().finish();
+    }
+
+    /**
+     * Reads a JSON catalog into a binary catalog. Planets without a name or a description get an empty one.
+     *
+     * @param reader The JSON catalog: an array of objects that each have a name and a description.
+     * @return The binary catalog, from position zero up to its limit.
+     * @throws IOException If the JSON catalog can't be read, or isn't a catalog.
+     */
+    static ByteBuffer fromJson(Reader reader) throws IOException {
+        PlanetCatalogBuilder builder = new PlanetCatalogBuilder();
+        try {
+            new JSONParser().parse(reader, builder);
+        } catch (ParseException e) {
+            throw new IOException("The planet catalog is not valid JSON: " + e, e);
+        }
+        return builder.finish();
+    }
+
+    /**
+     * Writes the table of entries after the entries, fills in the header, and makes the catalog ready to be read.
+     */
+    private ByteBuffer finish() {
+        int tableStart = this.buffer.position();
+        this.ensureRoom(4 * this.entryStarts.size());
+        for (int i = 0; i < this.entryStarts.size(); i++) {
+            this.buffer.putInt(this.entryStarts.get(i));
+        }
+        this.buffer.putInt(0, PlanetCatalog.MAGIC);
+        this.buffer.putInt(4, PlanetCatalog.VERSION);
+        this.buffer.putInt(8, this.entryStarts.size());
+        this.buffer.putInt(12, tableStart);
+        this.buffer.flip();
+        return this.buffer;
+    }
+
+    /**
+     * Writes the planet that was just read as the next entry.
+     */
+    private void writeEntry() throws IOException {
+        byte[] name = this.name == null ? new byte[0] : this.name.getBytes(StandardCharsets.UTF_8);
+        byte[] description = this.description == null ? new byte[0] : this.description.getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IOException("The name of planet " + this.entryStarts.size() + " is longer than 65535 bytes.");
+        }
+        this.ensureRoom(2 + name.length + description.length);
+        this.entryStarts.add(this.buffer.position());
+        this.buffer.putShort((short) name.length);
+        this.buffer.put(name);
+        this.buffer.put(description);
+    }
+
+    /**
+     * Makes sure that the given number of bytes can be written into the buffer, making it larger if needed.
+     */
+    private void ensureRoom(int bytes) {
+        if (this.buffer.remaining() < bytes) {
+            long capacity = Math.max(2L * this.buffer.capacity(), (long) this.buffer.position() + bytes);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("A planet catalog can't be larger than 2 GB.");
+            }
+            ByteBuffer larger = ByteBuffer.allocate((int) capacity);
+            this.buffer.flip();
+            larger.put(this.buffer);
+            this.buffer = larger;
+        }
+    }
+
+    @Override
+    public void startJSON() {
+    }
+
+    @Override
+    public void endJSON() {
+    }
+
+    @Override
+    public boolean startArray() throws ParseException {
+        if (this.depth == 0) {
+            this.depth = 1;
+            return true;
+        }
+        if (this.depth == 1) {
+            throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, "The planets must be objects, not arrays.");
+        }
+        this.depth++;
+        return true;
+    }
+
+    @Override
+    public boolean endArray() {
+        this.depth--;
+        return true;
+    }
+
+    @Override
+    public boolean startObject() throws ParseException {
+        if (this.depth == 0) {
+            throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, "A planet catalog must be an array.");
+        }
+        if (this.depth == 1) {
+            this.name = null;
+            this.description = null;
+        }
+        this.depth++;
+        return true;
+    }
+
+    @Override
+    public boolean endObject() throws IOException {
+        this.depth--;
+        if (this.depth == 1) {
+            this.writeEntry();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+        if (this.depth == 2) {
+            this.key = key;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+        if (this.depth == 2) {
+            this.key = null;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean primitive(Object value) throws ParseException {
+        if (this.depth < 2) {
+            throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN, "The planets must be objects.");
+        }
+        if (this.depth == 2 && value != null) {
+            if ("name".equals(this.key)) {
+                this.name = value.toString();
+            } else if ("description".equals(this.key)) {
+                this.description = value.toString();
+            }
+        }
+        return true;
+    }
+}
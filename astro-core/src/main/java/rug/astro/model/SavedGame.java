@@ -0,0 +1,345 @@
+package rug.astro.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * An immutable copy of everything that is needed to carry on with a game later: the seed and kind of the world, the
+ * ship's location, velocity, direction, color and whether it is destroyed, the planets that have been visited, the
+ * number discovered, and the planet the ship is on.
+ *
+ * In a bounded world, every planet is saved with its location, its entry in the catalog and whether it was visited, so
+ * that a saved world comes back the same even if the way worlds are generated changes. An open universe has no end of
+ * planets, but its chunks always come out the same from the world's seed, so only which planets have been visited is
+ * saved, per chunk.
+ *
+ * Taking the copy only reads some fields and copies a few arrays, so the game updater can do it between two ticks
+ * without a hitch, and leave writing it to another thread. A saved game is a compact binary stream, in big-endian order:
+ * MAGIC and VERSION, a byte of flags, the world's seed, the number of planets discovered, the ship's state, the location
+ * of the planet the ship is on, and then either the planets of a bounded world or the visited planets of the chunks of
+ * an open universe.
+ */
+public final class SavedGame {
+    /**
+     * The first bytes of every saved game: "ASSV", for Astro save.
+     */
+    static final int MAGIC = 0x41535356;
+
+    /**
+     * The version of the format of saved games.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The flags that are saved in a byte.
+     */
+    private static final int OPEN_UNIVERSE_FLAG = 1;
+
+    private static final int SHIP_DESTROYED_FLAG = 1 << 1;
+
+    private static final int ON_PLANET_FLAG = 1 << 2;
+
+    private final long worldSeed;
+
+    private final boolean openUniverse;
+
+    private final int discovered;
+
+    private final double shipX;
+
+    private final double shipY;
+
+    private final double shipVelocityX;
+
+    private final double shipVelocityY;
+
+    private final double shipDirection;
+
+    private final int shipColor;
+
+    private final boolean shipDestroyed;
+
+    /**
+     * Whether the ship is on a planet, and the location of that planet. Planets never share a location.
+     */
+    private final boolean onPlanet;
+
+    private final double currentPlanetX;
+
+    private final double currentPlanetY;
+
+    /**
+     * The planets of a bounded world: their entries in the catalog, their locations, and which of them were visited.
+     * These are empty in an open universe.
+     */
+    private final int[] planetEntries;
+
+    private final double[] planetX;
+
+    private final double[] planetY;
+
+    private final BitSet planetsVisited;
+
+    /**
+     * The chunks of an open universe with visited planets in them, and the indices of those planets in their chunks.
+     * These are empty in a bounded world.
+     */
+    private final long[] visitedChunks;
+
+    private final BitSet[] visitedInChunks;
+
+    /**
+     * Takes a copy of the state of a game. This should be done by the thread that updates the game, or while the game
+     * is not running.
+     *
+     * @param game The game to save.
+     */
+    SavedGame(Game game) {
+        Spaceship ship = game.getSpaceship();
+        this.worldSeed = game.getWorldSeed();
+        this.openUniverse = game.isOpenUniverse();
+        this.discovered = game.getDiscovered();
+        this.shipX = ship.getX();
+        this.shipY = ship.getY();
+        this.shipVelocityX = ship.getVelocityX();
+        this.shipVelocityY = ship.getVelocityY();
+        this.shipDirection = ship.getDirection();
+        this.shipColor = ship.getColor();
+        this.shipDestroyed = ship.isDestroyed();
+        Planet currentPlanet = game.getCurrentPlanet();
+        this.onPlanet = currentPlanet != null;
+        this.currentPlanetX = this.onPlanet ? currentPlanet.getX() : 0.0;
+        this.currentPlanetY = this.onPlanet ? currentPlanet.getY() : 0.0;
+
+        if (this.openUniverse) {
+            this.planetEntries = new int[0];
+            this.planetX = new double[0];
+            this.planetY = new double[0];
+            this.planetsVisited = new BitSet();
+            Map<Long, BitSet> visited = game.getVisitedChunks();
+            this.visitedChunks = new long[visited.size()];
+            this.visitedInChunks = new BitSet[visited.size()];
+            int i = 0;
+            for (Map.Entry<Long, BitSet> entry : visited.entrySet()) {
+                this.visitedChunks[i] = entry.getKey();
+                this.visitedInChunks[i] = entry.getValue();
+                i++;
+            }
+        } else {
+            int count = game.getPlanets().size();
+            this.planetEntries = new int[count];
+            this.planetX = new double[count];
+            this.planetY = new double[count];
+            this.planetsVisited = new BitSet(count);
+            int i = 0;
+            for (Planet planet : game.getPlanets()) {
+                this.planetEntries[i] = planet.getEntry();
+                this.planetX[i] = planet.getX();
+                this.planetY[i] = planet.getY();
+                this.planetsVisited.set(i, planet.isVisited());
+                i++;
+            }
+            this.visitedChunks = new long[0];
+            this.visitedInChunks = new BitSet[0];
+        }
+    }
+
+    /**
+     * Reads a saved game from a stream, as written by write().
+     */
+    private SavedGame(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("This is not a saved game.");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Saved games of version " + version + " can't be read.");
+        }
+        int flags = in.readUnsignedByte();
+        this.openUniverse = (flags & OPEN_UNIVERSE_FLAG) != 0;
+        this.shipDestroyed = (flags & SHIP_DESTROYED_FLAG) != 0;
+        this.onPlanet = (flags & ON_PLANET_FLAG) != 0;
+        this.worldSeed = in.readLong();
+        this.discovered = in.readInt();
+        this.shipX = in.readDouble();
+        this.shipY = in.readDouble();
+        this.shipVelocityX = in.readDouble();
+        this.shipVelocityY = in.readDouble();
+        this.shipDirection = in.readDouble();
+        this.shipColor = in.readInt();
+        this.currentPlanetX = in.readDouble();
+        this.currentPlanetY = in.readDouble();
+
+        int count = readCount(in);
+        this.planetEntries = new int[count];
+        this.planetX = new double[count];
+        this.planetY = new double[count];
+        for (int i = 0; i < count; i++) {
+            this.planetEntries[i] = in.readInt();
+            this.planetX[i] = in.readDouble();
+            this.planetY[i] = in.readDouble();
+        }
+        this.planetsVisited = readBits(in);
+
+        int chunks = readCount(in);
+        this.visitedChunks = new long[chunks];
+        this.visitedInChunks = new BitSet[chunks];
+        for (int i = 0; i < chunks; i++) {
+            this.visitedChunks[i] = in.readLong();
+            this.visitedInChunks[i] = readBits(in);
+        }
+    }
+
+    /**
+     * Reads a saved game.
+     *
+     * @param in The stream to read from. It is not closed.
+     * @return The saved game.
+     * @throws IOException If the stream can't be read, or doesn't hold a saved game of a version that can be read.
+     */
+    public static SavedGame read(InputStream in) throws IOException {
+        return new SavedGame(new DataInputStream(new BufferedInputStream(in)));
+    }
+
+    /**
+     * Writes the saved game.
+     *
+     * @param out The stream to write to. It is flushed, but not closed.
+     * @throws IOException If the stream can't be written to.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeByte((this.openUniverse ? OPEN_UNIVERSE_FLAG : 0)
+                | (this.shipDestroyed ? SHIP_DESTROYED_FLAG : 0)
+                | (this.onPlanet ? ON_PLANET_FLAG : 0));
+        data.writeLong(this.worldSeed);
+        data.writeInt(this.discovered);
+        data.writeDouble(this.shipX);
+        data.writeDouble(this.shipY);
+        data.writeDouble(this.shipVelocityX);
+        data.writeDouble(this.shipVelocityY);
+        data.writeDouble(this.shipDirection);
+        data.writeInt(this.shipColor);
+        data.writeDouble(this.currentPlanetX);
+        data.writeDouble(this.currentPlanetY);
+
+        data.writeInt(this.planetEntries.length);
+        for (int i = 0; i < this.planetEntries.length; i++) {
+            data.writeInt(this.planetEntries[i]);
+            data.writeDouble(this.planetX[i]);
+            data.writeDouble(this.planetY[i]);
+        }
+        writeBits(data, this.planetsVisited);
+
+        data.writeInt(this.visitedChunks.length);
+        for (int i = 0; i < this.visitedChunks.length; i++) {
+            data.writeLong(this.visitedChunks[i]);
+            writeBits(data, this.visitedInChunks[i]);
+        }
+        data.flush();
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("The saved game is damaged: it has a negative count.");
+        }
+        return count;
+    }
+
+    private static BitSet readBits(DataInputStream in) throws IOException {
+        long[] words = new long[readCount(in)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private static void writeBits(DataOutputStream out, BitSet bits) throws IOException {
+        long[] words = bits.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * @return The seed of the saved world.
+     */
+    public long getWorldSeed() {
+        return this.worldSeed;
+    }
+
+    /**
+     * @return Whether the saved world is an open universe.
+     */
+    public boolean isOpenUniverse() {
+        return this.openUniverse;
+    }
+
+    int getDiscovered() {
+        return this.discovered;
+    }
+
+    /**
+     * Puts the ship back the way it was saved.
+     *
+     * @param ship The ship of the game that is restored.
+     */
+    void restoreShip(Spaceship ship) {
+        ship.setLocation(this.shipX, this.shipY);
+        ship.setVelocity(this.shipVelocityX, this.shipVelocityY);
+        ship.setDirection(this.shipDirection);
+        ship.setColor(this.shipColor);
+        ship.setDestroyed(this.shipDestroyed);
+    }
+
+    /**
+     * @param planet A planet of the restored game.
+     * @return Whether the ship was on that planet when the game was saved.
+     */
+    boolean isCurrentPlanet(Planet planet) {
+        return this.onPlanet && planet.getX() == this.currentPlanetX && planet.getY() == this.currentPlanetY;
+    }
+
+    int getPlanetCount() {
+        return this.planetEntries.length;
+    }
+
+    int getPlanetEntry(int i) {
+        return this.planetEntries[i];
+    }
+
+    double getPlanetX(int i) {
+        return this.planetX[i];
+    }
+
+    double getPlanetY(int i) {
+        return this.planetY[i];
+    }
+
+    boolean isPlanetVisited(int i) {
+        return this.planetsVisited.get(i);
+    }
+
+    int getVisitedChunkCount() {
+        return this.visitedChunks.length;
+    }
+
+    long getVisitedChunk(int i) {
+        return this.visitedChunks[i];
+    }
+
+    BitSet getVisitedInChunk(int i) {
+        return (BitSet) this.visitedInChunks[i].clone();
+    }
+}
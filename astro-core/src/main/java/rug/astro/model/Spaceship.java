@@ -0,0 +1,328 @@
+package rug.astro.model;
+
+public class Spaceship extends GameObject {
+    /**
+     * The maximum speed that the spaceship is allowed to reach before extra acceleration will not do anything.
+     */
+    public static final double MAXIMUM_SPEED = 10.0;
+
+    /**
+     * The coefficient to multiply the ship's velocity by every tick, so that it slows down.
+     */
+    public static final double VELOCITY_DAMPENING_COEFFICIENT = 0.99;
+
+    /**
+     * The rate at which the spaceship will speed up, per axis, per tick.
+     */
+    public static final double ACCELERATION_PER_TICK = 0.4;
+
+    /**
+     * The amount in radians that the spaceship rotates per tick, if the player is rotating it.
+     */
+    public static final double ROTATION_PER_TICK = 0.04 * Math.PI;
+
+    /**
+     * Default color for the ship, as a packed 0xRRGGBB value.
+     */
+    public static final int DEFAULT_COLOR = 0x000000;
+
+    /**
+     * The location that the ship is put at when a new game starts: half a window away from the top left corner of
+     * space, so that the ship starts out with the corner in view.
+     */
+    public static final double START_LOCATION_X = 400.0;
+
+    public static final double START_LOCATION_Y = 400.0;
+
+    /**
+     * The bits for the keys in a key state, as returned by getKeys().
+     */
+    public static final int ACCELERATE_KEY = 1;
+
+    public static final int TURN_LEFT_KEY = 1 << 1;
+
+    public static final int TURN_RIGHT_KEY = 1 << 2;
+
+    public static final int DEPARTURE_KEY = 1 << 3;
+
+    /** Direction the spaceship is pointed in. */
+    private double direction;
+
+    /**
+     * The keys that are held down, as a combination of the key bits. Only the game updater thread changes these: input
+     * from other threads reaches the ship through the game's input queue, which the game updater drains every tick.
+     */
+    private int heldKeys;
+
+    /**
+     * The keys that were pressed since the last tick, even if they have been released again, so that a short tap isn't
+     * lost in between two ticks.
+     */
+    private int tappedKeys;
+
+    /**
+     * The keys that are applied in the current tick. These are the held and tapped keys, as they were when the tick
+     * applied the controls, so that one tick always sees one set of keys.
+     */
+    private int keys;
+
+    /**
+     * Color of the ship, as a packed 0xRRGGBB value. The model keeps it as a plain number so that it doesn't depend on
+     * AWT; the view turns it into an actual color.
+     */
+    private int color;
+
+    /**
+     * The planet that the ship is on, or null if it is in space.
+     */
+    private Planet planet;
+
+    /**
+     * Constructs a new spaceship with default values. It starts in the middle of the window, facing directly upwards,
+     * with no velocity.
+     *
+     * @param store The store that will hold the ship's state.
+     */
+    Spaceship(EntityStore store) {
+        super(store, Game.SPACESIZE / 2.0, Game.SPACESIZE / 2.0, 0, 0, 15);
+        color = DEFAULT_COLOR;
+        this.reset();
+    }
+
+    /**
+     * @return returns the color of the ship, as a packed 0xRRGGBB value
+     */
+    public int getColor() {
+        return color;
+    }
+
+    /**
+     * Setter for color
+     * @param color The new color, as a packed 0xRRGGBB value.
+     */
+    public void setColor(int color) {
+        this.color = color;
+    }
+
+    /**
+     * Resets all parameters to default values, so a new game can be started.
+     */
+    public void reset() {
+        this.setLocation(START_LOCATION_X, START_LOCATION_Y);
+        this.setVelocity(0, 0);
+        this.direction = 0;
+        this.heldKeys = 0;
+        this.tappedKeys = 0;
+        this.keys = 0;
+        this.planet = null;
+        this.destroyed = false;
+        this.resetStepsUntilCollisionPossible(); // So that every world starts out the same, new game or not.
+    }
+
+    /**
+     * @return The planet that the ship is on, or null if it is in space.
+     */
+    public Planet getPlanet() {
+        return this.planet;
+    }
+
+    /**
+     * Lands the ship on a planet, or takes off from it.
+     *
+     * @param planet The planet that the ship is on, or null if it is in space.
+     */
+    public void setPlanet(Planet planet) {
+        this.planet = planet;
+    }
+
+    /**
+     * Puts the ship where a game server says it is. A game client doesn't run the physics of ships, but only shows
+     * them as they are on the server, so this sets what the physics would otherwise work out. The server doesn't send
+     * velocities, so the velocity is worked out from how far the ship moved since the server last said where it was,
+     * which lets views move the ship along between frames, as they do in a game that runs here.
+     *
+     * @param x The location on the x-axis.
+     * @param y The location on the y-axis.
+     * @param direction The direction, in radians.
+     * @param accelerating Whether the ship is accelerating.
+     * @param ticks The number of ticks since the server last said where the ship was, or 0 if it never did, such as
+     *              when the ship has just joined, or a new world has started.
+     */
+    public void setRemoteState(double x, double y, double direction, boolean accelerating, int ticks) {
+        if (ticks > 0) {
+            this.setVelocity((x - this.getX()) / ticks, (y - this.getY()) / ticks);
+        } else {
+            this.setVelocity(0, 0);
+        }
+        this.setLocation(x, y);
+        this.direction = direction;
+        this.keys = accelerating ? ACCELERATE_KEY : 0;
+    }
+
+    /**
+     * @return Whether the departure key is pressed in the current tick.
+     */
+    public boolean isDepartureKeyPressed() {
+        return (this.keys & DEPARTURE_KEY) != 0;
+    }
+
+    public void setDepartureKeyPressed(boolean b) {
+        this.setKeyPressed(DEPARTURE_KEY, b);
+    }
+
+    /**
+     *	Sets the left field to the specified value.
+     *
+     *	@param b new value of the field.
+     */
+    public void setTurnLeftKeyPressed(boolean b) {
+        this.setKeyPressed(TURN_LEFT_KEY, b);
+    }
+
+    /**
+     *	Sets the right field to the specified value.
+     *
+     *	@param b new value of the field.
+     */
+    public void setTurnRightKeyPressed(boolean b) {
+        this.setKeyPressed(TURN_RIGHT_KEY, b);
+    }
+
+    /**
+     *	Sets the up field to the specified value.
+     *
+     *	@param b new value of the field.
+     */
+    public void setAccelerateKeyPressed(boolean b) {
+        this.setKeyPressed(ACCELERATE_KEY, b);
+    }
+
+    /**
+     * Holds a key down or lets go of it.
+     *
+     * @param key The key bit, such as ACCELERATE_KEY.
+     * @param pressed Whether the key is held down.
+     */
+    private void setKeyPressed(int key, boolean pressed) {
+        this.heldKeys = pressed ? this.heldKeys | key : this.heldKeys & ~key;
+    }
+
+    /**
+     * @return The keys that are pressed in the current tick, as a combination of the key bits, such as ACCELERATE_KEY.
+     */
+    public int getKeys() {
+        return this.keys;
+    }
+
+    /**
+     * Presses or releases all keys at once. The keys take effect in the next tick.
+     *
+     * @param keys The keys that are pressed, as a combination of the key bits, such as ACCELERATE_KEY.
+     */
+    public void setKeys(int keys) {
+        this.heldKeys = keys;
+    }
+
+    /**
+     * Takes in a key event from the input queue: the keys held down after it replace the held keys, and a key that it
+     * pressed counts for the next tick, even if it is released again before then.
+     *
+     * @param heldKeys The keys held down after the event.
+     * @param pressedKey The key that the event pressed, or 0 if it released one.
+     */
+    public void applyKeyEvent(int heldKeys, int pressedKey) {
+        this.heldKeys = heldKeys;
+        this.tappedKeys |= pressedKey;
+    }
+
+    /**
+     * Defines how the spaceship moves. This includes rotating the ship if the user is pressing the key to turn the
+     * ship, or accelerating the ship, or firing the weapon.
+     */
+    @Override
+    public void nextStep() {
+        super.nextStep();
+        this.applyControls();
+    }
+
+    /**
+     * Does the part of a step that is particular to the spaceship: turning, accelerating and slowing down. This is meant
+     * to be called right after the ship has moved, which is either in nextStep() or in EntityStore.stepAll().
+     *
+     * This is also where the keys for the tick are read, so it must come before anything else in a tick that depends on
+     * the keys.
+     */
+    public void applyControls() {
+        this.keys = this.heldKeys | this.tappedKeys;
+        this.tappedKeys = 0;
+        this.attemptToTurn();
+        this.attemptToAccelerate();
+        this.dampenVelocity();
+    }
+
+    /**
+     * Dampens the ship's velocity, i.e. slows it down slightly, so that you don't drift endlessly across the screen.
+     */
+    private void dampenVelocity() {
+        this.setVelocity(this.getVelocityX() * VELOCITY_DAMPENING_COEFFICIENT, this.getVelocityY() * VELOCITY_DAMPENING_COEFFICIENT);
+    }
+
+    /**
+     * Attempts to accelerate the spaceship. If all of the criteria for accelerating the ship are met, then it will
+     * accelerate. For a ship to be able to accelerate, the user must be pressing the key to do so, and the ship must
+     * have enough energy, and finally, the ship must not exceed its maximum set speed.
+     */
+    private void attemptToAccelerate() {
+        if ((this.keys & ACCELERATE_KEY) != 0 && this.getSpeed() < MAXIMUM_SPEED) {
+            this.setVelocity(
+                    this.getVelocityX() + Math.sin(direction) * ACCELERATION_PER_TICK,
+                    this.getVelocityY() - Math.cos(direction) * ACCELERATION_PER_TICK // Note that we subtract here, because the y-axis on the screen is flipped, compared to normal math.
+            );
+        }
+    }
+
+    /**
+     * Attempts to turn the spaceship. If all of the criteria for turning the ship are met, then it will rotate.
+     * For a ship to be able to rotate, the user must be pressing the key to turn it either left or right, and the ship
+     * must have enough energy to rotate.
+     */
+    private void attemptToTurn() {
+        if ((this.keys & TURN_LEFT_KEY) != 0) {
+            this.direction -= ROTATION_PER_TICK;
+        }
+        if ((this.keys & TURN_RIGHT_KEY) != 0) {
+            this.direction += ROTATION_PER_TICK;
+        }
+    }
+
+    /**
+     * @return The number of steps, or game ticks, for which this object is immune from collisions.
+     */
+    @Override
+    protected int getDefaultStepsUntilCollisionPossible() {
+        return 10;
+    }
+
+    /**
+     * @return the direction.
+     */
+    public double getDirection() {
+        return this.direction;
+    }
+
+    /**
+     * Points the ship in a direction, such as when a saved game is restored.
+     *
+     * @param direction The direction, in radians.
+     */
+    void setDirection(double direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * @return true if acceleration button is pressed in the current tick, false otherwise.
+     */
+    public boolean isAccelerating()	{
+        return (this.keys & ACCELERATE_KEY) != 0;
+    }
+}
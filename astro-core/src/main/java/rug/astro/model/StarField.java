@@ -0,0 +1,101 @@
+package rug.astro.model;
+
+import java.util.Arrays;
+
+/**
+ * The stars of a world, or of a chunk of an open universe, packed into primitive arrays: a float for each coordinate
+ * and a byte for the angle that the star is turned by. That is 9 bytes per star, instead of an object per star, so even
+ * tens of millions of stars fit in a few hundred megabytes, and walking over them reads memory that lies together.
+ *
+ * Stars are only added while a world is generated; views get this read-only side of it. Stars are identified by their
+ * index, which is also their id in the game's star grid.
+ *
+ * The locations are kept relative to an origin, so that they stay precise in chunks far out in an open universe, where
+ * a float on its own would be off by whole pixels.
+ */
+public final class StarField {
+    private final double originX;
+
+    private final double originY;
+
+    /**
+     * The locations of the stars, relative to the origin.
+     */
+    private float[] x;
+
+    private float[] y;
+
+    /**
+     * The angle of each star, in whole degrees. Stars have four-fold symmetry, so 0 up to 90 degrees is all it takes.
+     */
+    private byte[] angle;
+
+    private int size;
+
+    /**
+     * Constructs a new, empty star field.
+     *
+     * @param originX The location that the stars' locations are kept relative to, on the x-axis.
+     * @param originY The same, on the y-axis.
+     * @param capacity The number of stars that fit before the arrays have to grow.
+     */
+    StarField(double originX, double originY, int capacity) {
+        this.originX = originX;
+        this.originY = originY;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.angle = new byte[capacity];
+    }
+
+    /**
+     * Adds a star.
+     *
+     * @param x The location of the star on the x-axis.
+     * @param y The location of the star on the y-axis.
+     * @param angle The angle that the star is turned by, in degrees, from 0 up to 90.
+     * @return The index of the star.
+     */
+    int add(double x, double y, int angle) {
+        if (this.size == this.x.length) {
+            int capacity = Math.max(8, this.size * 2);
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.angle = Arrays.copyOf(this.angle, capacity);
+        }
+        this.x[this.size] = (float) (x - this.originX);
+        this.y[this.size] = (float) (y - this.originY);
+        this.angle[this.size] = (byte) angle;
+        return this.size++;
+    }
+
+    /**
+     * @return The number of stars.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param i The index of a star.
+     * @return The location of the star on the x-axis.
+     */
+    public double getX(int i) {
+        return this.originX + this.x[i];
+    }
+
+    /**
+     * @param i The index of a star.
+     * @return The location of the star on the y-axis.
+     */
+    public double getY(int i) {
+        return this.originY + this.y[i];
+    }
+
+    /**
+     * @param i The index of a star.
+     * @return The angle that the star is turned by, in degrees.
+     */
+    public int getAngle(int i) {
+        return this.angle[i];
+    }
+}
@@ -0,0 +1,112 @@
+package rug.astro.model;
+
+import rug.astro.util.SpatialHash;
+
+import java.util.Collection;
+
+/**
+ * The stars and planets of a bounded world, as views see them. A new world is made every time the stars or planets are
+ * replaced, and snapshots refer to the world they were taken in, so views can draw it from another thread while the
+ * game updater replaces it, as it does when a new game is started, or when a server sends a new world.
+ *
+ * The contents never change once the world is made. Planets don't move, which is why their locations are copied here,
+ * as they are in a chunk; whether a planet has been visited is kept by the planet itself. An open universe keeps its
+ * stars and planets in its chunks, so its world is empty.
+ */
+public final class World {
+    /**
+     * The width and height of the cells of the grids that planets and stars are kept in.
+     */
+    private static final double GRID_CELL_SIZE = 256;
+
+    private final int revision;
+
+    private final StarField stars;
+
+    /**
+     * The stars bucketed by location. The id of a star in this grid is its index in the star field.
+     */
+    private final SpatialHash starGrid = new SpatialHash(GRID_CELL_SIZE);
+
+    private final Planet[] planets;
+
+    private final double[] planetX;
+
+    private final double[] planetY;
+
+    /**
+     * The planets bucketed by location. The id of a planet in this grid is its index in this world.
+     */
+    private final SpatialHash planetGrid = new SpatialHash(GRID_CELL_SIZE);
+
+    /**
+     * Makes a world out of stars and planets. This should be done by the thread that updates the game.
+     *
+     * @param revision The world revision of the game.
+     * @param stars The stars, which must not be added to anymore.
+     * @param planets The planets. They are copied, so the collection can change afterwards.
+     */
+    World(int revision, StarField stars, Collection<Planet> planets) {
+        this.revision = revision;
+        this.stars = stars;
+        for (int i = 0; i < stars.size(); i++) {
+            this.starGrid.insert(i, stars.getX(i), stars.getY(i));
+        }
+        this.planets = planets.toArray(new Planet[0]);
+        this.planetX = new double[this.planets.length];
+        this.planetY = new double[this.planets.length];
+        for (int i = 0; i < this.planets.length; i++) {
+            this.planetX[i] = this.planets[i].getX();
+            this.planetY[i] = this.planets[i].getY();
+            this.planetGrid.insert(i, this.planetX[i], this.planetY[i]);
+        }
+    }
+
+    /**
+     * @return The world revision of the game that this world was made in.
+     */
+    public int getRevision() {
+        return this.revision;
+    }
+
+    /**
+     * @return The stars of the world.
+     */
+    public StarField getStars() {
+        return this.stars;
+    }
+
+    /**
+     * @return The stars bucketed by location, under their index in getStars(). The grid must not be changed.
+     */
+    public SpatialHash getStarGrid() {
+        return this.starGrid;
+    }
+
+    public int getPlanetCount() {
+        return this.planets.length;
+    }
+
+    /**
+     * @param i The index of a planet in this world. In a bounded world, this is also the planet's entry in the catalog.
+     * @return The planet.
+     */
+    public Planet getPlanet(int i) {
+        return this.planets[i];
+    }
+
+    public double getPlanetX(int i) {
+        return this.planetX[i];
+    }
+
+    public double getPlanetY(int i) {
+        return this.planetY[i];
+    }
+
+    /**
+     * @return The planets bucketed by location, under their index in this world. The grid must not be changed.
+     */
+    public SpatialHash getPlanetGrid() {
+        return this.planetGrid;
+    }
+}
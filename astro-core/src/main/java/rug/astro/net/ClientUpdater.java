@@ -0,0 +1,205 @@
+package rug.astro.net;
+
+import rug.astro.control.GameUpdater;
+import rug.astro.control.InputQueue;
+import rug.astro.model.Game;
+import rug.astro.model.Planet;
+import rug.astro.model.Spaceship;
+import rug.astro.util.IntList;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a game that is connected to a game on a server, in place of a game updater. It doesn't run any physics: it sends
+ * the player's keys to the server, and makes the game's ships and planets look the way the server says they are, every
+ * time the server sends a frame. The game's own ship is the player's ship on the server, and the ships of the other
+ * players are the game's other ships. The world is generated from the seed that the server sends, so it comes out the
+ * same as on the server.
+ *
+ * After every frame, a snapshot is published, so the views draw the game like any other. Frames come in at most once
+ * per tick, and the views draw the other ships moving smoothly from where they were in the frame before to where they
+ * are in the last one. The player's own ship gets the velocity that it moved at between those frames, so it is drawn
+ * moving along between frames like the ship of a game that runs here.
+ */
+public class ClientUpdater implements Runnable {
+    /**
+     * The refresh rate of the display, in frames per second, as in the game updater. The connection is polled as often.
+     */
+    private static final int DISPLAY_FPS = 144;
+
+    private static final long NANOSECONDS_PER_DISPLAY_FRAME = TimeUnit.SECONDS.toNanos(1) / DISPLAY_FPS;
+
+    /**
+     * How long it takes without frames before the ships are taken to stand still. The server sends a frame in every
+     * tick in which anything changed, so this is a tick, and half a tick more for frames that come in late.
+     */
+    private static final long NANOSECONDS_UNTIL_STOPPED = (long) (1.5 * GameUpdater.MILLISECONDS_PER_TICK * 1_000_000);
+
+    private final Game game;
+
+    private final GameClient client;
+
+    /**
+     * The number of the welcome that the game's world was generated for.
+     */
+    private int welcome;
+
+    /**
+     * The tick of the frame that the game was last made to look like, or -1 if it hasn't been since the world was
+     * generated.
+     */
+    private int tick = -1;
+
+    /**
+     * The planets of the world, under their entries in the catalog.
+     */
+    private Planet[] planets = new Planet[0];
+
+    private final InputQueue.Handler inputHandler = this::sendKeyEvent;
+
+    /**
+     * The error that sending keys ran into while the input queue was drained, if any.
+     */
+    private IOException sendFailure;
+
+    /**
+     * Constructs a new client updater.
+     *
+     * @param game The game that shows the game on the server.
+     * @param client The client that is connected to the server.
+     */
+    public ClientUpdater(Game game, GameClient client) {
+        this.game = game;
+        this.client = client;
+    }
+
+    /**
+     * The client's game loop. It runs until the game is quit, or the connection to the server is lost.
+     */
+    @Override
+    public void run() {
+        long lastFrameTime = System.nanoTime();
+        long nextDisplayFrame = lastFrameTime;
+        boolean stopped = false;
+        while (this.game.isRunning() && !Thread.currentThread().isInterrupted()) {
+            long currentTime = System.nanoTime();
+            try {
+                // The welcome may have been taken in before this updater started, by whoever connected the client.
+                if (this.client.poll() > 0 || this.client.getWelcomes() != this.welcome) {
+                    this.mirror();
+                    this.game.publishSnapshot();
+                    lastFrameTime = currentTime;
+                    stopped = false;
+                } else if (!stopped && currentTime - lastFrameTime > NANOSECONDS_UNTIL_STOPPED) {
+                    this.stopShips(); // Otherwise, the views would keep drawing them ahead of where they stopped.
+                    this.game.publishSnapshot();
+                    stopped = true;
+                }
+                this.game.getInputQueue().drain(this.inputHandler);
+                if (this.sendFailure != null) {
+                    throw this.sendFailure;
+                }
+            } catch (IOException e) {
+                System.err.println("Lost the connection to the game server.");
+                e.printStackTrace();
+                return;
+            }
+
+            if (currentTime >= nextDisplayFrame) {
+                this.game.notifyListeners(TimeUnit.NANOSECONDS.toMillis(currentTime - lastFrameTime));
+                nextDisplayFrame += NANOSECONDS_PER_DISPLAY_FRAME;
+                if (nextDisplayFrame < currentTime) { // Don't try to make up for display frames that were missed.
+                    nextDisplayFrame = currentTime + NANOSECONDS_PER_DISPLAY_FRAME;
+                }
+            }
+            long waitTime = nextDisplayFrame - System.nanoTime();
+            if (waitTime > 0) {
+                LockSupport.parkNanos(this, waitTime); // May wake up early, for instance when the game is quit.
+            }
+        }
+    }
+
+    /**
+     * Sends the keys held down after a key event to the server. The server works out which keys were pressed.
+     *
+     * @param event The event, as made by InputQueue.keyEvent().
+     * @param time The value of System.nanoTime() at which the event happened.
+     */
+    private void sendKeyEvent(int event, long time) {
+        try {
+            this.client.sendKeys(InputQueue.heldKeys(event));
+        } catch (IOException e) {
+            this.sendFailure = e;
+        }
+    }
+
+    /**
+     * Makes the game look the way the server last said it is.
+     *
+     * @throws IOException If the server's world can't be generated here, since the server has another catalog.
+     */
+    private void mirror() throws IOException {
+        if (this.client.getWelcomes() != this.welcome) { // The server has moved on to a new world.
+            if (this.client.getCatalogSize() != this.game.getCatalog().size()) {
+                throw new IOException("The server has a catalog of " + this.client.getCatalogSize()
+                        + " planets, but this game has one of " + this.game.getCatalog().size() + ".");
+            }
+            this.welcome = this.client.getWelcomes();
+            this.tick = -1; // The ships start over, so they haven't moved since the last frame.
+            this.game.initializeGameData(this.client.getWorldSeed(), false);
+            this.planets = new Planet[this.game.getCatalog().size()];
+            for (Planet planet : this.game.getPlanets()) {
+                this.planets[planet.getEntry()] = planet;
+                planet.setVisited(this.client.isPlanetVisited(planet.getEntry())); // Visited before this client joined.
+            }
+        }
+        for (GameClient.RemoteShip remote : this.client.getRemovedShips()) {
+            if (remote.mirror != null && remote.mirror != this.game.getSpaceship()) {
+                this.game.removeShip(remote.mirror);
+            }
+        }
+        IntList visited = this.client.getVisitedPlanets();
+        for (int i = 0; i < visited.size(); i++) {
+            Planet planet = this.getPlanet(visited.get(i));
+            if (planet != null && !planet.isVisited()) {
+                planet.setVisited(true);
+                this.game.notifyPlanetVisited(planet);
+            }
+        }
+        this.game.setDiscovered(this.client.getDiscovered());
+        int ticks = this.tick < 0 ? 0 : this.client.getTick() - this.tick;
+        this.tick = this.client.getTick();
+        for (GameClient.RemoteShip remote : this.client.getShips()) {
+            int shipTicks = ticks;
+            if (remote.mirror == null) {
+                remote.mirror = remote.getId() == this.client.getShipId() ? this.game.getSpaceship() : this.game.addShip();
+                shipTicks = 0;
+            }
+            Spaceship ship = remote.mirror;
+            ship.setRemoteState(remote.getX(), remote.getY(), remote.getDirection(), remote.isAccelerating(), shipTicks);
+            ship.setColor(remote.getColor());
+            ship.setDestroyed(remote.isDestroyed());
+            ship.setPlanet(this.getPlanet(remote.getPlanet()));
+        }
+    }
+
+    /**
+     * Takes away the velocities of the ships, which were worked out from the last frames, since nothing has moved since.
+     */
+    private void stopShips() {
+        this.game.getSpaceship().setVelocity(0, 0);
+        for (Spaceship ship : this.game.getOtherShips()) {
+            ship.setVelocity(0, 0);
+        }
+    }
+
+    /**
+     * @param entry The entry of a planet in the catalog, or -1.
+     * @return The planet, or null if there is no such planet.
+     */
+    private Planet getPlanet(int entry) {
+        return entry >= 0 && entry < this.planets.length ? this.planets[entry] : null;
+    }
+}
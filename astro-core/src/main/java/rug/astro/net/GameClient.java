@@ -0,0 +1,455 @@
+package rug.astro.net;
+
+import rug.astro.model.Spaceship;
+import rug.astro.util.IntList;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Takes part in a game that runs on a GameServer. The client sends the player's keys, and keeps track of the ships and
+ * planets as the server sends them, as described by Protocol. It doesn't run any physics itself.
+ *
+ * The client never waits for the network once it is connected: poll() takes in whatever has arrived, and keys are sent
+ * as far as the connection takes them, with the rest sent on the next poll. Only one thread may use a client.
+ */
+public class GameClient implements Closeable {
+    /**
+     * The size that the buffer for incoming messages starts out with. It grows when a message doesn't fit.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * A ship as the server last sent it.
+     */
+    public static final class RemoteShip {
+        private final int id;
+
+        private double x;
+
+        private double y;
+
+        private double direction;
+
+        private boolean accelerating;
+
+        private boolean destroyed;
+
+        private int color;
+
+        private int planet = -1;
+
+        /**
+         * The ship in the local game that shows this one, if the client is connected to a game.
+         */
+        Spaceship mirror;
+
+        private RemoteShip(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public double getX() {
+            return this.x;
+        }
+
+        public double getY() {
+            return this.y;
+        }
+
+        /**
+         * @return The direction, in radians.
+         */
+        public double getDirection() {
+            return this.direction;
+        }
+
+        public boolean isAccelerating() {
+            return this.accelerating;
+        }
+
+        public boolean isDestroyed() {
+            return this.destroyed;
+        }
+
+        /**
+         * @return The color, as a packed 0xRRGGBB value.
+         */
+        public int getColor() {
+            return this.color;
+        }
+
+        /**
+         * @return The entry of the planet the ship is on, or -1 if it is in space.
+         */
+        public int getPlanet() {
+            return this.planet;
+        }
+    }
+
+    private final SocketChannel channel;
+
+    private ByteBuffer input = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    /**
+     * The bytes that the connection didn't take yet.
+     */
+    private final ByteBuffer output = ByteBuffer.allocate(1024);
+
+    /**
+     * The ships, in the order in which the server first sent them, and under their ids.
+     */
+    private final List<RemoteShip> ships = new ArrayList<>();
+
+    private RemoteShip[] shipsById = new RemoteShip[64];
+
+    /**
+     * The ships that left, and the planets that were visited for the first time, during the last poll.
+     */
+    private final List<RemoteShip> removedShips = new ArrayList<>();
+
+    private final IntList visitedPlanets = new IntList();
+
+    /**
+     * The entries of all planets that were visited in the world of the last welcome.
+     */
+    private final BitSet visited = new BitSet();
+
+    /**
+     * What the last welcome said: the seed of the world, the size of the server's catalog and the id of this client's
+     * ship. The number of welcomes tells when the server has moved on to a new world.
+     */
+    private long worldSeed;
+
+    private int catalogSize;
+
+    private int shipId = -1;
+
+    private int welcomes;
+
+    /**
+     * The tick of the last frame, and the number of planets discovered as of that frame.
+     */
+    private int tick;
+
+    private int discovered;
+
+    /**
+     * Statistics: the bytes sent and received, and the frames received.
+     */
+    private long bytesSent;
+
+    private long bytesReceived;
+
+    private long framesReceived;
+
+    /**
+     * Connects to a server. This waits until the connection is made, but not for the welcome.
+     *
+     * @param address The address of the server.
+     * @throws IOException If the server can't be reached.
+     */
+    public GameClient(InetSocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        this.channel.configureBlocking(false);
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Takes in all messages that have arrived, and sends what is left of the keys. This never waits.
+     *
+     * @return The number of messages that were taken in.
+     * @throws IOException If the connection broke, the server closed it, or the server sent something that isn't part
+     * of the protocol.
+     */
+    public int poll() throws IOException {
+        this.removedShips.clear();
+        this.visitedPlanets.clear();
+        this.flush();
+        int messages = 0;
+        while (true) {
+            if (!this.input.hasRemaining()) {
+                this.input = ByteBuffer.allocate(this.input.capacity() * 2).put(this.input.flip());
+            }
+            int read = this.channel.read(this.input);
+            if (read < 0) {
+                throw new EOFException("The server closed the connection.");
+            }
+            if (read == 0) {
+                break;
+            }
+            this.bytesReceived += read;
+            this.input.flip();
+            while (this.input.remaining() >= 4 && this.input.remaining() - 4 >= this.input.getInt(this.input.position())) {
+                int length = this.input.getInt();
+                int end = this.input.position() + length;
+                this.readMessage(end);
+                if (this.input.position() != end) {
+                    throw new IOException("The server sent a message of the wrong length.");
+                }
+                messages++;
+            }
+            this.input.compact();
+        }
+        return messages;
+    }
+
+    /**
+     * Reads a message, without its length, which ends at the given position.
+     */
+    private void readMessage(int end) throws IOException {
+        int type = this.input.get();
+        if (type == Protocol.WELCOME) {
+            int version = this.input.get() & 0xFF;
+            if (version != Protocol.VERSION) {
+                throw new IOException("The server speaks version " + version + " of the protocol, rather than "
+                        + Protocol.VERSION + ".");
+            }
+            this.worldSeed = this.input.getLong();
+            this.catalogSize = this.input.getInt();
+            this.shipId = this.input.getShort() & 0xFFFF;
+            this.welcomes++;
+            // The frame that follows has every ship, so the ships of the old world are all gone.
+            this.removedShips.addAll(this.ships);
+            this.ships.clear();
+            Arrays.fill(this.shipsById, null);
+            this.visited.clear();
+        } else if (type == Protocol.FRAME) {
+            if (this.welcomes == 0) {
+                throw new IOException("The server sent a frame before its welcome.");
+            }
+            this.readFrame();
+            this.framesReceived++;
+        } else {
+            throw new IOException("The server sent a message of unknown type " + type + ".");
+        }
+    }
+
+    private void readFrame() throws IOException {
+        ByteBuffer in = this.input;
+        this.tick = in.getInt();
+        int flags = in.get();
+        if ((flags & Protocol.DISCOVERED_FLAG) != 0) {
+            this.discovered = in.getInt();
+        }
+        int removed = in.getShort() & 0xFFFF;
+        for (int i = 0; i < removed; i++) {
+            int id = in.getShort() & 0xFFFF;
+            RemoteShip ship = this.getShip(id);
+            if (ship != null) {
+                this.shipsById[id] = null;
+                this.ships.remove(ship);
+                this.removedShips.add(ship);
+            }
+        }
+        int changed = in.getShort() & 0xFFFF;
+        for (int i = 0; i < changed; i++) {
+            this.readShip();
+        }
+        int visited = in.getInt();
+        for (int i = 0; i < visited; i++) {
+            int entry = in.getInt();
+            if (entry < 0 || entry >= this.catalogSize) {
+                throw new IOException("The server sent planet " + entry + ", which isn't in its catalog.");
+            }
+            this.visitedPlanets.add(entry);
+            this.visited.set(entry);
+        }
+    }
+
+    private void readShip() {
+        ByteBuffer in = this.input;
+        int id = in.getShort() & 0xFFFF;
+        int fields = in.get();
+        RemoteShip ship = this.getShip(id);
+        if (ship == null) {
+            ship = new RemoteShip(id);
+            if (id >= this.shipsById.length) {
+                this.shipsById = Arrays.copyOf(this.shipsById, Math.max(2 * this.shipsById.length, id + 1));
+            }
+            this.shipsById[id] = ship;
+            this.ships.add(ship);
+        }
+        if ((fields & Protocol.X_FIELD) != 0) {
+            ship.x = Protocol.dequantizePosition(in.getShort() & 0xFFFF);
+        }
+        if ((fields & Protocol.Y_FIELD) != 0) {
+            ship.y = Protocol.dequantizePosition(in.getShort() & 0xFFFF);
+        }
+        if ((fields & Protocol.DIRECTION_FIELD) != 0) {
+            ship.direction = Protocol.dequantizeDirection(in.get() & 0xFF);
+        }
+        if ((fields & Protocol.FLAGS_FIELD) != 0) {
+            int flags = in.get();
+            ship.accelerating = (flags & Protocol.ACCELERATING_FLAG) != 0;
+            ship.destroyed = (flags & Protocol.DESTROYED_FLAG) != 0;
+        }
+        if ((fields & Protocol.COLOR_FIELD) != 0) {
+            ship.color = ((in.get() & 0xFF) << 16) | (in.getShort() & 0xFFFF);
+        }
+        if ((fields & Protocol.PLANET_FIELD) != 0) {
+            ship.planet = in.getInt();
+        }
+    }
+
+    /**
+     * Sends the keys that the player holds down. Only changes need to be sent.
+     *
+     * @param keys The keys, as a combination of the key bits of Spaceship.
+     * @throws IOException If the connection broke.
+     */
+    public void sendKeys(int keys) throws IOException {
+        this.send(keys & Protocol.KEY_MASK, 1);
+    }
+
+    /**
+     * Changes the color of this client's ship.
+     *
+     * @param color The color, as a packed 0xRRGGBB value.
+     * @throws IOException If the connection broke.
+     */
+    public void sendColor(int color) throws IOException {
+        this.send((Protocol.COLOR_MESSAGE << 24) | (color & 0xFFFFFF), 4);
+    }
+
+    /**
+     * Sends the lowest bytes of a number, highest byte first.
+     */
+    private void send(int message, int bytes) throws IOException {
+        if (this.output.remaining() < bytes) {
+            this.flush();
+            if (this.output.remaining() < bytes) {
+                throw new IOException("The server doesn't take in any keys.");
+            }
+        }
+        for (int i = bytes - 1; i >= 0; i--) {
+            this.output.put((byte) (message >> (8 * i)));
+        }
+        this.flush();
+    }
+
+    private void flush() throws IOException {
+        if (this.output.position() > 0) {
+            this.output.flip();
+            this.bytesSent += this.channel.write(this.output);
+            this.output.compact();
+        }
+    }
+
+    /**
+     * @param id The id of a ship.
+     * @return The ship, or null if there is no ship with that id.
+     */
+    public RemoteShip getShip(int id) {
+        return id < this.shipsById.length ? this.shipsById[id] : null;
+    }
+
+    /**
+     * @return The ships, in the order in which they were first sent. The list must not be changed.
+     */
+    public List<RemoteShip> getShips() {
+        return this.ships;
+    }
+
+    /**
+     * @return The ships that left during the last poll, or that were there before the last welcome.
+     */
+    List<RemoteShip> getRemovedShips() {
+        return this.removedShips;
+    }
+
+    /**
+     * @return The entries of the planets that were visited for the first time during the last poll.
+     */
+    IntList getVisitedPlanets() {
+        return this.visitedPlanets;
+    }
+
+    /**
+     * @param entry The entry of a planet in the catalog.
+     * @return Whether the planet was visited, in the world of the last welcome.
+     */
+    public boolean isPlanetVisited(int entry) {
+        return this.visited.get(entry);
+    }
+
+    /**
+     * @return Whether the server has welcomed this client to a world yet.
+     */
+    public boolean isWelcomed() {
+        return this.welcomes > 0;
+    }
+
+    /**
+     * @return The number of welcomes so far. It goes up whenever the server moves on to a new world.
+     */
+    public int getWelcomes() {
+        return this.welcomes;
+    }
+
+    public long getWorldSeed() {
+        return this.worldSeed;
+    }
+
+    /**
+     * @return The size of the server's planet catalog, which must be the size of this client's catalog.
+     */
+    public int getCatalogSize() {
+        return this.catalogSize;
+    }
+
+    /**
+     * @return The id of this client's own ship, or -1 before the welcome.
+     */
+    public int getShipId() {
+        return this.shipId;
+    }
+
+    /**
+     * @return The tick of the last frame.
+     */
+    public int getTick() {
+        return this.tick;
+    }
+
+    public int getDiscovered() {
+        return this.discovered;
+    }
+
+    public long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return this.bytesReceived;
+    }
+
+    public long getFramesReceived() {
+        return this.framesReceived;
+    }
+
+    /**
+     * Disconnects from the server.
+     */
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the connection to the server.");
+            e.printStackTrace();
+        }
+    }
+}
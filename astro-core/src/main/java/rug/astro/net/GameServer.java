@@ -0,0 +1,684 @@
+package rug.astro.net;
+
+import rug.astro.model.Game;
+import rug.astro.model.Planet;
+import rug.astro.model.Spaceship;
+import rug.astro.util.IntList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Lets other players take part in a game over the network. The game stays the one and only authority: every player
+ * gets a ship in it, and the game updater moves all ships by the keys that their players send. After every tick, the
+ * server sends all players what changed, as described by Protocol.
+ *
+ * The server doesn't have a thread of its own. The game updater calls receive() at the start of every tick and
+ * broadcast() at the end of it, and neither ever waits for the network: all channels are non-blocking, and are polled
+ * with a selector. The changes of a tick are encoded once, and the same bytes are sent to every player. Whatever a
+ * player's connection can't take right away is kept until it can; a player that falls too far behind is let go, since
+ * every frame builds on the one before it.
+ *
+ * The server may be closed from another thread, such as when the application exits, which is why the methods are
+ * synchronized. Nothing else ever waits for the lock.
+ */
+public class GameServer implements Closeable {
+    /**
+     * The most bytes that may wait to be sent to a player, which is a few seconds' worth. A player with more waiting is
+     * disconnected.
+     */
+    private static final int MAX_PENDING_BYTES = 256 * 1024;
+
+    /**
+     * The size of the buffer that a player's keys are read into. Messages are one or four bytes long.
+     */
+    private static final int INPUT_BUFFER_SIZE = 256;
+
+    /**
+     * The id of the ship of the player that runs the game.
+     */
+    private static final int HOST_SHIP_ID = 0;
+
+    /**
+     * Where the id of the player's own ship is in a welcome.
+     */
+    private static final int WELCOME_SHIP_ID_POSITION = Protocol.MESSAGE_HEADER_SIZE + 1 + 8 + 4;
+
+    /**
+     * A ship that is shown to the players, and the state it had in the last frame that was sent, as it was sent.
+     */
+    private static final class ShipState {
+        private final int id;
+
+        private final Spaceship ship;
+
+        /**
+         * Whether the ship hasn't been sent yet, so that all of its fields have to be.
+         */
+        private boolean fresh = true;
+
+        private int x;
+
+        private int y;
+
+        private int direction;
+
+        private int flags;
+
+        private int color;
+
+        private int planet;
+
+        private ShipState(int id, Spaceship ship) {
+            this.id = id;
+            this.ship = ship;
+        }
+    }
+
+    /**
+     * A player that is connected over the network.
+     */
+    private static final class Connection {
+        private final SocketChannel channel;
+
+        private final ShipState state;
+
+        private final ByteBuffer input = ByteBuffer.allocate(INPUT_BUFFER_SIZE);
+
+        /**
+         * The messages that couldn't be sent yet, in order, and the number of bytes in them.
+         */
+        private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+
+        private int pendingBytes;
+
+        private SelectionKey key;
+
+        /**
+         * The keys that the player holds down, as last sent.
+         */
+        private int heldKeys;
+
+        /**
+         * Whether the player has been sent the current world, after which it gets the frames of every tick.
+         */
+        private boolean welcomed;
+
+        private boolean closed;
+
+        private Connection(SocketChannel channel, ShipState state) {
+            this.channel = channel;
+            this.state = state;
+        }
+    }
+
+    private final Game game;
+
+    private final ServerSocketChannel serverChannel;
+
+    private final Selector selector;
+
+    private final List<Connection> connections = new ArrayList<>();
+
+    /**
+     * The ships that are sent to the players: the host's ship, and the ship of every connected player.
+     */
+    private final List<ShipState> ships = new ArrayList<>();
+
+    /**
+     * The ids of the ships that are in use.
+     */
+    private final BitSet usedIds = new BitSet(Protocol.MAX_SHIPS);
+
+    private int nextId = HOST_SHIP_ID + 1;
+
+    /**
+     * The ids of the ships that left, and the entries of the planets that were visited for the first time, since the
+     * last frame.
+     */
+    private final IntList removedIds = new IntList();
+
+    private final IntList visitedPlanets = new IntList();
+
+    /**
+     * The number of planets discovered, and the world revision of the game, as last sent.
+     */
+    private int discovered;
+
+    private int worldRevision;
+
+    /**
+     * The messages of a tick: the frame that every welcomed player gets, and the welcome that the others get. They are
+     * reused every tick, and grown when needed.
+     */
+    private ByteBuffer frame = ByteBuffer.allocate(4096);
+
+    private ByteBuffer welcome = ByteBuffer.allocate(4096);
+
+    /**
+     * Statistics: the bytes sent to and received from all players, the frames sent, and the time spent on the network
+     * by the game updater, in nanoseconds.
+     */
+    private long bytesSent;
+
+    private long bytesReceived;
+
+    private long framesSent;
+
+    private long networkTime;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new server for a game, which listens for players right away. The game's bounded world is sent to the
+     * players as its seed, so it must not be an open universe.
+     *
+     * @param game The game that the players take part in.
+     * @param address The address to listen on. A port of 0 picks a free port.
+     * @throws IOException If the server can't listen on the address.
+     * @throws IllegalArgumentException If the game's world is an open universe.
+     */
+    public GameServer(Game game, InetSocketAddress address) throws IOException {
+        if (game.isOpenUniverse()) {
+            throw new IllegalArgumentException("A game server can only run a bounded world.");
+        }
+        this.game = game;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(address);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.usedIds.set(HOST_SHIP_ID);
+        this.ships.add(new ShipState(HOST_SHIP_ID, game.getSpaceship()));
+        this.worldRevision = game.getWorldRevision();
+        this.discovered = game.getDiscovered();
+        game.addVisitListener(this::onPlanetVisited);
+    }
+
+    /**
+     * @return The port that the server listens on.
+     */
+    public int getPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Lets new players join, and takes in the keys that players sent, without waiting for anything. This is called by
+     * the game updater at the start of every tick.
+     */
+    public synchronized void receive() {
+        if (this.closed) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            this.selector.selectNow();
+        } catch (IOException e) {
+            System.err.println("Could not poll the connections of the game server.");
+            e.printStackTrace();
+            return;
+        }
+        Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                this.accept();
+                continue;
+            }
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable()) {
+                this.read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+                this.flush(connection);
+            }
+        }
+        this.connections.removeIf(connection -> connection.closed);
+        this.networkTime += System.nanoTime() - start;
+    }
+
+    /**
+     * Sends every player what changed in the tick that just ended, and the whole world to players that just joined, or
+     * to everyone if the world was replaced. This is called by the game updater at the end of every tick.
+     *
+     * @param tick The number of the tick.
+     */
+    public synchronized void broadcast(int tick) {
+        if (this.closed) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (this.game.getWorldRevision() != this.worldRevision) { // Everyone has to start over in the new world.
+            this.worldRevision = this.game.getWorldRevision();
+            for (Connection connection : this.connections) {
+                connection.welcomed = false;
+            }
+            this.removedIds.clear();
+            this.visitedPlanets.clear();
+        }
+        boolean frameEncoded = this.encodeFrame(tick);
+        // Cleared before sending, since a player whose connection breaks while sending is removed in the next frame.
+        this.removedIds.clear();
+        this.visitedPlanets.clear();
+        if (frameEncoded) {
+            for (Connection connection : this.connections) {
+                if (connection.welcomed) {
+                    this.send(connection, this.frame);
+                    this.framesSent++;
+                }
+            }
+        }
+
+        boolean welcomeEncoded = false;
+        for (Connection connection : this.connections) {
+            if (!connection.welcomed && !connection.closed) {
+                if (!welcomeEncoded) {
+                    this.encodeWelcome(tick);
+                    welcomeEncoded = true;
+                }
+                // Every player gets the id of its own ship.
+                this.welcome.putShort(WELCOME_SHIP_ID_POSITION, (short) connection.state.id);
+                this.send(connection, this.welcome);
+                connection.welcomed = true;
+                this.framesSent++;
+            }
+        }
+        this.connections.removeIf(connection -> connection.closed);
+        this.networkTime += System.nanoTime() - start;
+    }
+
+    /**
+     * Encodes what changed since the last frame, and makes what was encoded the state that the next frame is compared
+     * to.
+     *
+     * @param tick The number of the tick.
+     * @return Whether anything changed, and the frame should be sent.
+     */
+    private boolean encodeFrame(int tick) {
+        this.frame = ensureRoom(this.frame, 32 + 2 * this.removedIds.size() + Protocol.MAX_SHIP_SIZE * this.ships.size()
+                + 4 * this.visitedPlanets.size());
+        ByteBuffer out = this.frame;
+        out.clear();
+        out.position(Protocol.MESSAGE_HEADER_SIZE);
+        out.putInt(tick);
+        boolean discoveredChanged = this.game.getDiscovered() != this.discovered;
+        this.discovered = this.game.getDiscovered();
+        out.put((byte) (discoveredChanged ? Protocol.DISCOVERED_FLAG : 0));
+        if (discoveredChanged) {
+            out.putInt(this.discovered);
+        }
+        out.putShort((short) this.removedIds.size());
+        for (int i = 0; i < this.removedIds.size(); i++) {
+            out.putShort((short) this.removedIds.get(i));
+        }
+        int countPosition = out.position();
+        out.putShort((short) 0);
+        int changed = 0;
+        for (ShipState state : this.ships) {
+            if (this.encodeShip(out, state)) {
+                changed++;
+            }
+        }
+        out.putShort(countPosition, (short) changed);
+        out.putInt(this.visitedPlanets.size());
+        for (int i = 0; i < this.visitedPlanets.size(); i++) {
+            out.putInt(this.visitedPlanets.get(i));
+        }
+        finishMessage(out, Protocol.FRAME);
+        return discoveredChanged || changed > 0 || !this.removedIds.isEmpty() || !this.visitedPlanets.isEmpty();
+    }
+
+    /**
+     * Encodes the fields of a ship that changed since the last frame, if any did, and remembers them as sent.
+     *
+     * @return Whether the ship was encoded.
+     */
+    private boolean encodeShip(ByteBuffer out, ShipState state) {
+        Spaceship ship = state.ship;
+        int x = Protocol.quantizePosition(ship.getX());
+        int y = Protocol.quantizePosition(ship.getY());
+        int direction = Protocol.quantizeDirection(ship.getDirection());
+        int flags = (ship.isAccelerating() ? Protocol.ACCELERATING_FLAG : 0)
+                | (ship.isDestroyed() ? Protocol.DESTROYED_FLAG : 0);
+        int color = ship.getColor() & 0xFFFFFF;
+        int planet = ship.getPlanet() == null ? -1 : ship.getPlanet().getEntry();
+        int fields = state.fresh ? Protocol.ALL_FIELDS
+                : (x != state.x ? Protocol.X_FIELD : 0)
+                | (y != state.y ? Protocol.Y_FIELD : 0)
+                | (direction != state.direction ? Protocol.DIRECTION_FIELD : 0)
+                | (flags != state.flags ? Protocol.FLAGS_FIELD : 0)
+                | (color != state.color ? Protocol.COLOR_FIELD : 0)
+                | (planet != state.planet ? Protocol.PLANET_FIELD : 0);
+        if (fields == 0) {
+            return false;
+        }
+        state.fresh = false;
+        state.x = x;
+        state.y = y;
+        state.direction = direction;
+        state.flags = flags;
+        state.color = color;
+        state.planet = planet;
+        writeShip(out, state, fields);
+        return true;
+    }
+
+    private static void writeShip(ByteBuffer out, ShipState state, int fields) {
+        out.putShort((short) state.id);
+        out.put((byte) fields);
+        if ((fields & Protocol.X_FIELD) != 0) {
+            out.putShort((short) state.x);
+        }
+        if ((fields & Protocol.Y_FIELD) != 0) {
+            out.putShort((short) state.y);
+        }
+        if ((fields & Protocol.DIRECTION_FIELD) != 0) {
+            out.put((byte) state.direction);
+        }
+        if ((fields & Protocol.FLAGS_FIELD) != 0) {
+            out.put((byte) state.flags);
+        }
+        if ((fields & Protocol.COLOR_FIELD) != 0) {
+            out.put((byte) (state.color >> 16));
+            out.putShort((short) state.color);
+        }
+        if ((fields & Protocol.PLANET_FIELD) != 0) {
+            out.putInt(state.planet);
+        }
+    }
+
+    /**
+     * Encodes the welcome to the current world, followed by a frame with the whole state as last sent, which is the
+     * same as what every welcomed player has now. The id of the player's ship is filled in for every player.
+     */
+    private void encodeWelcome(int tick) {
+        int planetCount = this.game.getPlanets().size();
+        this.welcome = ensureRoom(this.welcome, 64 + Protocol.MAX_SHIP_SIZE * this.ships.size() + 4 * planetCount);
+        ByteBuffer out = this.welcome;
+        out.clear();
+        out.position(Protocol.MESSAGE_HEADER_SIZE);
+        out.put((byte) Protocol.VERSION);
+        out.putLong(this.game.getWorldSeed());
+        out.putInt(this.game.getCatalog().size());
+        out.putShort((short) 0); // The id of the player's ship is filled in for every player.
+        finishMessage(out, Protocol.WELCOME);
+
+        int frameStart = out.limit();
+        out.limit(out.capacity());
+        out.position(frameStart + Protocol.MESSAGE_HEADER_SIZE);
+        out.putInt(tick);
+        out.put((byte) Protocol.DISCOVERED_FLAG);
+        out.putInt(this.discovered);
+        out.putShort((short) 0);
+        int count = 0;
+        int countPosition = out.position();
+        out.putShort((short) 0);
+        for (ShipState state : this.ships) {
+            if (!state.fresh) { // Fresh ships come with the next frame, like they do for everyone else.
+                writeShip(out, state, Protocol.ALL_FIELDS);
+                count++;
+            }
+        }
+        out.putShort(countPosition, (short) count);
+        int visitedPosition = out.position();
+        out.putInt(0);
+        int visited = 0;
+        for (Planet planet : this.game.getPlanets()) {
+            if (planet.isVisited()) {
+                out.putInt(planet.getEntry());
+                visited++;
+            }
+        }
+        out.putInt(visitedPosition, visited);
+        int end = out.position();
+        out.putInt(frameStart, end - frameStart - 4);
+        out.put(frameStart + 4, (byte) Protocol.FRAME);
+        out.position(0);
+        out.limit(end);
+    }
+
+    /**
+     * Fills in the length and type of the message that was written from position zero up to the buffer's position,
+     * and makes it ready to be sent.
+     */
+    private static void finishMessage(ByteBuffer out, int type) {
+        out.putInt(0, out.position() - 4);
+        out.put(4, (byte) type);
+        out.flip();
+    }
+
+    /**
+     * @return The buffer if it has room for the given number of bytes, or a larger one.
+     */
+    private static ByteBuffer ensureRoom(ByteBuffer buffer, int bytes) {
+        if (buffer.capacity() >= bytes) {
+            return buffer;
+        }
+        return ByteBuffer.allocate(Math.max(2 * buffer.capacity(), bytes));
+    }
+
+    /**
+     * Sends a message to a player, or as much of it as the connection takes right now, and keeps a copy of the rest.
+     *
+     * @param connection The player's connection.
+     * @param message The message, from position zero up to the limit. It is left as it is.
+     */
+    private void send(Connection connection, ByteBuffer message) {
+        ByteBuffer rest = message.duplicate();
+        if (connection.pending.isEmpty()) {
+            try {
+                this.bytesSent += connection.channel.write(rest);
+            } catch (IOException e) {
+                this.disconnect(connection);
+                return;
+            }
+        }
+        if (rest.hasRemaining()) {
+            if (connection.pendingBytes + rest.remaining() > MAX_PENDING_BYTES) {
+                System.err.println("Disconnected a player that couldn't keep up with the game.");
+                this.disconnect(connection);
+                return;
+            }
+            ByteBuffer copy = ByteBuffer.allocate(rest.remaining());
+            copy.put(rest).flip();
+            connection.pending.add(copy);
+            connection.pendingBytes += copy.remaining();
+            connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Sends what was kept for a player, as far as the connection takes it.
+     */
+    private void flush(Connection connection) {
+        try {
+            while (!connection.pending.isEmpty()) {
+                ByteBuffer message = connection.pending.peek();
+                int written = connection.channel.write(message);
+                this.bytesSent += written;
+                connection.pendingBytes -= written;
+                if (message.hasRemaining()) {
+                    return;
+                }
+                connection.pending.poll();
+            }
+            connection.key.interestOps(SelectionKey.OP_READ);
+        } catch (IOException e) {
+            this.disconnect(connection);
+        }
+    }
+
+    /**
+     * Takes in the players that are waiting to join, and gives each a ship.
+     */
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = this.serverChannel.accept()) != null) {
+                int id = this.usedIds.nextClearBit(this.nextId);
+                if (id >= Protocol.MAX_SHIPS) {
+                    id = this.usedIds.nextClearBit(HOST_SHIP_ID + 1);
+                }
+                if (id >= Protocol.MAX_SHIPS) {
+                    System.err.println("Turned away a player, since the game is full.");
+                    channel.close();
+                    continue;
+                }
+                this.usedIds.set(id);
+                this.nextId = id + 1;
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                ShipState state = new ShipState(id, this.game.addShip());
+                Connection connection = new Connection(channel, state);
+                connection.key = channel.register(this.selector, SelectionKey.OP_READ, connection);
+                this.connections.add(connection);
+                this.ships.add(state);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not let a player join the game.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads what a player sent, and applies its keys to its ship.
+     */
+    private void read(Connection connection) {
+        int read;
+        try {
+            read = connection.channel.read(connection.input);
+        } catch (IOException e) {
+            this.disconnect(connection);
+            return;
+        }
+        if (read < 0) {
+            this.disconnect(connection);
+            return;
+        }
+        this.bytesReceived += read;
+        ByteBuffer input = connection.input;
+        input.flip();
+        Spaceship ship = connection.state.ship;
+        while (input.hasRemaining()) {
+            int message = input.get(input.position()) & 0xFF;
+            if (message == Protocol.COLOR_MESSAGE) {
+                if (input.remaining() < 4) {
+                    break; // The rest of the color is still on its way.
+                }
+                input.get();
+                ship.setColor(((input.get() & 0xFF) << 16) | (input.getShort() & 0xFFFF));
+            } else if ((message & ~Protocol.KEY_MASK) == 0) {
+                input.get();
+                int pressed = message & ~connection.heldKeys;
+                connection.heldKeys = message;
+                ship.applyKeyEvent(message, pressed);
+            } else {
+                System.err.println("Disconnected a player that sent a message that isn't part of the protocol.");
+                this.disconnect(connection);
+                return;
+            }
+        }
+        input.compact();
+    }
+
+    /**
+     * Lets a player go, and takes its ship out of the game. The other players are told in the next frame.
+     */
+    private void disconnect(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        try {
+            connection.channel.close(); // This also cancels its key.
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        this.game.removeShip(connection.state.ship);
+        this.ships.remove(connection.state);
+        this.usedIds.clear(connection.state.id);
+        if (!connection.state.fresh) { // Players only need to hear about ships that they were told about.
+            this.removedIds.add(connection.state.id);
+        }
+    }
+
+    private void onPlanetVisited(Planet planet) {
+        if (!this.closed) {
+            this.visitedPlanets.add(planet.getEntry());
+        }
+    }
+
+    /**
+     * @return The number of players that are connected.
+     */
+    public synchronized int getPlayerCount() {
+        return this.connections.size();
+    }
+
+    /**
+     * @return The number of bytes sent to all players.
+     */
+    public synchronized long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    /**
+     * @return The number of bytes received from all players.
+     */
+    public synchronized long getBytesReceived() {
+        return this.bytesReceived;
+    }
+
+    /**
+     * @return The number of frames and welcomes sent to all players together.
+     */
+    public synchronized long getFramesSent() {
+        return this.framesSent;
+    }
+
+    /**
+     * @return The time that the game updater spent on receiving and broadcasting, in nanoseconds.
+     */
+    public synchronized long getNetworkTime() {
+        return this.networkTime;
+    }
+
+    /**
+     * Disconnects all players and stops listening. This may be called from any thread, even while the game runs, which
+     * is why the players' ships are left in the game.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            for (Connection connection : this.connections) {
+                connection.channel.close();
+            }
+            this.connections.clear();
+            this.serverChannel.close();
+            this.selector.close();
+        } catch (IOException e) {
+            System.err.println("Could not stop the game server.");
+            e.printStackTrace();
+        }
+    }
+}
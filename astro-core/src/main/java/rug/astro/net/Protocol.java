@@ -0,0 +1,126 @@
+package rug.astro.net;
+
+/**
+ * The messages that a GameServer and its GameClients send each other over TCP.
+ *
+ * A client only sends its keys: a byte with the key bits of Spaceship that are held down, whenever they change, and
+ * COLOR_MESSAGE followed by three bytes of 0xRRGGBB to change the color of its ship.
+ *
+ * The server sends messages that each start with their length as an int, not counting the length itself, and a byte
+ * with their type, in big-endian order:
+ * <ul>
+ *     <li>WELCOME: VERSION as a byte, the seed of the world as a long, the size of the planet catalog as an int, and
+ *     the id of the client's own ship as an unsigned short. The client generates the world from the seed itself; the
+ *     catalog size is there to make sure that it has the same catalog. A FRAME with every ship follows right
+ *     after.</li>
+ *     <li>FRAME: the tick as an int, a byte of frame flags, the number of planets discovered as an int if
+ *     DISCOVERED_FLAG is set, the number of ships that left as an unsigned short followed by their ids, the number of
+ *     ships that changed as an unsigned short followed by the ships, and the number of planets that were visited for
+ *     the first time as an int followed by their entries as ints.</li>
+ * </ul>
+ * A ship in a frame is its id as an unsigned short, a byte of field bits, and then only the fields whose bits are set,
+ * in the order of the bits: x and y as unsigned shorts in 1/POSITION_SCALE pixels, the direction as a byte in
+ * 1/256ths of a turn, a byte of ship flags, the color as three bytes, and the entry of the planet it is on as an int,
+ * or -1. A ship that the client doesn't know yet comes with all fields.
+ *
+ * Frames only hold what changed since the frame before, as the server last sent it, so a ship that doesn't move costs
+ * nothing, and a frame in which nothing changed at all isn't sent. TCP delivers every frame, in order, which is what
+ * makes this work.
+ */
+final class Protocol {
+    static final int VERSION = 1;
+
+    /**
+     * The types of the messages that the server sends.
+     */
+    static final int WELCOME = 1;
+
+    static final int FRAME = 2;
+
+    /**
+     * The size of the length and the type that every message of the server starts with.
+     */
+    static final int MESSAGE_HEADER_SIZE = 5;
+
+    /**
+     * The first byte of a message that changes the color of a client's ship. Key bytes never have the high bit set.
+     */
+    static final int COLOR_MESSAGE = 0x80;
+
+    /**
+     * The bits of the keys that a client can send.
+     */
+    static final int KEY_MASK = 0x0F;
+
+    /**
+     * The frame flag that tells that the number of planets discovered follows.
+     */
+    static final int DISCOVERED_FLAG = 1;
+
+    /**
+     * The field bits of a ship in a frame.
+     */
+    static final int X_FIELD = 1;
+
+    static final int Y_FIELD = 1 << 1;
+
+    static final int DIRECTION_FIELD = 1 << 2;
+
+    static final int FLAGS_FIELD = 1 << 3;
+
+    static final int COLOR_FIELD = 1 << 4;
+
+    static final int PLANET_FIELD = 1 << 5;
+
+    static final int ALL_FIELDS = (1 << 6) - 1;
+
+    /**
+     * The most bytes that a ship takes up in a frame: its id, its field bits and all of its fields.
+     */
+    static final int MAX_SHIP_SIZE = 2 + 1 + 2 + 2 + 1 + 1 + 3 + 4;
+
+    /**
+     * The ship flags.
+     */
+    static final int ACCELERATING_FLAG = 1;
+
+    static final int DESTROYED_FLAG = 1 << 1;
+
+    /**
+     * The number of steps per pixel in which locations are sent. A bounded world fits in an unsigned short with room to
+     * spare.
+     */
+    static final int POSITION_SCALE = 16;
+
+    /**
+     * The most ships that can be in a game at the same time, since their ids and their number are unsigned shorts.
+     */
+    static final int MAX_SHIPS = 0xFFFF;
+
+    private Protocol() {
+    }
+
+    /**
+     * @param position A location on one of the axes of a bounded world.
+     * @return The location, as it is sent.
+     */
+    static int quantizePosition(double position) {
+        return (int) Math.max(0, Math.min(0xFFFF, Math.round(position * POSITION_SCALE)));
+    }
+
+    static double dequantizePosition(int position) {
+        return position / (double) POSITION_SCALE;
+    }
+
+    /**
+     * @param direction A direction, in radians.
+     * @return The direction, as it is sent.
+     */
+    static int quantizeDirection(double direction) {
+        return (int) Math.round(direction * (256 / (2 * Math.PI))) & 0xFF;
+    }
+
+    static double dequantizeDirection(int direction) {
+        return direction * (2 * Math.PI / 256);
+    }
+}
@@ -0,0 +1,109 @@
+package rug.astro.util;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive ints. Unlike a List of Integers, adding to it doesn't box anything, so it can be cleared
+ * and filled again every frame without producing garbage.
+ */
+public class IntList {
+    /**
+     * The values in the list, followed by unused room.
+     */
+    private int[] values;
+
+    /**
+     * The number of values in the list.
+     */
+    private int size;
+
+    /**
+     * Constructs a new, empty list.
+     */
+    public IntList() {
+        this(8);
+    }
+
+    /**
+     * Constructs a new, empty list with room for the given number of values.
+     *
+     * @param capacity The number of values that fit before the list has to grow.
+     */
+    public IntList(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+        this.size = 0;
+    }
+
+    /**
+     * Appends a value to the end of the list.
+     *
+     * @param value The value to add.
+     */
+    public void add(int value) {
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, this.size * 2);
+        }
+        this.values[this.size++] = value;
+    }
+
+    /**
+     * @param index The position of a value in the list.
+     * @return The value at that position.
+     */
+    public int get(int index) {
+        if (index >= this.size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + this.size);
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Removes the first occurrence of a value. The last value in the list takes its place, so the order of the list is
+     * not kept.
+     *
+     * @param value The value to remove.
+     * @return True if the value was in the list, false otherwise.
+     */
+    public boolean removeValue(int value) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.values[i] == value) {
+                this.values[i] = this.values[--this.size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the last value in the list.
+     *
+     * @return The value that was removed.
+     */
+    public int removeLast() {
+        if (this.size == 0) {
+            throw new IndexOutOfBoundsException("The list is empty.");
+        }
+        return this.values[--this.size];
+    }
+
+    /**
+     * @return The number of values in the list.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return True if there are no values in the list.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all values, but keeps the room that was made for them.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+}
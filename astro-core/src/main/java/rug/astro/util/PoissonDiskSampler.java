@@ -0,0 +1,173 @@
+package rug.astro.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Fills a rectangle with random points that are all at least a minimum distance apart, using Bridson's algorithm for
+ * Poisson-disk sampling. New points are only ever tried around points that are already placed, and a background grid
+ * tells which placed points are close enough to matter, so filling the rectangle takes time linear in the number of
+ * points, and always comes to an end.
+ *
+ * Distance is measured as the largest of the distances along the x- and y-axis. So the points can be seen as the
+ * centers of equally sized squares that never overlap, which suits square pictures.
+ */
+public class PoissonDiskSampler {
+    /**
+     * The number of candidates that are tried around a point before it is decided that there is no more room around it.
+     */
+    private static final int ATTEMPTS_PER_POINT = 12;
+
+    private final double minX;
+
+    private final double minY;
+
+    private final double width;
+
+    private final double height;
+
+    /**
+     * The minimum distance between any two points, along at least one of the axes.
+     */
+    private final double minDistance;
+
+    /**
+     * Constructs a sampler for the given rectangle.
+     *
+     * @param minX The left side of the rectangle.
+     * @param minY The top side of the rectangle.
+     * @param maxX The right side of the rectangle.
+     * @param maxY The bottom side of the rectangle.
+     * @param minDistance The minimum distance between any two points.
+     */
+    public PoissonDiskSampler(double minX, double minY, double maxX, double maxY, double minDistance) {
+        if (maxX <= minX || maxY <= minY || minDistance <= 0) {
+            throw new IllegalArgumentException("The rectangle and the minimum distance must not be empty.");
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.width = maxX - minX;
+        this.height = maxY - minY;
+        this.minDistance = minDistance;
+    }
+
+    /**
+     * Fills the rectangle with points until there is no room for another one.
+     *
+     * @param random The source of randomness.
+     * @return The points, as pairs of x- and y-values: x0, y0, x1, y1, and so on.
+     */
+    public double[] sample(Random random) {
+        // A cell is as wide as the minimum distance, so a cell holds at most one point, and any point that is too close
+        // to some point is in the cell of that point or in one of the eight cells around it. The points are stored in
+        // the grid itself, so that checking the cells around a candidate reads memory that lies close together.
+        int columns = (int) Math.ceil(this.width / this.minDistance);
+        int rows = (int) Math.ceil(this.height / this.minDistance);
+        double[] cellX = new double[columns * rows];
+        double[] cellY = new double[columns * rows];
+        Arrays.fill(cellX, Double.NaN); // Marks an empty cell.
+
+        int[] active = new int[8]; // The cells of the points around which there may still be room.
+        int activeCount = 0;
+        int count = 0;
+
+        // The first point is a dart thrown anywhere in the rectangle. If the points grown from it run out of room early,
+        // which can happen when it lands in a corner, more darts are thrown before deciding that the rectangle is full.
+        int dartCell;
+        while ((dartCell = this.throwDarts(random, columns, rows, cellX, cellY)) >= 0) {
+            active[activeCount++] = dartCell;
+            count++;
+            while (activeCount > 0) {
+                int activeIndex = random.nextInt(activeCount);
+                int cell = active[activeIndex];
+                boolean placed = false;
+                for (int attempt = 0; attempt < ATTEMPTS_PER_POINT && !placed; attempt++) {
+                    // Pick a candidate at a distance between one and two times the minimum distance.
+                    double dx;
+                    double dy;
+                    do {
+                        dx = (random.nextDouble() * 4 - 2) * this.minDistance;
+                        dy = (random.nextDouble() * 4 - 2) * this.minDistance;
+                    } while (Math.abs(dx) < this.minDistance && Math.abs(dy) < this.minDistance);
+                    double x = cellX[cell] + dx;
+                    double y = cellY[cell] + dy;
+                    if (x < this.minX || x >= this.minX + this.width || y < this.minY || y >= this.minY + this.height) {
+                        continue;
+                    }
+                    int column = this.cellOf(x, this.minX, columns);
+                    int row = this.cellOf(y, this.minY, rows);
+                    if (this.isFarEnough(x, y, column, row, columns, rows, cellX, cellY)) {
+                        int newCell = row * columns + column;
+                        cellX[newCell] = x;
+                        cellY[newCell] = y;
+                        if (activeCount == active.length) {
+                            active = Arrays.copyOf(active, active.length * 2);
+                        }
+                        active[activeCount++] = newCell;
+                        count++;
+                        placed = true;
+                    }
+                }
+                if (!placed) { // No room left around this point, so it is not tried again.
+                    active[activeIndex] = active[--activeCount];
+                }
+            }
+        }
+
+        double[] points = new double[2 * count];
+        int next = 0;
+        for (int cell = 0; cell < cellX.length; cell++) {
+            if (!Double.isNaN(cellX[cell])) {
+                points[next++] = cellX[cell];
+                points[next++] = cellY[cell];
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Throws a few darts at random places in the rectangle, and places a point where the first one lands that is far
+     * enough from all points placed so far.
+     *
+     * @return The cell of the point that was placed, or -1 if none of the darts landed in a free spot.
+     */
+    private int throwDarts(Random random, int columns, int rows, double[] cellX, double[] cellY) {
+        for (int attempt = 0; attempt < ATTEMPTS_PER_POINT; attempt++) {
+            double x = this.minX + random.nextDouble() * this.width;
+            double y = this.minY + random.nextDouble() * this.height;
+            int column = this.cellOf(x, this.minX, columns);
+            int row = this.cellOf(y, this.minY, rows);
+            if (this.isFarEnough(x, y, column, row, columns, rows, cellX, cellY)) {
+                int cell = row * columns + column;
+                cellX[cell] = x;
+                cellY[cell] = y;
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The index of the cell that a value falls in, along one axis.
+     */
+    private int cellOf(double value, double min, int cells) {
+        return Math.min((int) ((value - min) / this.minDistance), cells - 1);
+    }
+
+    /**
+     * Checks whether a candidate point is far enough from all points placed so far, by looking at the points in its
+     * own cell and the cells around it.
+     */
+    private boolean isFarEnough(double x, double y, int column, int row, int columns, int rows, double[] cellX, double[] cellY) {
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, rows - 1); r++) {
+            for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, columns - 1); c++) {
+                int cell = r * columns + c;
+                // An empty cell holds NaN, for which both comparisons are false.
+                if (Math.abs(cellX[cell] - x) < this.minDistance && Math.abs(cellY[cell] - y) < this.minDistance) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,260 @@
+package rug.astro.util;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid that buckets objects by the square cell that their location falls in, so that finding the objects in
+ * some area only has to look at the cells overlapping that area, instead of at every object there is.
+ *
+ * Objects are identified by an int id, for instance their index in an entity store. Each object is in exactly one cell,
+ * the one containing its location, so a query only finds objects whose location lies in one of the cells touched by
+ * the queried rectangle. Callers that care about an object's size should grow the rectangle by the largest size.
+ *
+ * Only cells that hold something take up memory: the cells are kept in a hash table keyed by their coordinates, so
+ * the grid doesn't need to know the size of the world.
+ */
+public class SpatialHash {
+    /**
+     * Marks an id that is not in the grid.
+     */
+    private static final long NO_CELL = Long.MIN_VALUE;
+
+    /**
+     * The width and height of a cell.
+     */
+    private final double cellSize;
+
+    /**
+     * The keys of the cells in the hash table. A slot is in use if its bucket isn't null.
+     */
+    private long[] cellKeys;
+
+    /**
+     * The ids of the objects in each cell of the hash table.
+     */
+    private IntList[] buckets;
+
+    /**
+     * The number of slots of the hash table that are in use.
+     */
+    private int usedSlots;
+
+    /**
+     * The key of the cell that each id is in, or NO_CELL.
+     */
+    private long[] cellOfId;
+
+    /**
+     * The number of objects in the grid.
+     */
+    private int size;
+
+    /**
+     * Constructs a new, empty grid.
+     *
+     * @param cellSize The width and height of a cell. A good size is around the size of the area usually queried, or
+     *                 the distance between objects, whichever is bigger.
+     */
+    public SpatialHash(double cellSize) {
+        this.cellSize = cellSize;
+        this.cellKeys = new long[64];
+        this.buckets = new IntList[64];
+        this.cellOfId = new long[64];
+        Arrays.fill(this.cellOfId, NO_CELL);
+    }
+
+    /**
+     * Adds an object to the grid.
+     *
+     * @param id The object's id. It must not be in the grid already.
+     * @param x The object's location on the x-axis.
+     * @param y The object's location on the y-axis.
+     */
+    public void insert(int id, double x, double y) {
+        if (this.contains(id)) {
+            throw new IllegalArgumentException("Id " + id + " is already in the grid.");
+        }
+        if (id >= this.cellOfId.length) {
+            int oldLength = this.cellOfId.length;
+            this.cellOfId = Arrays.copyOf(this.cellOfId, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(this.cellOfId, oldLength, this.cellOfId.length, NO_CELL);
+        }
+        long key = this.keyOf(x, y);
+        this.bucketOf(key).add(id);
+        this.cellOfId[id] = key;
+        this.size++;
+    }
+
+    /**
+     * Tells the grid that an object has moved. This is cheap if the object is still in the same cell.
+     *
+     * @param id The object's id.
+     * @param x The object's new location on the x-axis.
+     * @param y The object's new location on the y-axis.
+     */
+    public void move(int id, double x, double y) {
+        long key = this.keyOf(x, y);
+        long oldKey = this.cellOfId[id];
+        if (key != oldKey) {
+            this.bucketOf(oldKey).removeValue(id);
+            this.bucketOf(key).add(id);
+            this.cellOfId[id] = key;
+        }
+    }
+
+    /**
+     * Removes an object from the grid, if it is in there.
+     *
+     * @param id The object's id.
+     */
+    public void remove(int id) {
+        if (this.contains(id)) {
+            this.bucketOf(this.cellOfId[id]).removeValue(id);
+            this.cellOfId[id] = NO_CELL;
+            this.size--;
+        }
+    }
+
+    /**
+     * Throws away the buckets of cells that have become empty. Empty buckets are normally kept, but a grid whose objects
+     * wander off into new cells for good, such as that of an open universe, would otherwise keep growing.
+     */
+    public void removeEmptyCells() {
+        int cells = 0;
+        for (IntList bucket : this.buckets) {
+            if (bucket != null && !bucket.isEmpty()) {
+                cells++;
+            }
+        }
+        long[] oldKeys = this.cellKeys;
+        IntList[] oldBuckets = this.buckets;
+        int length = 64;
+        while (cells * 2 > length) {
+            length *= 2;
+        }
+        this.cellKeys = new long[length];
+        this.buckets = new IntList[length];
+        this.usedSlots = cells;
+        for (int i = 0; i < oldBuckets.length; i++) {
+            if (oldBuckets[i] != null && !oldBuckets[i].isEmpty()) {
+                int slot = this.findSlot(oldKeys[i]);
+                this.cellKeys[slot] = oldKeys[i];
+                this.buckets[slot] = oldBuckets[i];
+            }
+        }
+    }
+
+    /**
+     * @param id An object's id.
+     * @return Whether the object is in the grid.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < this.cellOfId.length && this.cellOfId[id] != NO_CELL;
+    }
+
+    /**
+     * @return The number of objects in the grid.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Finds the objects in all cells that overlap a rectangle. This may include objects just outside the rectangle, so
+     * callers still have to check the objects they find if they need an exact answer.
+     *
+     * @param minX The left side of the rectangle.
+     * @param minY The top side of the rectangle.
+     * @param maxX The right side of the rectangle.
+     * @param maxY The bottom side of the rectangle.
+     * @param result The list that the ids of the objects found are put in. It is cleared first.
+     */
+    public void query(double minX, double minY, double maxX, double maxY, IntList result) {
+        result.clear();
+        int minCellX = this.cellCoordinate(minX);
+        int minCellY = this.cellCoordinate(minY);
+        int maxCellX = this.cellCoordinate(maxX);
+        int maxCellY = this.cellCoordinate(maxY);
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                int slot = this.findSlot(key(cellX, cellY));
+                IntList bucket = this.buckets[slot];
+                if (bucket != null) {
+                    for (int i = 0; i < bucket.size(); i++) {
+                        result.add(bucket.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param value A location on either axis.
+     * @return The coordinate of the cell that the location falls in, on the same axis.
+     */
+    private int cellCoordinate(double value) {
+        return (int) Math.floor(value / this.cellSize);
+    }
+
+    private long keyOf(double x, double y) {
+        return key(this.cellCoordinate(x), this.cellCoordinate(y));
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the bucket of a cell, making a new one if the cell had none yet. Buckets that become empty are kept, since
+     * objects that move tend to come back to the same cells.
+     *
+     * @param key The cell's key.
+     * @return The cell's bucket.
+     */
+    private IntList bucketOf(long key) {
+        int slot = this.findSlot(key);
+        if (this.buckets[slot] == null) {
+            this.cellKeys[slot] = key;
+            this.buckets[slot] = new IntList(4);
+            this.usedSlots++;
+            if (this.usedSlots * 2 > this.buckets.length) {
+                this.growTable();
+                slot = this.findSlot(key);
+            }
+        }
+        return this.buckets[slot];
+    }
+
+    /**
+     * Finds the slot of the hash table that holds the given cell, or the empty slot where it would go. Slots are
+     * probed linearly from the cell's hash onwards.
+     *
+     * @param key The cell's key.
+     * @return The slot's index.
+     */
+    private int findSlot(long key) {
+        int mask = this.buckets.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (this.buckets[slot] != null && this.cellKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the number of slots in the hash table, and puts every cell in its new place.
+     */
+    private void growTable() {
+        long[] oldKeys = this.cellKeys;
+        IntList[] oldBuckets = this.buckets;
+        this.cellKeys = new long[oldKeys.length * 2];
+        this.buckets = new IntList[oldBuckets.length * 2];
+        for (int i = 0; i < oldBuckets.length; i++) {
+            if (oldBuckets[i] != null) {
+                int slot = this.findSlot(oldKeys[i]);
+                this.cellKeys[slot] = oldKeys[i];
+                this.buckets[slot] = oldBuckets[i];
+            }
+        }
+    }
+}
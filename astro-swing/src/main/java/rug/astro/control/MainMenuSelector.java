@@ -0,0 +1,344 @@
+package rug.astro.control;
+
+import rug.astro.model.Game;
+import rug.astro.model.SavedGame;
+import rug.astro.model.Spaceship;
+import rug.astro.net.GameClient;
+import rug.astro.net.GameServer;
+import rug.astro.view.AstroFrame;
+import rug.astro.view.MainMenuFrame;
+import rug.astro.view.MainMenuPanel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class MainMenuSelector extends MouseAdapter {
+    /**
+     * The system property that, when set to a number, makes the game's worlds follow from that seed, so that the same
+     * worlds come up every time. For example: java -Dastro.seed=42 ...
+     */
+    public static final String SEED_PROPERTY = "astro.seed";
+
+    /**
+     * The system property that, when set to a file name, records the keys of every tick into that file, so that the
+     * session can be played back by ReplayMain. For example: java -Dastro.recordInput=session.bin ...
+     */
+    public static final String RECORD_INPUT_PROPERTY = "astro.recordInput";
+
+    /**
+     * The system property that, when set to true, makes the game's worlds open universes without edges, which are
+     * generated in chunks while the ship flies through them. For example: java -Dastro.openUniverse=true ...
+     */
+    public static final String OPEN_UNIVERSE_PROPERTY = "astro.openUniverse";
+
+    /**
+     * The system property that, when set to a file name, carries on with the game saved in that file, if there is one,
+     * and saves the game into it every few seconds and when the application exits. For example:
+     * java -Dastro.saveFile=astro.sav ...
+     */
+    public static final String SAVE_FILE_PROPERTY = "astro.saveFile";
+
+    /**
+     * The system property that, when set to a port number, lets other players join the game over the network, on that
+     * port. Only bounded worlds can be played on a server. For example: java -Dastro.serverPort=4242 ...
+     */
+    public static final String SERVER_PORT_PROPERTY = "astro.serverPort";
+
+    /**
+     * The system property that, when set to the host and port of a server, joins the game on that server, instead of
+     * starting a game of your own. For example: java -Dastro.connect=localhost:4242 ...
+     */
+    public static final String CONNECT_PROPERTY = "astro.connect";
+
+    /**
+     * The longest time to wait for a server to welcome this player, in seconds.
+     */
+    private static final int WELCOME_TIMEOUT = 10;
+
+    /**
+     * The game that is being played, which is ended when the application exits, or null if there is none. Only used
+     * while holding the lock of this class.
+     */
+    private static Game currentGame;
+
+    /**
+     * Whether the shutdown hook that ends the current game has been added.
+     */
+    private static boolean shutdownHookAdded;
+
+    /**
+     * frame of the mainmenu
+     */
+    private MainMenuFrame mf;
+
+    /**
+     * Whether a game on a server is being joined, so that clicking again doesn't join it twice. Only the event dispatch
+     * thread uses this.
+     */
+    private boolean joining;
+
+    /**
+     * Constructor
+     * @param mp mp that listens to this class
+     * @param mf mf so we can dispose the mainframe on click
+     */
+    public MainMenuSelector(MainMenuPanel mp, MainMenuFrame mf) {
+        this.mf = mf;
+        mp.addMouseListener(this);
+        mp.addMouseMotionListener(this);
+    }
+
+    /**
+     * Selects a button on the panel when to mouse is pressed on it and performs the action that belongs to the button.
+     * @param event
+     */
+    @Override
+    public void mousePressed(MouseEvent event) {
+        int x = event.getX();
+        int y = event.getY();
+        if (x >= 100 && x <= 300) {
+            if (y >= 50 && y <= 125) { // button for singleplayer
+                handleSinglePlayer();
+            }
+        }
+    }
+
+    /**
+     * Starts a single player game.
+     */
+    private void handleSinglePlayer() {
+        String server = System.getProperty(CONNECT_PROPERTY);
+        if (server != null) {
+            joinGame(server);
+            return;
+        }
+        mf.dispose();
+        // Create the game model and display frame.
+        Long seed = Long.getLong(SEED_PROPERTY);
+        boolean openUniverse = Boolean.getBoolean(OPEN_UNIVERSE_PROPERTY);
+        Game game = new Game(seed != null ? seed : ThreadLocalRandom.current().nextLong(), openUniverse);
+        play(game);
+        recordInput(game);
+        saveGame(game);
+        serveGame(game);
+        Color color = JColorChooser.showDialog(new JFrame(),"Select a color", new Color(game.getSpaceship().getColor()));
+        if (color != null) {
+            game.getSpaceship().setColor(color.getRGB() & 0xFFFFFF);
+        }
+        AstroFrame frame = new AstroFrame(game);
+        game.start();
+    }
+
+    /**
+     * Joins the game on a server. The world comes from the server, so the seed, open universe and save file properties
+     * don't apply. Connecting and waiting for the server to welcome this player happens on a thread of its own, so that
+     * the menu stays responsive in the meantime; the game only replaces the menu once the player is welcomed.
+     *
+     * @param server The host and port of the server, separated by a colon.
+     */
+    private void joinGame(String server) {
+        if (this.joining) {
+            return;
+        }
+        this.joining = true;
+        // The color is chosen first, so that the server doesn't have to wait for this player while the dialog is open.
+        Color color = JColorChooser.showDialog(new JFrame(),"Select a color", new Color(Spaceship.DEFAULT_COLOR));
+        new SwingWorker<GameClient, Void>() {
+            @Override
+            protected GameClient doInBackground() throws IOException, InterruptedException {
+                return connect(server, color);
+            }
+
+            @Override
+            protected void done() {
+                joining = false;
+                GameClient client;
+                try {
+                    client = this.get();
+                } catch (ExecutionException | InterruptedException e) {
+                    Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                    System.err.println("Could not join the game on " + server + ".");
+                    cause.printStackTrace();
+                    JOptionPane.showMessageDialog(mf, "Could not join the game on " + server + ":\n" + cause.getMessage(),
+                            "Could not join the game", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                mf.dispose();
+                Game game = Game.withoutWorld(); // The world is generated from the server's seed once the game has started.
+                game.setClient(client);
+                play(game);
+                AstroFrame frame = new AstroFrame(game);
+                game.start();
+            }
+        }.execute();
+    }
+
+    /**
+     * Connects to a server, and waits until it has welcomed this player. This blocks, so it shouldn't be called on the
+     * event dispatch thread.
+     *
+     * @param server The host and port of the server, separated by a colon.
+     * @param color The color of this player's ship, or null to leave it up to the server.
+     * @return The client, which has been welcomed.
+     * @throws IOException If the server can't be reached, or doesn't welcome this player in time.
+     * @throws InterruptedException If interrupted while waiting for the welcome.
+     */
+    private static GameClient connect(String server, Color color) throws IOException, InterruptedException {
+        int colon = server.lastIndexOf(':');
+        if (colon < 0) {
+            throw new IOException("The server should be given as host:port.");
+        }
+        GameClient client;
+        try {
+            client = new GameClient(new InetSocketAddress(server.substring(0, colon),
+                    Integer.parseInt(server.substring(colon + 1))));
+        } catch (IllegalArgumentException e) { // A port that isn't a number, or is out of range.
+            throw new IOException("The server should be given as host:port.", e);
+        }
+        try {
+            if (color != null) {
+                client.sendColor(color.getRGB() & 0xFFFFFF);
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WELCOME_TIMEOUT);
+            while (!client.isWelcomed()) {
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("The server didn't answer.");
+                }
+                client.poll();
+                Thread.sleep(10);
+            }
+            return client;
+        } catch (IOException | InterruptedException e) {
+            client.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Makes a game the one that is being played, so that it is ended when the application exits, unless it has been
+     * ended before that.
+     *
+     * @param game The game.
+     */
+    private static synchronized void play(Game game) {
+        currentGame = game;
+        if (!shutdownHookAdded) { // One hook for whichever game is played last, rather than one for every game.
+            Runtime.getRuntime().addShutdownHook(new Thread(MainMenuSelector::endCurrentGame, "GameCloser"));
+            shutdownHookAdded = true;
+        }
+    }
+
+    private static synchronized void endCurrentGame() {
+        if (currentGame != null) {
+            endGame(currentGame);
+        }
+    }
+
+    /**
+     * Ends a game for good: quits it, which saves it one last time if it is saved, and then closes and takes away its
+     * saver, input recorder, server and client. This has to be done before another game is started, since that game
+     * may be saved to or recorded into the same file. Ending a game again does nothing.
+     *
+     * @param game The game to end.
+     */
+    static synchronized void endGame(Game game) {
+        game.quit(); // Stops the game loop, and saves the game.
+        GameSaver saver = game.getGameSaver();
+        if (saver != null) {
+            game.setGameSaver(null);
+            saver.close(); // Waits for the last saved game to be written.
+        }
+        InputRecorder recorder = game.getInputRecorder();
+        if (recorder != null) {
+            game.setInputRecorder(null);
+            recorder.close();
+        }
+        GameServer server = game.getServer();
+        if (server != null) {
+            game.setServer(null);
+            server.close();
+        }
+        GameClient client = game.getClient();
+        if (client != null) {
+            game.setClient(null);
+            client.close();
+        }
+        if (currentGame == game) {
+            currentGame = null;
+        }
+    }
+
+    /**
+     * Lets other players join the game on the port named by the server port property, if it is set. The server is
+     * closed when the game ends.
+     *
+     * @param game The game to serve.
+     */
+    private static void serveGame(Game game) {
+        Integer port = Integer.getInteger(SERVER_PORT_PROPERTY);
+        if (port == null) {
+            return;
+        }
+        try {
+            GameServer server = new GameServer(game, new InetSocketAddress(port));
+            game.setServer(server);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not serve the game on port " + port + ".");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Restores the game saved in the file named by the save file property, if it is set and the file exists, and has
+     * the game saved into that file from then on. The game is saved one last time when it ends.
+     *
+     * @param game The game to restore and save.
+     */
+    private static void saveGame(Game game) {
+        String path = System.getProperty(SAVE_FILE_PROPERTY);
+        if (path == null) {
+            return;
+        }
+        Path file = Paths.get(path);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                game.restore(SavedGame.read(in));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Could not restore the game saved in " + path + ", so a new game is started.");
+                e.printStackTrace();
+            }
+        }
+        game.setGameSaver(new GameSaver(file));
+    }
+
+    /**
+     * Starts recording the game's input into the file named by the record input property, if it is set. The recording
+     * is closed when the game ends.
+     *
+     * @param game The game whose input is recorded.
+     */
+    private static void recordInput(Game game) {
+        String path = System.getProperty(RECORD_INPUT_PROPERTY);
+        if (path == null) {
+            return;
+        }
+        try {
+            game.setInputRecorder(new InputRecorder(new FileOutputStream(path)));
+        } catch (IOException e) {
+            System.err.println("Could not start recording input into " + path + ".");
+            e.printStackTrace();
+        }
+    }
+}
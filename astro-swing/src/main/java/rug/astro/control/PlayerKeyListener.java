@@ -0,0 +1,106 @@
+package rug.astro.control;
+
+import rug.astro.model.Spaceship;
+
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+
+public class PlayerKeyListener implements KeyListener {
+
+    private static final int DEPARTURE_KEY = KeyEvent.VK_X;
+    /**
+     * The key that, when pressed, causes the ship to accelerate.
+     */
+    private static final int ACCELERATION_KEY = KeyEvent.VK_W;
+
+    /**
+     * The key that turns the ship left, or counter-clockwise.
+     */
+    private static final int LEFT_KEY = KeyEvent.VK_A;
+
+    /**
+     * The key that turns the ship right, or clockwise.
+     */
+    private static final int RIGHT_KEY = KeyEvent.VK_D;
+
+    /**
+     * The key that causes the ship to fire its weapon.
+     */
+    private static final int FIRE_WEAPON_KEY = KeyEvent.VK_SPACE;
+
+    /**
+     * The queue that key events are put in, for the game updater to apply to the spaceship.
+     */
+    private final InputQueue queue;
+
+    /**
+     * The keys of the spaceship that are held down, as a combination of the key bits of Spaceship. Only the event
+     * dispatch thread uses this.
+     */
+    private int heldKeys;
+
+    /**
+     * Constructs a new player key listener to control the ship of a game.
+     * @param queue The input queue of the game, which carries the key events to its ship.
+     */
+    public PlayerKeyListener(InputQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * This method is invoked when a key is pressed and tells the game that the corresponding key of the ship is pressed.
+     *
+     * @param event Key event that triggered the method.
+     */
+    @Override
+    public void keyPressed(KeyEvent event) {
+        int key = toShipKey(event.getKeyCode());
+        if (key != 0 && (this.heldKeys & key) == 0) { // Keys that repeat while held down need not be sent again.
+            this.heldKeys |= key;
+            this.queue.offer(InputQueue.keyEvent(this.heldKeys, key), System.nanoTime());
+        }
+    }
+
+    /**
+     * This method is invoked when a key is released and tells the game that the corresponding key of the ship is
+     * released.
+     *
+     * @param event Key event that triggered the method.
+     */
+    @Override
+    public void keyReleased(KeyEvent event) {
+        int key = toShipKey(event.getKeyCode());
+        if (key != 0 && (this.heldKeys & key) != 0) {
+            this.heldKeys &= ~key;
+            this.queue.offer(InputQueue.keyEvent(this.heldKeys, 0), System.nanoTime());
+        }
+    }
+
+    /**
+     * @param keyCode The code of a key on the keyboard.
+     * @return The key bit of Spaceship that the key controls, or 0 if it doesn't control the ship.
+     */
+    private static int toShipKey(int keyCode) {
+        switch (keyCode) {
+            case ACCELERATION_KEY:
+                return Spaceship.ACCELERATE_KEY;
+            case LEFT_KEY:
+                return Spaceship.TURN_LEFT_KEY;
+            case RIGHT_KEY:
+                return Spaceship.TURN_RIGHT_KEY;
+            case DEPARTURE_KEY:
+                return Spaceship.DEPARTURE_KEY;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * This method doesn't do anything, but we must provide an empty implementation to satisfy the contract of the
+     * KeyListener interface.
+     *
+     * @param event Key event that triggered the method.
+     */
+    @Override
+    public void keyTyped(KeyEvent event) {}
+}
@@ -21,12 +21,14 @@ public class QuitAction extends AbstractAction {
     }
 
     /**
-     * Invoked when an action occurs.
+     * Invoked when an action occurs. The game is ended, which saves it if it is saved, before going back to the main
+     * menu, so that a game started from there doesn't share a save file or recording with this one.
      *
      * @param event The event to be processed.
      */
     @Override
     public void actionPerformed(ActionEvent event) {
+        MainMenuSelector.endGame(this.game);
         JMenuItem source = (JMenuItem) event.getSource();
         JPopupMenu p = (JPopupMenu) source.getParent();
         JMenu m = (JMenu) p.getInvoker();
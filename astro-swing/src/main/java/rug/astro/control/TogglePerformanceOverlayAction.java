@@ -0,0 +1,43 @@
+package rug.astro.control;
+
+import rug.astro.view.PerformanceOverlay;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+
+public class TogglePerformanceOverlayAction extends AbstractAction {
+    /**
+     * The key that switches the overlay on and off.
+     */
+    private static final int TOGGLE_KEY = KeyEvent.VK_F3;
+
+    /**
+     * The overlay that is switched on and off by this action.
+     */
+    private final PerformanceOverlay overlay;
+
+    /**
+     * Constructs the action. Calls the parent constructor to set the name of this action, and gives it a key, so that
+     * the overlay can be switched without opening the menu.
+     *
+     * @param overlay The overlay that will be switched on and off.
+     */
+    public TogglePerformanceOverlayAction(PerformanceOverlay overlay) {
+        super("Performance Overlay");
+        this.overlay = overlay;
+        this.putValue(ACCELERATOR_KEY, KeyStroke.getKeyStroke(TOGGLE_KEY, 0));
+        this.putValue(SELECTED_KEY, overlay.isVisible());
+    }
+
+    /**
+     * Invoked when an action occurs.
+     *
+     * @param event The event to be processed. In this case, no information from the actual event is needed.
+     */
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        this.overlay.setVisible(!this.overlay.isVisible());
+        this.putValue(SELECTED_KEY, this.overlay.isVisible()); // Keeps the check box in the menu in step.
+    }
+}
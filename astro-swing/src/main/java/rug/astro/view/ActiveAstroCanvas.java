@@ -0,0 +1,161 @@
+package rug.astro.view;
+
+import rug.astro.control.GameUpdater;
+import rug.astro.model.Game;
+import rug.astro.model.GameSnapshot;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shows a game by rendering it actively: instead of asking Swing to repaint and leaving it up to the event dispatch
+ * thread when (and whether) that happens, a render thread of its own draws every frame into a back buffer and presents
+ * it, at a fixed rate. This gives steady frame times, even when the event dispatch thread is busy.
+ *
+ * The render thread counts every frame that was due with the performance overlay, so the overlay's count of repaints
+ * that were painted tells how many frames were presented, and how many were skipped because the thread fell behind.
+ */
+public class ActiveAstroCanvas extends Canvas implements Runnable {
+    /**
+     * The number of frames that are rendered per second.
+     */
+    private static final int FRAMES_PER_SECOND = 144;
+
+    /**
+     * The number of nanoseconds between two frames.
+     */
+    private static final long NANOSECONDS_PER_FRAME = TimeUnit.SECONDS.toNanos(1) / FRAMES_PER_SECOND;
+
+    /**
+     * The number of buffers to render with: the one on screen, and the one that the next frame is drawn into.
+     */
+    private static final int BUFFERS = 2;
+
+    /**
+     * The game model that this canvas shows.
+     */
+    private final Game game;
+
+    /**
+     * Draws the frames of the game.
+     */
+    private final GameRenderer renderer;
+
+    /**
+     * The thread that renders the frames, or null while the canvas is not on the screen.
+     */
+    private Thread renderThread;
+
+    /**
+     * Whether the render thread should keep rendering. Setting this to false makes it stop after the current frame.
+     */
+    private volatile boolean rendering;
+
+    /**
+     * Constructs a new canvas that shows the given game.
+     *
+     * @param game The model which will be drawn on this canvas.
+     */
+    ActiveAstroCanvas(Game game) {
+        this.game = game;
+        this.renderer = new GameRenderer(game);
+        this.setIgnoreRepaint(true); // Every frame is drawn by the render thread, so Swing need not paint anything.
+        this.setFocusable(false); // Let key presses go to the frame, where the player's key listener is.
+        this.setBackground(Color.BLACK);
+    }
+
+    /**
+     * Starts rendering once the canvas is on the screen, since only then can it have a buffer strategy.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        this.createBufferStrategy(BUFFERS);
+        this.rendering = true;
+        this.renderThread = new Thread(this, "AstroRenderer");
+        this.renderThread.setDaemon(true); // Rendering should never keep the application alive on its own.
+        this.renderThread.start();
+    }
+
+    /**
+     * Stops rendering before the canvas is taken off the screen, since that throws away its buffers.
+     */
+    @Override
+    public void removeNotify() {
+        Thread thread = this.renderThread;
+        this.rendering = false;
+        this.renderThread = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try { // Wait for the render thread to finish the frame it may be drawing.
+                thread.join();
+            } catch (InterruptedException exception) {
+                System.err.println("Interrupted while waiting for the render thread to finish execution.");
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.removeNotify();
+    }
+
+    /**
+     * The render loop. A frame is due every NANOSECONDS_PER_FRAME; in between frames, the thread parks. If rendering a
+     * frame took so long that the turn of the next frames has already passed, those frames are skipped rather than
+     * rendered back to back, so that the frames that are presented stay evenly spaced.
+     */
+    @Override
+    public void run() {
+        BufferStrategy strategy = this.getBufferStrategy();
+        long nextFrame = System.nanoTime();
+        while (this.rendering) {
+            long currentTime = System.nanoTime();
+            if (currentTime < nextFrame) {
+                LockSupport.parkNanos(this, nextFrame - currentTime); // May wake up early, for instance when stopped.
+                continue;
+            }
+            long missedFrames = (currentTime - nextFrame) / NANOSECONDS_PER_FRAME;
+            this.renderer.getOverlay().countRepaintRequests(missedFrames + 1); // Every frame that was due.
+            nextFrame += missedFrames * NANOSECONDS_PER_FRAME;
+            this.renderFrame(strategy, currentTime);
+            nextFrame += NANOSECONDS_PER_FRAME;
+        }
+    }
+
+    /**
+     * Draws one frame into the back buffer and presents it. The contents of the buffers may be lost at any time, for
+     * instance when the display mode changes, in which case the frame is drawn again.
+     *
+     * @param strategy The buffer strategy to render with.
+     * @param currentTime The value of System.nanoTime() at the start of the frame.
+     */
+    private void renderFrame(BufferStrategy strategy, long currentTime) {
+        GameSnapshot snapshot = this.game.getSnapshot();
+        long timeSinceLastTick = 0L;
+        if (this.game.isRunning()) { // Only move objects along in between ticks while there are ticks to come.
+            timeSinceLastTick = Math.min(
+                    TimeUnit.NANOSECONDS.toMillis(currentTime - snapshot.getTime()),
+                    (long) GameUpdater.MILLISECONDS_PER_TICK
+            );
+        }
+        do {
+            do {
+                Graphics2D graphics2D = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    this.renderer.render(graphics2D, snapshot, this.getWidth(), this.getHeight(), timeSinceLastTick);
+                } finally {
+                    graphics2D.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); // Some systems buffer drawing commands; this makes the frame appear now.
+    }
+
+    /**
+     * @return The overlay that shows how well the game is running.
+     */
+    public PerformanceOverlay getOverlay() {
+        return this.renderer.getOverlay();
+    }
+}
@@ -3,6 +3,7 @@ package rug.astro.view;
 import rug.astro.control.NewGameAction;
 import rug.astro.control.PlayerKeyListener;
 import rug.astro.control.QuitAction;
+import rug.astro.control.TogglePerformanceOverlayAction;
 import rug.astro.model.Game;
 
 import javax.swing.*;
@@ -19,6 +20,12 @@ public class AstroFrame extends JFrame {
      */
     public static final Dimension WINDOW_SIZE = new Dimension(800, 800);
 
+    /**
+     * The system property that, when set to true, makes the game render actively on its own render thread, instead of
+     * being repainted by Swing. For example: java -Dastro.activeRendering=true ...
+     */
+    public static final String ACTIVE_RENDERING_PROPERTY = "astro.activeRendering";
+
     /**
      * The game model.
      */
@@ -44,7 +51,7 @@ public class AstroFrame extends JFrame {
         this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         // Add a key listener that can control the game's spaceship.
-        this.addKeyListener(new PlayerKeyListener(this.game.getSpaceship()));
+        this.addKeyListener(new PlayerKeyListener(this.game.getInputQueue()));
 
         // Add a menu bar with some simple actions.
         JMenuBar menuBar = new JMenuBar();
@@ -54,8 +61,21 @@ public class AstroFrame extends JFrame {
         menu.add(new NewGameAction(this.game));
         this.setJMenuBar(menuBar);
 
-        // Add the custom panel that the game will be drawn to.
-        this.add(new AstroPanel(this.game));
+        // Add the custom component that the game will be drawn to.
+        PerformanceOverlay overlay;
+        if (Boolean.getBoolean(ACTIVE_RENDERING_PROPERTY)) {
+            // The canvas is a heavyweight component, which would hide the menu if it were lightweight.
+            menu.getPopupMenu().setLightWeightPopupEnabled(false);
+            ActiveAstroCanvas canvas = new ActiveAstroCanvas(this.game);
+            overlay = canvas.getOverlay();
+            this.add(canvas);
+        } else {
+            AstroPanel panel = new AstroPanel(this.game);
+            overlay = panel.getOverlay();
+            this.add(panel);
+        }
+        // The overlay can be switched from the menu, or with its key.
+        menu.add(new JCheckBoxMenuItem(new TogglePerformanceOverlayAction(overlay)));
         this.setVisible(true);
     }
 }
@@ -0,0 +1,81 @@
+package rug.astro.view;
+
+import rug.astro.game_observer.GameUpdateListener;
+import rug.astro.model.Game;
+
+import javax.swing.*;
+import java.awt.*;
+
+public class AstroPanel extends JPanel implements GameUpdateListener {
+
+    /**
+     * The game model that this panel will draw to the screen.
+     */
+    private final Game game;
+
+    /**
+     * Draws the frames of the game that this panel shows.
+     */
+    private final GameRenderer renderer;
+
+    /**
+     * Number of milliseconds since the last time the game's physics were updated. This is used to continue drawing all
+     * game objects as if they have kept moving, even in between game ticks.
+     */
+    private long timeSinceLastTick = 0L;
+
+    /**
+     * Constructs a new game panel, based on the given model. Also starts listening to the game to check for updates, so
+     * that it can repaint itself if necessary.
+     *
+     * @param game The model which will be drawn in this panel.
+     */
+    AstroPanel(Game game) {
+        this.game = game;
+        this.renderer = new GameRenderer(game);
+        // Since the game takes place in space, it is efficient to just lazily make the background black.
+        this.setBackground(Color.BLACK);
+        this.game.addListener(this);
+    }
+
+    /**
+     * The method provided by JPanel for 'painting' this component. It is overridden here so that this panel can define
+     * some custom drawing. By default, a JPanel is just an empty rectangle.
+     *
+     * @param graphics The graphics object that exposes various drawing methods to use.
+     */
+    @Override
+    public void paintComponent(Graphics graphics) {
+		/* The parent method is not called. Here's an excerpt from the documentation about that:
+		"...if you do not invoke super's implementation you must honor the opaque property, that is if this component is
+		opaque, you must completely fill in the background in an opaque color. If you do not honor the opaque property
+		you will likely see visual artifacts." The renderer fills the whole panel with black first, so that is honored,
+		and the parent method would only fill it once more, with a copy of the graphics object made on every frame.
+		 */
+        // The Graphics2D class offers some more advanced options when drawing, so before doing any drawing, this is obtained simply by casting.
+        this.renderer.render((Graphics2D) graphics, this.game.getSnapshot(), this.getWidth(), this.getHeight(), this.timeSinceLastTick);
+    }
+
+    /**
+     * Do something when the game has indicated that it is updated. For this panel, that means redrawing.
+     *
+     * @param timeSinceLastTick The number of milliseconds since the game's physics were updated. This is used to allow
+     *                          objects to continue to appear animated between each game tick.
+     *
+     * Note for your information: when repaint() is called, Swing does some internal stuff, and then paintComponent()
+     * is called.
+     */
+    @Override
+    public void onGameUpdated(long timeSinceLastTick) {
+        this.timeSinceLastTick = timeSinceLastTick;
+        this.renderer.getOverlay().countRepaintRequests(1); // Swing may fold several of these into one paint.
+        this.repaint();
+    }
+
+    /**
+     * @return The overlay that shows how well the game is running.
+     */
+    public PerformanceOverlay getOverlay() {
+        return this.renderer.getOverlay();
+    }
+}
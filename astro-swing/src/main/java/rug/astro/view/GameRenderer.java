@@ -0,0 +1,357 @@
+package rug.astro.view;
+
+import rug.astro.control.GameUpdater;
+import rug.astro.model.Game;
+import rug.astro.model.GameSnapshot;
+import rug.astro.model.Planet;
+import rug.astro.view.view_models.OtherSpaceshipViewModel;
+import rug.astro.view.view_models.SpaceshipViewModel;
+
+import java.awt.*;
+
+/**
+ * Draws frames of a game. It doesn't care what it draws on, so that the same frames can be painted by Swing into an
+ * AstroPanel, or rendered actively by an ActiveAstroCanvas.
+ */
+public class GameRenderer {
+    /**
+     * The fonts used for the text in the middle of the screen and the minimap. Fonts are made once,
+     * since making them on every frame would leave a trail of garbage behind at the frame rate.
+     */
+    static final Font TEXT_FONT = new Font("big", Font.CENTER_BASELINE, 15);
+
+    static final Font MINIMAP_FONT = new Font("big", Font.CENTER_BASELINE, 10);
+
+    /**
+     * Draws the star field.
+     */
+    private final StarTiles starTiles = new StarTiles();
+
+    /**
+     * Draws the planets.
+     */
+    private final PlanetTiles planetTiles = new PlanetTiles();
+
+    /**
+     * Draws the spaceship. The same view model is used for every frame, with the frame's snapshot as its model.
+     */
+    private final SpaceshipViewModel spaceshipViewModel = new SpaceshipViewModel(null);
+
+    /**
+     * Draws the ships of the other players, one after the other.
+     */
+    private final OtherSpaceshipViewModel otherSpaceshipViewModel = new OtherSpaceshipViewModel(null, 0);
+
+    /**
+     * The text that tells how many planets have been visited, and the numbers it was made for. It is only made again
+     * when one of the numbers changes.
+     */
+    private String visitedText;
+
+    private int visitedTextDiscovered = -1;
+
+    private int visitedTextPlanetCount = -1;
+
+    /**
+     * Draws the map of all of space.
+     */
+    private final Minimap minimap;
+
+    /**
+     * Draws the info card of the planet that the ship is on.
+     */
+    private final InfoCards infoCards = new InfoCards();
+
+    /**
+     * Shows how well the game is running on top of the frames, while it is switched on.
+     */
+    private final PerformanceOverlay overlay;
+
+    /**
+     * The game model that this renderer draws.
+     */
+    private final Game game;
+
+    /**
+     * The snapshot of the game that is being drawn. It is given once for every frame, so that everything in a frame
+     * shows the game as it was after one and the same tick.
+     */
+    private GameSnapshot snapshot;
+
+    /**
+     * Number of milliseconds since the last time the game's physics were updated, for the frame that is being drawn.
+     */
+    private long timeSinceLastTick = 0L;
+
+    /**
+     * The location in space that is in the middle of the frame that is being drawn. The view follows the ship as it is
+     * drawn: moved along by its velocity since the last tick, so that the view moves smoothly, rather than once per
+     * tick. It is moved along by at most a whole tick, so that the view doesn't run off when a tick is late.
+     */
+    private double viewX;
+
+    private double viewY;
+
+    /**
+     * Constructs a new renderer for the given game.
+     *
+     * @param game The model which will be drawn.
+     */
+    GameRenderer(Game game) {
+        this.game = game;
+        this.minimap = new Minimap(game);
+        this.overlay = new PerformanceOverlay(game);
+        PlanetImages.getInstance(); // Decode the planet pictures now, rather than halfway through the first frame.
+    }
+
+    /**
+     * Draws one whole frame of the game, background included.
+     *
+     * @param graphics2D The graphics object to draw with.
+     * @param snapshot The snapshot of the game to draw.
+     * @param width The width of the area to draw in.
+     * @param height The height of the area to draw in.
+     * @param timeSinceLastTick The number of milliseconds since the game's physics were updated. This is used to allow
+     *                          objects to continue to appear animated between each game tick.
+     *
+     * While the performance overlay is switched on, the draw phases are timed and the overlay is drawn on top.
+     */
+    public void render(Graphics2D graphics2D, GameSnapshot snapshot, int width, int height, long timeSinceLastTick) {
+        boolean measure = this.overlay.isVisible();
+        if (measure) {
+            this.overlay.startFrame();
+        }
+        this.prepare(snapshot, timeSinceLastTick);
+
+        // Since the game takes place in space, the background is simply black.
+        graphics2D.setColor(Color.BLACK);
+        graphics2D.fillRect(0, 0, width, height);
+        // Set some key-value options for the graphics object. In this case, this just sets antialiasing to true.
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics2D.setColor(Color.WHITE);
+        graphics2D.setFont(TEXT_FONT);
+        if (!measure) {
+            this.drawStars(graphics2D);
+            this.drawGameObjects(graphics2D);
+            this.drawDead(graphics2D);
+            this.drawBorderX(graphics2D);
+            this.drawBorderY(graphics2D);
+            this.drawPlanets(graphics2D);
+            this.drawMinimap(graphics2D);
+            this.drawInfo(graphics2D);
+            return;
+        }
+        this.overlay.startPhase();
+        this.drawStars(graphics2D);
+        this.overlay.endPhase(PerformanceOverlay.STARS);
+        this.overlay.startPhase();
+        this.drawGameObjects(graphics2D);
+        this.overlay.endPhase(PerformanceOverlay.GAME_OBJECTS);
+        this.drawDead(graphics2D);
+        this.drawBorderX(graphics2D);
+        this.drawBorderY(graphics2D);
+        this.overlay.startPhase();
+        this.drawPlanets(graphics2D);
+        this.overlay.endPhase(PerformanceOverlay.PLANETS);
+        this.overlay.startPhase();
+        this.drawMinimap(graphics2D);
+        this.overlay.endPhase(PerformanceOverlay.MINIMAP);
+        this.overlay.startPhase();
+        this.drawInfo(graphics2D);
+        this.overlay.endPhase(PerformanceOverlay.INFO);
+        this.overlay.endFrame(graphics2D);
+    }
+
+    /**
+     * @return The overlay that shows how well the game is running.
+     */
+    public PerformanceOverlay getOverlay() {
+        return this.overlay;
+    }
+
+    /**
+     * Sets the snapshot and time that the draw methods draw from. render() does this for a whole frame; calling it
+     * separately lets the draw methods be used one at a time, for instance to measure them.
+     *
+     * @param snapshot The snapshot of the game to draw.
+     * @param timeSinceLastTick The number of milliseconds since the game's physics were updated.
+     */
+    void prepare(GameSnapshot snapshot, long timeSinceLastTick) {
+        this.snapshot = snapshot;
+        this.timeSinceLastTick = timeSinceLastTick;
+        double gameTickRatio = snapshot.isShipDestroyed() ? 0.0
+                : Math.min(1.0, timeSinceLastTick / GameUpdater.MILLISECONDS_PER_TICK);
+        this.viewX = snapshot.getShipX() + snapshot.getShipVelocityX() * gameTickRatio;
+        this.viewY = snapshot.getShipY() + snapshot.getShipVelocityY() * gameTickRatio;
+    }
+
+    /**
+     * Draws the planets that are in view, from tiles that each hold the planets of a piece of space.
+     *
+     * @param g The graphics object to draw with.
+     */
+    public void drawPlanets(Graphics2D g) {
+        g.setColor(Color.WHITE);
+        if (game.isRunning()) {
+            // Planets are drawn as if the ship were 375 pixels from the left and top of the view.
+            this.planetTiles.draw(g, snapshot, this.viewX - 375, this.viewY - 375,
+                    AstroFrame.WINDOW_SIZE.width, AstroFrame.WINDOW_SIZE.height);
+        }
+    }
+
+    /**
+     * Draws the left or right edge of space, if it is in view. An open universe has no edges.
+     *
+     * @param g The graphics object to draw with.
+     */
+    public void drawBorderX(Graphics2D g) {
+        if (snapshot.isOpenUniverse()) {
+            return;
+        }
+        g.setColor(Color.WHITE);
+        double x = this.viewX;
+        double y = this.viewY;
+        int x1 = 0;
+        int x2 = 800;
+        int y1 = 0;
+        int y2 = 800;
+        boolean draw = false;
+        if (x-400 < 0) {
+            x1 = (int) (400-x);
+            x2 = (int) (400-x);
+            draw = true;
+        } else if (x+400 > Game.SPACESIZE) {
+            x1 = (int) (Game.SPACESIZE-x+400);
+            x2 = (int) (Game.SPACESIZE-x+400);
+            draw = true;
+        }
+        if (y-400 < 0) {
+            y1 = (int) (400-y);
+            y2 = game.SPACESIZE;
+        } else if (y+400 > game.SPACESIZE) {
+            y1 = 0;
+            y2 = (int) (Game.SPACESIZE-y+400);
+        }
+
+        if (draw) {
+            g.drawLine(x1, y1, x2, y2);
+        }
+    }
+
+    /**
+     * Draws the top or bottom edge of space, if it is in view. An open universe has no edges.
+     *
+     * @param g The graphics object to draw with.
+     */
+    public void drawBorderY(Graphics2D g) {
+        if (snapshot.isOpenUniverse()) {
+            return;
+        }
+        g.setColor(Color.WHITE);
+        double x = this.viewX;
+        double y = this.viewY;
+        int x1 = 0;
+        int x2 = 800;
+        int y1 = 0;
+        int y2 = 800;
+        boolean draw = false;
+        if (x-400 < 0) {
+            x1 = (int) (400-x);
+            x2 = 800;
+        } else if (x+400 > Game.SPACESIZE) {
+            x1 = 0;
+            x2 = (int) (Game.SPACESIZE-x+400);
+        }
+        if (y-400 < 0) {
+            y1 = (int) (400-y);
+            y2 = (int) (400-y);
+            draw = true;
+        } else if (y+400 > Game.SPACESIZE) {
+            y1 = (int) (Game.SPACESIZE-y+400);
+            y2 = (int) (Game.SPACESIZE-y+400);
+            draw = true;
+        }
+
+        if (draw) {
+            g.drawLine(x1, y1, x2, y2);
+        }
+    }
+
+    /**
+     * Draws the minimap, and the number of planets visited above it. An open universe has no end to its planets, so
+     * then only the number visited is shown.
+     *
+     * @param g The graphics object to draw with.
+     */
+    public void drawMinimap(Graphics2D g) {
+        this.minimap.draw(g, snapshot);
+        g.setColor(Color.WHITE);
+        g.setFont(MINIMAP_FONT);
+        int planetCount = snapshot.isOpenUniverse() ? -1 : snapshot.getPlanetCount();
+        if (snapshot.getDiscovered() != this.visitedTextDiscovered || planetCount != this.visitedTextPlanetCount) {
+            this.visitedTextDiscovered = snapshot.getDiscovered();
+            this.visitedTextPlanetCount = planetCount;
+            this.visitedText = "Visited planets: " + this.visitedTextDiscovered
+                    + (planetCount < 0 ? "" : "/" + this.visitedTextPlanetCount);
+        }
+        g.drawString(this.visitedText, 650, 30);
+    }
+
+    /**
+     * Draws the info card of the planet that the ship is on, if it is on one.
+     *
+     * @param g The graphics object to draw with.
+     */
+    public void drawInfo(Graphics2D g) {
+        Planet currentPlanet = snapshot.getCurrentPlanet();
+        if (currentPlanet != null) {
+            boolean allDiscovered = !snapshot.isOpenUniverse() && snapshot.getDiscovered() == snapshot.getPlanetCount();
+            this.infoCards.draw(g, currentPlanet, allDiscovered);
+        }
+    }
+
+
+    /**
+     * Draws the stars that are in view, from pictures of the star field that are made once per world.
+     *
+     * @param g The graphics object to draw with.
+     */
+    public void drawStars(Graphics2D g) {
+        if (game.isRunning()) {
+            this.starTiles.draw(g, snapshot, this.viewX, this.viewY, AstroFrame.WINDOW_SIZE.width, AstroFrame.WINDOW_SIZE.height);
+        }
+    }
+
+    /**
+     * Draws a string that will say that it is game over for the player
+     *
+     * @param g
+     */
+    public void drawDead(Graphics2D g) {
+        if (game.isRunning() && snapshot.isShipDestroyed()) {
+            g.drawString("Your spaceship is destroyed", 300, 30);
+        }
+    }
+
+    /**
+     * Draws all of the game's objects, each with its own view model.
+     *
+     * The game engine is running concurrently in its own thread, but there is no need to lock the game model while
+     * drawing: the snapshot that is drawn is never changed, the game engine publishes a new one after every tick.
+     *
+     * @param graphics2D The graphics object that provides the drawing methods.
+     */
+    void drawGameObjects(Graphics2D graphics2D) {
+        this.otherSpaceshipViewModel.setView(this.viewX, this.viewY);
+        for (int i = 0; i < this.snapshot.getOtherShipCount(); i++) {
+            if (!this.snapshot.isOtherShipDestroyed(i)) {
+                this.otherSpaceshipViewModel.setModel(this.snapshot, i);
+                this.otherSpaceshipViewModel.drawInterpolatedObject(graphics2D, this.timeSinceLastTick);
+            }
+        }
+        if (!this.snapshot.isShipDestroyed()) {
+            this.spaceshipViewModel.setModel(this.snapshot);
+            this.spaceshipViewModel.drawObject(graphics2D, this.timeSinceLastTick);
+        }
+    }
+}
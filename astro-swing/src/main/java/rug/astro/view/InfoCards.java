@@ -0,0 +1,162 @@
+package rug.astro.view;
+
+import rug.astro.model.Planet;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Draws the info card that is shown while the ship is on a planet: the planet's name and description on a piece of
+ * paper, with the instructions above it. A card only changes when the ship lands on another planet, so every card is
+ * drawn once into an image, and after that showing it is a single drawImage() call. Only the cards of the planets
+ * visited most recently are kept.
+ */
+public class InfoCards {
+    /**
+     * The most cards that are kept at the same time. When more are needed, the ones that were used longest ago are
+     * thrown away.
+     */
+    private static final int MAX_CARDS = 6;
+
+    /**
+     * The font of all text on a card.
+     */
+    private static final Font FONT = new Font("big", Font.CENTER_BASELINE, 25);
+
+    /**
+     * The size of a card. A card covers the window from the top down to the bottom of the paper, so that the text
+     * above the paper is part of it too.
+     */
+    private static final int CARD_WIDTH = AstroFrame.WINDOW_SIZE.width;
+
+    private static final int CARD_HEIGHT = 650;
+
+    /**
+     * The location and size of the paper on a card.
+     */
+    private static final int PAPER_X = 100;
+
+    private static final int PAPER_Y = 100;
+
+    private static final int PAPER_WIDTH = 600;
+
+    private static final int PAPER_HEIGHT = 550;
+
+    /**
+     * The paper behind the planet's name and description, already scaled to the size it is drawn at.
+     */
+    private final Image paper;
+
+    /**
+     * The cards drawn so far, by planet, in the order that they were last used.
+     */
+    private final Map<Planet, Card> cards = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Planet, Card> eldest) {
+            return this.size() > MAX_CARDS;
+        }
+    };
+
+    /**
+     * A card drawn for a planet, along with what else went into drawing it.
+     */
+    private static final class Card {
+        private final Image image;
+
+        /**
+         * Whether the card says that all planets have been discovered.
+         */
+        private final boolean allDiscovered;
+
+        private Card(Image image, boolean allDiscovered) {
+            this.image = image;
+            this.allDiscovered = allDiscovered;
+        }
+    }
+
+    /**
+     * Constructs a new, empty cache of cards, and loads the paper.
+     */
+    InfoCards() {
+        BufferedImage scaled = PlanetImages.createCompatibleImage(PAPER_WIDTH, PAPER_HEIGHT);
+        try {
+            Image decoded = ImageIO.read(getClass().getResource("/paper.png"));
+            Graphics2D graphics = scaled.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.drawImage(decoded, 0, 0, PAPER_WIDTH, PAPER_HEIGHT, null);
+            graphics.dispose();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        this.paper = scaled;
+    }
+
+    /**
+     * Draws the card of a planet at the top left corner of the window.
+     *
+     * @param g The graphics object to draw with.
+     * @param planet The planet that the ship is on.
+     * @param allDiscovered Whether all planets have been discovered.
+     */
+    public void draw(Graphics2D g, Planet planet, boolean allDiscovered) {
+        Card card = this.cards.get(planet);
+        // The text is always laid out in the same font on an image of its own, so its metrics never change; the card of
+        // a planet only has to be drawn again when the line about all planets being discovered comes or goes.
+        if (card == null || card.allDiscovered != allDiscovered) {
+            card = new Card(this.drawCard(planet, allDiscovered), allDiscovered);
+            this.cards.put(planet, card);
+        }
+        g.drawImage(card.image, 0, 0, null);
+    }
+
+    /**
+     * Draws a planet's card into a new image.
+     */
+    private Image drawCard(Planet planet, boolean allDiscovered) {
+        BufferedImage image = PlanetImages.createCompatibleImage(CARD_WIDTH, CARD_HEIGHT);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.drawImage(this.paper, PAPER_X, PAPER_Y, null);
+        String info = "Press x to Leave the planet";
+        String end = "You have discovered all planets";
+        g.setColor(Color.WHITE);
+        g.setFont(FONT);
+        FontMetrics fm = g.getFontMetrics();
+        if (allDiscovered) {
+            g.drawString(end , AstroFrame.WINDOW_SIZE.width/2 - fm.stringWidth(end)/2, 80);
+        }
+
+        g.drawString(info, AstroFrame.WINDOW_SIZE.width/2 - fm.stringWidth(info)/2, 50);
+        g.setColor(Color.BLACK);
+        g.drawString(planet.getName(), AstroFrame.WINDOW_SIZE.width/2 - fm.stringWidth(planet.getName())/2, 150);
+        drawStringMultiLine(g, planet.getDescription(), 450, 160, 190);
+        g.dispose();
+        return image;
+    }
+
+    public static void drawStringMultiLine(Graphics2D g, String text, int lineWidth, int x, int y) {
+        FontMetrics m = g.getFontMetrics();
+        if(m.stringWidth(text) < lineWidth) {
+            g.drawString(text, x, y);
+        } else {
+            String[] words = text.split(" ");
+            String currentLine = words[0];
+            for(int i = 1; i < words.length; i++) {
+                if(m.stringWidth(currentLine+words[i]) < lineWidth) {
+                    currentLine += " "+words[i];
+                } else {
+                    g.drawString(currentLine, x, y);
+                    y += m.getHeight();
+                    currentLine = words[i];
+                }
+            }
+            if(currentLine.trim().length() > 0) {
+                g.drawString(currentLine, x, y);
+            }
+        }
+    }
+}
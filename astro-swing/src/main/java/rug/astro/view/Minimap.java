@@ -0,0 +1,211 @@
+package rug.astro.view;
+
+import rug.astro.game_observer.PlanetVisitListener;
+import rug.astro.model.Chunk;
+import rug.astro.model.Game;
+import rug.astro.model.GameSnapshot;
+import rug.astro.model.Planet;
+import rug.astro.model.World;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Draws the minimap: a small map of all of space in the corner of the window, with a dot for every planet, red if it
+ * hasn't been visited and green if it has, and a dot for the ship.
+ *
+ * Planets don't move, so the map with the planets on it is drawn once into an image, when a world is generated. After
+ * that, a planet's dot is only drawn again when the planet is visited for the first time, which the game tells this
+ * minimap. So a frame costs the same no matter how many planets there are: copying the image and drawing the ship.
+ *
+ * An open universe has no end, so then the map shows the chunk that the ship is in and the chunks around it, which are
+ * always loaded. The image is drawn again from the snapshot's chunks when the ship moves into another chunk, or when a
+ * planet is visited: the game updater may be unloading planets in the meantime, so only the snapshot's chunks are safe
+ * to read from here.
+ */
+public class Minimap implements PlanetVisitListener {
+    /**
+     * The location of the map's top left corner in the window.
+     */
+    private static final int X = 650;
+
+    private static final int Y = 50;
+
+    /**
+     * The width and height of the area that space is shrunk into. The map's border goes around it.
+     */
+    private static final int SIZE = 100;
+
+    /**
+     * The width and height of the dots for the ship and the planets.
+     */
+    private static final int DOT_SIZE = 2;
+
+    /**
+     * The map with the planets on it. Its size is that of the map, border included.
+     */
+    private final BufferedImage image = PlanetImages.createCompatibleImage(SIZE + 2, SIZE + 2);
+
+    /**
+     * The planets visited since the image was last brought up to date. The game updater thread adds to this, and the
+     * thread that draws takes from it.
+     */
+    private final Queue<Planet> visited = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The world revision of the snapshot that the image shows.
+     */
+    private int worldRevision = -1;
+
+    /**
+     * The part of space that the image shows: the location of its top left corner, and its width and height.
+     */
+    private double originX;
+
+    private double originY;
+
+    private double span = Game.SPACESIZE;
+
+    /**
+     * Constructs a new minimap of the given game, and starts listening to the game for planets being visited.
+     *
+     * @param game The game whose space is shown.
+     */
+    Minimap(Game game) {
+        game.addVisitListener(this);
+    }
+
+    /**
+     * Draws the minimap.
+     *
+     * @param g The graphics object to draw with.
+     * @param snapshot The snapshot of the game that is drawn.
+     */
+    public void draw(Graphics2D g, GameSnapshot snapshot) {
+        if (snapshot.isOpenUniverse()) {
+            this.updateOpen(snapshot);
+        } else {
+            this.update(snapshot.getWorld());
+        }
+        g.drawImage(this.image, X, Y, null);
+        g.setColor(Color.CYAN);
+        g.fillRect(X + this.toMapX(snapshot.getShipX()), Y + this.toMapY(snapshot.getShipY()), DOT_SIZE, DOT_SIZE);
+    }
+
+    /**
+     * Brings the image up to date: draws it all over when the world has been replaced, and otherwise only redraws the
+     * planets that have been visited since last time.
+     *
+     * @param world The world of the snapshot that is drawn.
+     */
+    private void update(World world) {
+        if (world.getRevision() != this.worldRevision || this.span != Game.SPACESIZE) {
+            this.worldRevision = world.getRevision();
+            this.originX = 0.0;
+            this.originY = 0.0;
+            this.span = Game.SPACESIZE;
+            this.visited.clear(); // Drawing the whole map shows these visits too.
+            this.drawAll(world);
+        }
+        Planet planet;
+        while ((planet = this.visited.poll()) != null) {
+            // A planet is at the index of its entry, unless it was visited in a world that has been replaced since.
+            int i = planet.getEntry();
+            if (i < world.getPlanetCount() && world.getPlanet(i) == planet) {
+                Graphics2D g = this.image.createGraphics();
+                this.drawPlanet(g, planet, world.getPlanetX(i), world.getPlanetY(i));
+                g.dispose();
+            }
+        }
+    }
+
+    /**
+     * Brings the image up to date in an open universe: draws the chunks around the ship all over when the ship has
+     * moved into another chunk, when the world has been generated again, or when planets have been visited.
+     *
+     * @param snapshot The snapshot of the game that is drawn.
+     */
+    private void updateOpen(GameSnapshot snapshot) {
+        double originX = (Math.floor(snapshot.getShipX() / Chunk.SIZE) - 1) * Chunk.SIZE;
+        double originY = (Math.floor(snapshot.getShipY() / Chunk.SIZE) - 1) * Chunk.SIZE;
+        boolean visits = !this.visited.isEmpty();
+        this.visited.clear();
+        if (snapshot.getWorldRevision() == this.worldRevision && originX == this.originX && originY == this.originY
+                && this.span == 3 * Chunk.SIZE && !visits) {
+            return;
+        }
+        this.worldRevision = snapshot.getWorldRevision();
+        this.originX = originX;
+        this.originY = originY;
+        this.span = 3 * Chunk.SIZE;
+
+        Graphics2D g = this.drawBackground();
+        for (Chunk chunk : snapshot.getChunks()) {
+            if (!chunk.overlaps(originX, originY, originX + this.span, originY + this.span)) {
+                continue;
+            }
+            for (int i = 0; i < chunk.getPlanetCount(); i++) {
+                this.drawPlanet(g, chunk.getPlanet(i), chunk.getPlanetX(i), chunk.getPlanetY(i));
+            }
+        }
+        g.dispose();
+    }
+
+    /**
+     * Draws the whole map, with all planets of a world, into the image.
+     */
+    private void drawAll(World world) {
+        Graphics2D g = this.drawBackground();
+        for (int i = 0; i < world.getPlanetCount(); i++) {
+            this.drawPlanet(g, world.getPlanet(i), world.getPlanetX(i), world.getPlanetY(i));
+        }
+        g.dispose();
+    }
+
+    /**
+     * Clears the image to an empty map with a border.
+     *
+     * @return A graphics object to draw the rest of the map with, which the caller should dispose of.
+     */
+    private Graphics2D drawBackground() {
+        Graphics2D g = this.image.createGraphics();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, SIZE + 1, SIZE + 1);
+        g.setColor(Color.WHITE);
+        g.drawRect(0, 0, SIZE + 1, SIZE + 1);
+        return g;
+    }
+
+    /**
+     * Draws a planet's dot into the image, in the color that tells whether it has been visited.
+     */
+    private void drawPlanet(Graphics2D g, Planet planet, double x, double y) {
+        g.setColor(planet.isVisited() ? Color.GREEN : Color.RED);
+        g.fillRect(this.toMapX(x), this.toMapY(y), DOT_SIZE, DOT_SIZE);
+    }
+
+    /**
+     * @param x A location in space, on the x-axis.
+     * @return The location on the map, relative to the map's top left corner, on the same axis.
+     */
+    private int toMapX(double x) {
+        return (int) ((x - this.originX) / this.span * SIZE);
+    }
+
+    private int toMapY(double y) {
+        return (int) ((y - this.originY) / this.span * SIZE);
+    }
+
+    /**
+     * Remembers that a planet was visited, so that its dot is redrawn before the next time the map is drawn. This is
+     * called by the game updater thread, so the image itself isn't touched here.
+     *
+     * @param planet The planet that was visited.
+     */
+    @Override
+    public void onPlanetVisited(Planet planet) {
+        this.visited.add(planet);
+    }
+}
@@ -0,0 +1,346 @@
+package rug.astro.view;
+
+import rug.astro.model.Game;
+
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A heads-up display that shows how well the game is running, drawn on top of the frames while it is switched on: the
+ * frames painted and ticks run per second, a graph of the time between the last frames, the time spent in each of the
+ * renderer's draw phases, how many of the repaints that were asked for were actually painted, and the garbage
+ * collections since the program started. That way stutter can be seen, and often explained, while playing.
+ *
+ * The numbers in the text are gathered over a second and then shown for the next second, so the text only has to be
+ * made once per second and is easy to read. The graph is updated every frame. Nothing is measured while the overlay is
+ * switched off, except for counting repaint requests.
+ */
+public class PerformanceOverlay {
+    /**
+     * The draw phases that are timed, in the order in which they are shown.
+     */
+    static final int STARS = 0;
+
+    static final int GAME_OBJECTS = 1;
+
+    static final int PLANETS = 2;
+
+    static final int MINIMAP = 3;
+
+    static final int INFO = 4;
+
+    private static final String[] PHASE_NAMES = {"drawStars", "drawGameObjects", "drawPlanets", "drawMinimap", "drawInfo"};
+
+    /**
+     * The number of frames shown in the graph.
+     */
+    private static final int GRAPH_FRAMES = 180;
+
+    /**
+     * The time between frames that fills the height of the graph. Longer frames are cut off at the top.
+     */
+    private static final double GRAPH_MILLISECONDS = 50;
+
+    /**
+     * The frame times marked with a line in the graph: one frame at 144 Hz and one frame at 60 Hz.
+     */
+    private static final double FAST_FRAME_MILLISECONDS = 1000.0 / 144;
+
+    private static final double SLOW_FRAME_MILLISECONDS = 1000.0 / 60;
+
+    /**
+     * How often the numbers in the text are brought up to date.
+     */
+    private static final long WINDOW_NANOSECONDS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Where the overlay is drawn, and how large it is.
+     */
+    private static final int X = 10;
+
+    private static final int Y = 10;
+
+    private static final int WIDTH = GRAPH_FRAMES + 20;
+
+    private static final int LINE_HEIGHT = 13;
+
+    private static final int GRAPH_HEIGHT = 60;
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+
+    private static final Color BACKGROUND = new Color(0, 0, 0, 180);
+
+    private static final Color RENDER_COLOR = new Color(80, 160, 255);
+
+    /**
+     * The game whose ticks are counted.
+     */
+    private final Game game;
+
+    /**
+     * Whether the overlay is shown. It is switched from the event dispatch thread, and read by the thread that draws.
+     */
+    private volatile boolean visible;
+
+    /**
+     * The number of times a repaint was asked for. Only one thread asks for repaints, so a volatile counter will do.
+     */
+    private volatile long repaintRequests;
+
+    /**
+     * The times between the last frames and the times spent rendering them, in nanoseconds, as ring buffers. The next
+     * frame is stored at graphIndex.
+     */
+    private final long[] frameIntervals = new long[GRAPH_FRAMES];
+
+    private final long[] renderTimes = new long[GRAPH_FRAMES];
+
+    private int graphIndex;
+
+    /**
+     * When the frame that is being drawn, and the one before it, started. Zero if there was no frame before it.
+     */
+    private long frameStart;
+
+    private long previousFrameStart;
+
+    /**
+     * When the current phase started.
+     */
+    private long phaseStart;
+
+    /**
+     * What has been measured in the current window of a second.
+     */
+    private long windowStart;
+
+    private int windowFrames;
+
+    private long windowMaxInterval;
+
+    private long windowRenderTime;
+
+    private final long[] windowPhaseTimes = new long[PHASE_NAMES.length];
+
+    private long windowRepaintRequests;
+
+    private long windowTicks;
+
+    /**
+     * The lines of text that show what was measured in the last window.
+     */
+    private final String[] lines = new String[PHASE_NAMES.length + 5];
+
+    /**
+     * Constructs a new overlay, which is switched off.
+     *
+     * @param game The game whose ticks are counted.
+     */
+    PerformanceOverlay(Game game) {
+        this.game = game;
+        this.lines[0] = "Measuring...";
+    }
+
+    /**
+     * @return Whether the overlay is shown.
+     */
+    public boolean isVisible() {
+        return this.visible;
+    }
+
+    /**
+     * Shows or hides the overlay.
+     *
+     * @param visible Whether the overlay should be shown.
+     */
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    /**
+     * Counts a request for a frame to be painted, whether or not it will be.
+     *
+     * @param requests The number of frames that were asked for.
+     */
+    void countRepaintRequests(long requests) {
+        this.repaintRequests += requests;
+    }
+
+    /**
+     * Marks the start of a frame.
+     */
+    void startFrame() {
+        long now = System.nanoTime();
+        if (now - this.frameStart > WINDOW_NANOSECONDS) { // Nothing was measured for a while, such as while hidden.
+            this.reset();
+        }
+        this.previousFrameStart = this.frameStart;
+        this.frameStart = now;
+        if (this.windowStart == 0L) {
+            this.startWindow(now);
+        }
+    }
+
+    /**
+     * Marks the start of a draw phase.
+     */
+    void startPhase() {
+        this.phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a draw phase, and adds its time to that of the current window.
+     *
+     * @param phase The phase that ended, such as STARS.
+     */
+    void endPhase(int phase) {
+        this.windowPhaseTimes[phase] += System.nanoTime() - this.phaseStart;
+    }
+
+    /**
+     * Marks the end of a frame, adds it to the graph and the current window, and draws the overlay on top of it. When
+     * the window is over, the text is made anew from it.
+     *
+     * @param g The graphics object to draw with.
+     */
+    void endFrame(Graphics2D g) {
+        long now = System.nanoTime();
+        long interval = this.previousFrameStart == 0L ? 0L : this.frameStart - this.previousFrameStart;
+        this.frameIntervals[this.graphIndex] = interval;
+        this.renderTimes[this.graphIndex] = now - this.frameStart;
+        this.graphIndex = (this.graphIndex + 1) % GRAPH_FRAMES;
+
+        this.windowFrames++;
+        this.windowMaxInterval = Math.max(this.windowMaxInterval, interval);
+        this.windowRenderTime += now - this.frameStart;
+        if (now - this.windowStart >= WINDOW_NANOSECONDS) {
+            this.updateLines(now);
+            this.startWindow(now);
+        }
+        this.draw(g);
+    }
+
+    /**
+     * Forgets everything measured, so that what is shown doesn't mix frames from before and after a pause.
+     */
+    private void reset() {
+        this.frameStart = 0L;
+        this.previousFrameStart = 0L;
+        this.windowStart = 0L;
+        Arrays.fill(this.frameIntervals, 0L);
+        Arrays.fill(this.renderTimes, 0L);
+        this.lines[0] = "Measuring...";
+        for (int i = 1; i < this.lines.length; i++) {
+            this.lines[i] = null;
+        }
+    }
+
+    /**
+     * Starts a new window of a second.
+     *
+     * @param now The current value of System.nanoTime().
+     */
+    private void startWindow(long now) {
+        this.windowStart = now;
+        this.windowFrames = 0;
+        this.windowMaxInterval = 0L;
+        this.windowRenderTime = 0L;
+        Arrays.fill(this.windowPhaseTimes, 0L);
+        this.windowRepaintRequests = this.repaintRequests;
+        this.windowTicks = this.game.getMetrics().getTicks();
+    }
+
+    /**
+     * Makes the text from what was measured in the window that just ended.
+     *
+     * @param now The current value of System.nanoTime().
+     */
+    private void updateLines(long now) {
+        double seconds = (now - this.windowStart) / 1e9;
+        long requests = this.repaintRequests - this.windowRepaintRequests;
+        // The metrics may have been reset in the meantime, in which case the ticks of this window are unknown.
+        long ticks = Math.max(this.game.getMetrics().getTicks() - this.windowTicks, 0L);
+        long gcCount = 0L;
+        long gcTime = 0L;
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        for (GarbageCollectorMXBean collector : collectors) {
+            gcCount += Math.max(collector.getCollectionCount(), 0L);
+            gcTime += Math.max(collector.getCollectionTime(), 0L);
+        }
+
+        int line = 0;
+        this.lines[line++] = String.format("FPS %5.1f   TPS %5.1f", this.windowFrames / seconds, ticks / seconds);
+        this.lines[line++] = String.format("frame max %6.2f ms", this.windowMaxInterval / 1e6);
+        this.lines[line++] = String.format("render avg %5.2f ms", this.average(this.windowRenderTime));
+        for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+            this.lines[line++] = String.format("  %-16s %5.2f ms", PHASE_NAMES[phase], this.average(this.windowPhaseTimes[phase]));
+        }
+        this.lines[line++] = String.format("painted %d of %d repaints", this.windowFrames, requests);
+        this.lines[line++] = String.format("GC %d, %d ms since start", gcCount, gcTime);
+    }
+
+    /**
+     * @param total A time summed over the frames of the current window, in nanoseconds.
+     * @return The average time per frame, in milliseconds.
+     */
+    private double average(long total) {
+        return this.windowFrames == 0 ? 0.0 : total / 1e6 / this.windowFrames;
+    }
+
+    /**
+     * Draws the overlay: the text, and under it the graph of the time between frames, with the part of each frame that
+     * was spent rendering in blue. Lines mark the time of a frame at 144 Hz and at 60 Hz.
+     */
+    private void draw(Graphics2D g) {
+        int textHeight = this.lines.length * LINE_HEIGHT;
+        int height = textHeight + GRAPH_HEIGHT + 15;
+        g.setColor(BACKGROUND);
+        g.fillRect(X, Y, WIDTH, height);
+
+        g.setFont(FONT);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < this.lines.length; i++) {
+            if (this.lines[i] != null) {
+                g.drawString(this.lines[i], X + 5, Y + (i + 1) * LINE_HEIGHT);
+            }
+        }
+
+        int graphX = X + 10;
+        int graphBottom = Y + textHeight + 10 + GRAPH_HEIGHT;
+        for (int i = 0; i < GRAPH_FRAMES; i++) {
+            int index = (this.graphIndex + i) % GRAPH_FRAMES; // Oldest frame first.
+            double interval = this.frameIntervals[index] / 1e6;
+            int intervalHeight = toGraph(interval);
+            int renderHeight = Math.min(toGraph(this.renderTimes[index] / 1e6), intervalHeight);
+            if (interval > SLOW_FRAME_MILLISECONDS) {
+                g.setColor(Color.RED);
+            } else if (interval > FAST_FRAME_MILLISECONDS) {
+                g.setColor(Color.YELLOW);
+            } else {
+                g.setColor(Color.GREEN);
+            }
+            g.drawLine(graphX + i, graphBottom - intervalHeight, graphX + i, graphBottom);
+            if (renderHeight > 0) {
+                g.setColor(RENDER_COLOR);
+                g.drawLine(graphX + i, graphBottom - renderHeight, graphX + i, graphBottom);
+            }
+        }
+        g.setColor(Color.GRAY);
+        int fastY = graphBottom - toGraph(FAST_FRAME_MILLISECONDS);
+        int slowY = graphBottom - toGraph(SLOW_FRAME_MILLISECONDS);
+        g.drawLine(graphX, fastY, graphX + GRAPH_FRAMES, fastY);
+        g.drawLine(graphX, slowY, graphX + GRAPH_FRAMES, slowY);
+    }
+
+    /**
+     * @param milliseconds A time.
+     * @return The height of a bar of that time in the graph, in pixels.
+     */
+    private static int toGraph(double milliseconds) {
+        return (int) (Math.min(milliseconds, GRAPH_MILLISECONDS) / GRAPH_MILLISECONDS * GRAPH_HEIGHT);
+    }
+}
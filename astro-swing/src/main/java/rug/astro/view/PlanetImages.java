@@ -0,0 +1,122 @@
+package rug.astro.view;
+
+import rug.astro.model.Game;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The pictures of the planets, shared by every game in the process. They are decoded only once, all at the same time,
+ * the first time any of them is needed, and are kept ready to be drawn as they are: already at the size a planet is
+ * drawn at, and in the pixel format of the screen, so that drawing them is a plain copy.
+ *
+ * The pictures are never changed after they are made, so they can safely be shared between threads and games.
+ */
+public final class PlanetImages {
+    /**
+     * The width and height that planets are drawn at. This is a little under three times their radius, so that the glow
+     * around each planet fits as well.
+     */
+    public static final int DRAWN_SIZE = (int) ((int) Game.PLANET_RADIUS * 2.9);
+
+    /**
+     * The pictures, where the picture with image id i is at index i - 1.
+     */
+    private final List<Image> images;
+
+    /**
+     * Holds the one set of pictures. The JVM makes sure that this is only made once, the first time it is used.
+     */
+    private static final class Holder {
+        private static final PlanetImages INSTANCE = new PlanetImages();
+    }
+
+    /**
+     * Loads all pictures in the planets resource folder, planet1.png, planet2.png and so on, in parallel.
+     */
+    private PlanetImages() {
+        List<URL> resources = new ArrayList<>();
+        URL resource;
+        while ((resource = PlanetImages.class.getResource("/planets/planet" + (resources.size() + 1) + ".png")) != null) {
+            resources.add(resource);
+        }
+        this.images = List.copyOf(resources.parallelStream().map(PlanetImages::load).collect(Collectors.toList()));
+    }
+
+    /**
+     * @return The pictures of the planets, loading them if this is the first time they are needed.
+     */
+    public static PlanetImages getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets the picture to draw for a planet. If there are more planets than pictures, the pictures are used again.
+     *
+     * @param imageId The planet's image id, starting at 1.
+     * @return The planet's picture, DRAWN_SIZE pixels wide and high.
+     */
+    public Image get(int imageId) {
+        return this.images.get(Math.floorMod(imageId - 1, this.images.size()));
+    }
+
+    /**
+     * Decodes a single picture and turns it into one that is ready to be drawn.
+     *
+     * @param resource The picture to load.
+     * @return The picture, scaled to DRAWN_SIZE.
+     */
+    private static Image load(URL resource) {
+        BufferedImage decoded;
+        try {
+            decoded = ImageIO.read(resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load planet picture " + resource, e);
+        }
+        BufferedImage image = createCompatibleImage(DRAWN_SIZE, DRAWN_SIZE);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(decoded, 0, 0, DRAWN_SIZE, DRAWN_SIZE, null);
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * Makes an empty, translucent image in the pixel format of the screen, so that the image can be drawn without
+     * converting it. Without a screen, a premultiplied ARGB image is made, which draws fastest on other images.
+     *
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @return The new image.
+     */
+    static BufferedImage createCompatibleImage(int width, int height) {
+        return createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Makes an empty image in the pixel format of the screen, with the given transparency. An opaque image is drawn by
+     * copying its pixels, which is quicker than blending them. Without a screen, an RGB or premultiplied ARGB image is
+     * made.
+     *
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param transparency Transparency.OPAQUE or Transparency.TRANSLUCENT.
+     * @return The new image.
+     */
+    static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, transparency);
+    }
+}
@@ -0,0 +1,185 @@
+package rug.astro.view;
+
+import rug.astro.model.Chunk;
+import rug.astro.model.Game;
+import rug.astro.model.GameSnapshot;
+import rug.astro.model.World;
+import rug.astro.util.IntList;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the planets from tiles, instead of drawing the picture of every planet in view on every frame. Planets don't
+ * move, and a planet looks the same whether it has been visited or not, so a tile is drawn once, the first time it comes
+ * into view. Where many planets crowd together, copying a few tiles is far less work than blending hundreds of
+ * overlapping pictures onto the screen one after the other.
+ *
+ * The planet pictures are partly see-through, so a tile whose pictures overlap blends them together into one picture,
+ * which covers only the part of the tile they are on. Where the pictures hardly overlap, that would blend more pixels
+ * than the pictures themselves have, so such a tile keeps the pictures, and puts them on screen one by one. As with the
+ * stars, the planets of a tile in an open universe come from the loaded chunks.
+ */
+public class PlanetTiles extends Tiles {
+    /**
+     * Receives the planets on a tile while it is drawn.
+     */
+    private final IntList planetsOnTile = new IntList();
+
+    /**
+     * The locations of the top left corners of the pictures on a tile, relative to the tile, and the pictures' image
+     * ids, while the tile is drawn.
+     */
+    private final IntList pictureX = new IntList();
+
+    private final IntList pictureY = new IntList();
+
+    private final IntList pictureImageId = new IntList();
+
+    /**
+     * Draws the planets that are in view.
+     *
+     * @param g The graphics object to draw with.
+     * @param snapshot The snapshot of the game that is drawn.
+     * @param left The location in space that is drawn at the left side of the view.
+     * @param top The location in space that is drawn at the top side of the view.
+     * @param width The width of the view.
+     * @param height The height of the view.
+     */
+    public void draw(Graphics2D g, GameSnapshot snapshot, double left, double top, int width, int height) {
+        this.drawTiles(g, snapshot, (int) Math.floor(left), (int) Math.floor(top), width, height);
+    }
+
+    /**
+     * Draws all planets that are on a tile, including the parts of planets just outside of it that reach onto it.
+     */
+    @Override
+    Tile drawTile(GameSnapshot snapshot, int tileX, int tileY) {
+        this.pictureX.clear();
+        this.pictureY.clear();
+        this.pictureImageId.clear();
+        // A planet's picture reaches at most its full size away from its location, in any direction.
+        double minX = (double) tileX * TILE_SIZE - PlanetImages.DRAWN_SIZE;
+        double minY = (double) tileY * TILE_SIZE - PlanetImages.DRAWN_SIZE;
+        double maxX = (double) tileX * TILE_SIZE + TILE_SIZE + PlanetImages.DRAWN_SIZE;
+        double maxY = (double) tileY * TILE_SIZE + TILE_SIZE + PlanetImages.DRAWN_SIZE;
+        if (snapshot.isOpenUniverse()) {
+            for (Chunk chunk : snapshot.getChunks()) {
+                if (chunk.overlaps(minX, minY, maxX, maxY)) {
+                    for (int i = 0; i < chunk.getPlanetCount(); i++) {
+                        this.addPicture(chunk.getPlanetX(i), chunk.getPlanetY(i), chunk.getPlanet(i).getImageId(), tileX, tileY);
+                    }
+                }
+            }
+        } else {
+            World world = snapshot.getWorld();
+            world.getPlanetGrid().query(minX, minY, maxX, maxY, this.planetsOnTile);
+            for (int i = 0; i < this.planetsOnTile.size(); i++) {
+                int planet = this.planetsOnTile.get(i);
+                this.addPicture(world.getPlanetX(planet), world.getPlanetY(planet), world.getPlanet(planet).getImageId(), tileX, tileY);
+            }
+        }
+        if (this.pictureX.isEmpty()) {
+            return (screen, x, y) -> { };
+        }
+
+        // The part of the tile that the pictures cover, and how many pixels they cover together.
+        int left = TILE_SIZE;
+        int top = TILE_SIZE;
+        int right = 0;
+        int bottom = 0;
+        int covered = 0;
+        for (int i = 0; i < this.pictureX.size(); i++) {
+            int pictureLeft = Math.max(0, this.pictureX.get(i));
+            int pictureTop = Math.max(0, this.pictureY.get(i));
+            int pictureRight = Math.min(TILE_SIZE, this.pictureX.get(i) + PlanetImages.DRAWN_SIZE);
+            int pictureBottom = Math.min(TILE_SIZE, this.pictureY.get(i) + PlanetImages.DRAWN_SIZE);
+            left = Math.min(left, pictureLeft);
+            top = Math.min(top, pictureTop);
+            right = Math.max(right, pictureRight);
+            bottom = Math.max(bottom, pictureBottom);
+            covered += (pictureRight - pictureLeft) * (pictureBottom - pictureTop);
+        }
+        if (covered <= (right - left) * (bottom - top)) {
+            // The pictures hardly overlap, so putting them on screen one by one blends the fewest pixels.
+            return new Pictures(this.pictureX, this.pictureY, this.pictureImageId);
+        }
+
+        // The pictures overlap, so they are blended together once, and only the part of the tile they cover is kept.
+        BufferedImage picture = PlanetImages.createCompatibleImage(right - left, bottom - top);
+        Graphics2D g = picture.createGraphics();
+        for (int i = 0; i < this.pictureX.size(); i++) {
+            g.drawImage(PlanetImages.getInstance().get(this.pictureImageId.get(i)),
+                    this.pictureX.get(i) - left, this.pictureY.get(i) - top, null);
+        }
+        g.dispose();
+        int pictureLeft = left;
+        int pictureTop = top;
+        return (screen, x, y) -> screen.drawImage(picture, x + pictureLeft, y + pictureTop, null);
+    }
+
+    /**
+     * Adds a planet's picture to the tile that is drawn, if any of it is on the tile.
+     *
+     * @param x The location of the planet on the x-axis.
+     * @param y The location of the planet on the y-axis.
+     * @param imageId The planet's image id.
+     * @param tileX The tile's left side in space, divided by TILE_SIZE.
+     * @param tileY The tile's top side in space, divided by TILE_SIZE.
+     */
+    private void addPicture(double x, double y, int imageId, int tileX, int tileY) {
+        int pictureX = (int) Math.floor(x - Game.PLANET_RADIUS) - tileX * TILE_SIZE;
+        int pictureY = (int) Math.floor(y - Game.PLANET_RADIUS) - tileY * TILE_SIZE;
+        if (pictureX < TILE_SIZE && pictureY < TILE_SIZE
+                && pictureX + PlanetImages.DRAWN_SIZE > 0 && pictureY + PlanetImages.DRAWN_SIZE > 0) {
+            this.pictureX.add(pictureX);
+            this.pictureY.add(pictureY);
+            this.pictureImageId.add(imageId);
+        }
+    }
+
+    /**
+     * A tile whose planets are put on screen one picture at a time. Pictures that reach over the edge of the tile are
+     * cut off there, since the rest of them is put on screen by the tiles next to it.
+     */
+    private static final class Pictures implements Tile {
+        private final Image[] images;
+
+        /**
+         * For every picture, the part of the tile it covers, and where that part starts in the picture: left, top,
+         * right, bottom, picture x, picture y.
+         */
+        private final int[] parts;
+
+        /**
+         * @param pictureX The left sides of the pictures, relative to the tile.
+         * @param pictureY The top sides of the pictures, relative to the tile.
+         * @param imageIds The image ids of the pictures.
+         */
+        private Pictures(IntList pictureX, IntList pictureY, IntList imageIds) {
+            this.images = new Image[pictureX.size()];
+            this.parts = new int[pictureX.size() * 6];
+            for (int i = 0; i < this.images.length; i++) {
+                this.images[i] = PlanetImages.getInstance().get(imageIds.get(i));
+                int left = Math.max(0, pictureX.get(i));
+                int top = Math.max(0, pictureY.get(i));
+                this.parts[i * 6] = left;
+                this.parts[i * 6 + 1] = top;
+                this.parts[i * 6 + 2] = Math.min(TILE_SIZE, pictureX.get(i) + PlanetImages.DRAWN_SIZE);
+                this.parts[i * 6 + 3] = Math.min(TILE_SIZE, pictureY.get(i) + PlanetImages.DRAWN_SIZE);
+                this.parts[i * 6 + 4] = left - pictureX.get(i);
+                this.parts[i * 6 + 5] = top - pictureY.get(i);
+            }
+        }
+
+        @Override
+        public void draw(Graphics2D g, int x, int y) {
+            for (int i = 0; i < this.images.length; i++) {
+                int[] p = this.parts;
+                int j = i * 6;
+                g.drawImage(this.images[i], x + p[j], y + p[j + 1], x + p[j + 2], y + p[j + 3],
+                        p[j + 4], p[j + 5], p[j + 4] + p[j + 2] - p[j], p[j + 5] + p[j + 3] - p[j + 1], null);
+            }
+        }
+    }
+}
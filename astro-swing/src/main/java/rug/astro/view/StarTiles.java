@@ -0,0 +1,140 @@
+package rug.astro.view;
+
+import rug.astro.model.Chunk;
+import rug.astro.model.GameSnapshot;
+import rug.astro.model.StarField;
+import rug.astro.model.World;
+import rug.astro.util.IntList;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws the star field from tiles, instead of drawing every star on every frame. Stars don't move, so a tile is drawn
+ * once, the first time it comes into view.
+ *
+ * In an open universe, the stars of a tile come from the loaded chunks. Those always include every chunk that a tile in
+ * view overlaps, and a chunk's stars are the same every time it is loaded, so a tile never has to be drawn again.
+ */
+public class StarTiles extends Tiles {
+    /**
+     * The outer radius of a drawn star.
+     */
+    static final double STAR_RADIUS = 5;
+
+    /**
+     * The inner radius of a drawn star, where the rays meet.
+     */
+    private static final double STAR_INNER_RADIUS = 2;
+
+    /**
+     * The number of rays of a drawn star.
+     */
+    private static final int STAR_RAYS = 5;
+
+    /**
+     * Receives the stars on a tile while it is drawn.
+     */
+    private final IntList starsOnTile = new IntList();
+
+    /**
+     * Draws the stars that are in view.
+     *
+     * @param g The graphics object to draw with.
+     * @param snapshot The snapshot of the game that is drawn.
+     * @param x The location in space that is in the middle of the view, on the x-axis.
+     * @param y The same, on the y-axis.
+     * @param width The width of the view.
+     * @param height The height of the view.
+     */
+    public void draw(Graphics2D g, GameSnapshot snapshot, double x, double y, int width, int height) {
+        this.drawTiles(g, snapshot, (int) Math.floor(x - width / 2.0), (int) Math.floor(y - height / 2.0), width, height);
+    }
+
+    /**
+     * Draws all stars that are on a tile, including the parts of stars just outside of it that reach onto it.
+     */
+    @Override
+    Tile drawTile(GameSnapshot snapshot, int tileX, int tileY) {
+        BufferedImage tile = PlanetImages.createCompatibleImage(TILE_SIZE, TILE_SIZE, Transparency.OPAQUE);
+        Graphics2D g = tile.createGraphics();
+        g.setColor(Color.BLACK); // The stars are the first thing on the black background, so tiles can be opaque.
+        g.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(Color.YELLOW);
+        double originX = (double) tileX * TILE_SIZE;
+        double originY = (double) tileY * TILE_SIZE;
+        if (snapshot.isOpenUniverse()) {
+            for (Chunk chunk : snapshot.getChunks()) {
+                if (chunk.overlaps(originX - STAR_RADIUS, originY - STAR_RADIUS, originX + TILE_SIZE + STAR_RADIUS, originY + TILE_SIZE + STAR_RADIUS)) {
+                    StarField stars = chunk.getStars();
+                    for (int i = 0; i < stars.size(); i++) {
+                        drawStar(g, stars, i, originX, originY);
+                    }
+                }
+            }
+            g.dispose();
+            return (screen, x, y) -> screen.drawImage(tile, x, y, null);
+        }
+        World world = snapshot.getWorld();
+        world.getStarGrid().query(originX - STAR_RADIUS, originY - STAR_RADIUS,
+                originX + TILE_SIZE + STAR_RADIUS, originY + TILE_SIZE + STAR_RADIUS, this.starsOnTile);
+        StarField stars = world.getStars();
+        for (int i = 0; i < this.starsOnTile.size(); i++) {
+            drawStar(g, stars, this.starsOnTile.get(i), originX, originY);
+        }
+        g.dispose();
+        return (screen, x, y) -> screen.drawImage(tile, x, y, null);
+    }
+
+    /**
+     * Draws a star onto a tile.
+     *
+     * @param g The graphics object of the tile.
+     * @param stars The stars that the star is one of.
+     * @param i The index of the star.
+     * @param originX The location in space of the tile's left side.
+     * @param originY The location in space of the tile's top side.
+     */
+    private static void drawStar(Graphics2D g, StarField stars, int i, double originX, double originY) {
+        g.fill(createStar(stars.getX(i) - originX, stars.getY(i) - originY, STAR_INNER_RADIUS, STAR_RADIUS, STAR_RAYS,
+                Math.toRadians(stars.getAngle(i))));
+    }
+
+    private static Path2D createStar(double centerX, double centerY,
+                                    double innerRadius, double outerRadius, int numRays,
+                                    double startAngleRad)
+    {
+        Path2D path = new Path2D.Double();
+        double deltaAngleRad = Math.PI / numRays;
+        for (int i = 0; i < numRays * 2; i++)
+        {
+            double angleRad = startAngleRad + i * deltaAngleRad;
+            double ca = Math.cos(angleRad);
+            double sa = Math.sin(angleRad);
+            double relX = ca;
+            double relY = sa;
+            if ((i & 1) == 0)
+            {
+                relX *= outerRadius;
+                relY *= outerRadius;
+            }
+            else
+            {
+                relX *= innerRadius;
+                relY *= innerRadius;
+            }
+            if (i == 0)
+            {
+                path.moveTo(centerX + relX, centerY + relY);
+            }
+            else
+            {
+                path.lineTo(centerX + relX, centerY + relY);
+            }
+        }
+        path.closePath();
+        return path;
+    }
+}
@@ -0,0 +1,120 @@
+package rug.astro.view;
+
+import rug.astro.model.GameSnapshot;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Draws a layer of things that don't move from pictures of square pieces of space, called tiles, instead of drawing
+ * every thing on every frame. A tile is drawn once, the first time it comes into view, and after that a frame only has
+ * to copy the few tiles that are in view. The tiles are thrown away when the world is generated again.
+ *
+ * Subclasses draw the contents of a single tile; this class keeps the tiles that were drawn, and puts them on screen.
+ */
+abstract class Tiles {
+    /**
+     * The width and height of a tile, in pixels.
+     */
+    static final int TILE_SIZE = 512;
+
+    /**
+     * The most tiles that are kept at the same time. When more are needed, the ones that were used longest ago are
+     * thrown away. The window never shows more than nine tiles at once, so this leaves room for the tiles around them.
+     */
+    private static final int MAX_TILES = 24;
+
+    /**
+     * A tile that has been drawn, ready to be put on screen.
+     */
+    interface Tile {
+        /**
+         * Puts the tile on screen.
+         *
+         * @param g The graphics object to draw with.
+         * @param x Where the left side of the tile goes.
+         * @param y Where the top side of the tile goes.
+         */
+        void draw(Graphics2D g, int x, int y);
+    }
+
+    /**
+     * The tiles drawn so far. There are only a few, so finding one is a quick walk over these arrays, which, unlike a
+     * map keyed by boxed coordinates, doesn't allocate anything on every frame.
+     */
+    private final Tile[] tiles = new Tile[MAX_TILES];
+
+    /**
+     * The key of the tile coordinates of each tile.
+     */
+    private final long[] tileKeys = new long[MAX_TILES];
+
+    /**
+     * The frame in which each tile was last used, so that the one used longest ago can be thrown away.
+     */
+    private final long[] tileLastUsed = new long[MAX_TILES];
+
+    /**
+     * Counts the frames drawn.
+     */
+    private long frame;
+
+    /**
+     * The world revision of the snapshot that the tiles show.
+     */
+    private int worldRevision = -1;
+
+    /**
+     * Draws the tiles that are in view.
+     *
+     * @param g The graphics object to draw with.
+     * @param snapshot The snapshot of the game that is drawn.
+     * @param left The location in space that is drawn at the left side of the view.
+     * @param top The location in space that is drawn at the top side of the view.
+     * @param width The width of the view.
+     * @param height The height of the view.
+     */
+    void drawTiles(Graphics2D g, GameSnapshot snapshot, int left, int top, int width, int height) {
+        if (snapshot.getWorldRevision() != this.worldRevision) {
+            Arrays.fill(this.tiles, null);
+            this.worldRevision = snapshot.getWorldRevision();
+        }
+        this.frame++;
+        for (int tileY = Math.floorDiv(top, TILE_SIZE); tileY <= Math.floorDiv(top + height, TILE_SIZE); tileY++) {
+            for (int tileX = Math.floorDiv(left, TILE_SIZE); tileX <= Math.floorDiv(left + width, TILE_SIZE); tileX++) {
+                this.getTile(snapshot, tileX, tileY).draw(g, tileX * TILE_SIZE - left, tileY * TILE_SIZE - top);
+            }
+        }
+    }
+
+    /**
+     * Gets a tile, drawing it first if it isn't there yet. A new tile takes the place of the one used longest ago.
+     */
+    private Tile getTile(GameSnapshot snapshot, int tileX, int tileY) {
+        long key = ((long) tileX << 32) | (tileY & 0xFFFFFFFFL);
+        int oldest = 0;
+        for (int i = 0; i < MAX_TILES; i++) {
+            if (this.tiles[i] != null && this.tileKeys[i] == key) {
+                this.tileLastUsed[i] = this.frame;
+                return this.tiles[i];
+            }
+            if (this.tiles[i] == null || (this.tiles[oldest] != null && this.tileLastUsed[i] < this.tileLastUsed[oldest])) {
+                oldest = i;
+            }
+        }
+        this.tiles[oldest] = this.drawTile(snapshot, tileX, tileY);
+        this.tileKeys[oldest] = key;
+        this.tileLastUsed[oldest] = this.frame;
+        return this.tiles[oldest];
+    }
+
+    /**
+     * Draws everything that is on a tile, including the parts of things just outside of it that reach onto it.
+     *
+     * @param snapshot The snapshot of the game that is drawn.
+     * @param tileX The tile's left side in space, divided by TILE_SIZE.
+     * @param tileY The tile's top side in space, divided by TILE_SIZE.
+     * @return The tile.
+     */
+    abstract Tile drawTile(GameSnapshot snapshot, int tileX, int tileY);
+}
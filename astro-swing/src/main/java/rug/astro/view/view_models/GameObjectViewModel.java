@@ -0,0 +1,153 @@
+package rug.astro.view.view_models;
+
+import rug.astro.control.GameUpdater;
+
+import java.awt.*;
+
+/**
+ * Draws a game object, based on some model of it. The model can be the game object itself, or a snapshot of the game
+ * that holds the object's state; subclasses tell where to find the object's location and velocity in it.
+ *
+ * @param <T> The type of the model.
+ */
+public abstract class GameObjectViewModel<T> {
+    /**
+     * The model of the object that this view model displays.
+     */
+    private T model;
+
+    /**
+     * The location at which the object is drawn. It is reused every time the object is drawn.
+     */
+    private final Point.Double simulatedLocation = new Point.Double();
+
+    /**
+     * Constructs a new view model with the given model.
+     *
+     * @param model The model of the object that will be displayed when this view model is drawn.
+     */
+    GameObjectViewModel(T model) {
+        this.model = model;
+    }
+
+    /**
+     * Gets the model that was given to this view model.
+     *
+     * @return The model of the object that should be displayed.
+     */
+    T getModel() {
+        return this.model;
+    }
+
+    /**
+     * Gives this view model a new model to display, so that the same view model can be used for every frame, instead of
+     * making a new one for every frame.
+     *
+     * @param model The model of the object that will be displayed when this view model is drawn.
+     */
+    public void setModel(T model) {
+        this.model = model;
+    }
+
+    /**
+     * @return The object's location on the x-axis, as of the last game tick.
+     */
+    protected abstract double getX();
+
+    /**
+     * @return The object's location on the y-axis, as of the last game tick.
+     */
+    protected abstract double getY();
+
+    /**
+     * @return The object's velocity on the x-axis, as of the last game tick.
+     */
+    protected abstract double getVelocityX();
+
+    /**
+     * @return The object's velocity on the y-axis, as of the last game tick.
+     */
+    protected abstract double getVelocityY();
+
+    /**
+     * Draws the object that was given to this view model, as if it kept moving at the same velocity it had at the last
+     * game tick. If every game tick an object's location changes by adding its velocity's x and y components to it,
+     * then to draw the object at a time between ticks, we need to add only a fraction of the object's velocity that is
+     * proportional to fraction of a game tick duration that has elapsed so far.
+     *
+     * For example, let's assume that the game ticks every 100ms (not really, but it's easy to think about).
+     * - Then, let's say that the FPS is set so that the display updates every 20ms.
+     * - This means that when the game starts at 0ms, it ticks (updating physics for all the objects), and updates the
+     * display. The next time the game will refresh, 20ms will have passed, and according to the game model (which has
+     * not ticked yet since the game started) all objects are in their same place.
+     * - However, we want to make it appear like the objects are moving. Since the game ticks every 100ms, 20ms is just
+     * 20% of that. To give the appearance that an object is moving at the same speed as it would be according to game
+     * physics, we can draw the object at a new position every 20ms, adding 20% of its velocity to its location, instead
+     * of the 100% that would be added in a normal game tick.
+     * - Therefore, every time the display refreshes, the object appears in a different position.
+     *
+     * Please note: We DO NOT update the actual game objects' locations. This is purely a visual trick, and to update
+     * the objects' locations would give an unfair advantage to faster PC's, and also cause rounding errors to
+     * accumulate faster.
+     *
+     * @param graphics2D The graphics object used to draw the object.
+     * @param timeSinceLastTick The number of milliseconds since the last game tick.
+     */
+    public void drawObject(Graphics2D graphics2D, long timeSinceLastTick) {
+        // What percent of a full game tick has elapsed? Only this percent of the object's velocity will be added.
+        double gameTickRatio = timeSinceLastTick / GameUpdater.MILLISECONDS_PER_TICK;
+        this.simulatedLocation.setLocation(
+                this.getX() + this.getVelocityX() * gameTickRatio,
+                this.getY() + this.getVelocityY() * gameTickRatio
+        );
+
+        this.draw(graphics2D, this.simulatedLocation);
+    }
+
+    /**
+     * @return The object's location on the x-axis, as of the tick before the last one. By default, this is worked out
+     * from the velocity, which is what was added to the location at the last tick.
+     */
+    protected double getPreviousX() {
+        return this.getX() - this.getVelocityX();
+    }
+
+    /**
+     * @return The object's location on the y-axis, as of the tick before the last one.
+     */
+    protected double getPreviousY() {
+        return this.getY() - this.getVelocityY();
+    }
+
+    /**
+     * Draws the object that was given to this view model somewhere between where it was at the tick before the last
+     * one, and where it was at the last one. Unlike drawObject(), this never guesses where the object is going, so it
+     * suits objects whose velocity isn't known, or can change a lot from one tick to the next, such as the ships of
+     * other players in a game on a server: those are drawn one tick behind, but they move smoothly, and never overshoot.
+     *
+     * If the next tick is late, the object stays where it was at the last tick until the next one comes in.
+     *
+     * @param graphics2D The graphics object used to draw the object.
+     * @param timeSinceLastTick The number of milliseconds since the last game tick.
+     */
+    public void drawInterpolatedObject(Graphics2D graphics2D, long timeSinceLastTick) {
+        double gameTickRatio = Math.min(1.0, timeSinceLastTick / GameUpdater.MILLISECONDS_PER_TICK);
+        double previousX = this.getPreviousX();
+        double previousY = this.getPreviousY();
+        this.simulatedLocation.setLocation(
+                previousX + (this.getX() - previousX) * gameTickRatio,
+                previousY + (this.getY() - previousY) * gameTickRatio
+        );
+
+        this.draw(graphics2D, this.simulatedLocation);
+    }
+
+    /**
+     * Draws the game object that was given to this view model.
+     *
+     * @param graphics2D The graphics object which provides the necessary drawing methods.
+     * @param location The location at which to draw the object. Use this instead of the object's actual location, since
+     *                 this location accounts for the time which has elapsed since the last game tick.
+     */
+    protected abstract void draw(Graphics2D graphics2D, Point.Double location);
+}
@@ -0,0 +1,122 @@
+package rug.astro.view.view_models;
+
+import rug.astro.model.GameSnapshot;
+import rug.astro.view.AstroFrame;
+
+import java.awt.*;
+
+/**
+ * Draws the spaceship of another player, as it is in a snapshot. Unlike the player's own spaceship, it is drawn where it
+ * is in space, relative to the view, which has the player's spaceship in the middle of the window.
+ *
+ * The ships of other players are drawn with drawInterpolatedObject(), between where they were in the snapshot before
+ * and where they are now, since in a game on a server, their velocity isn't known.
+ */
+public class OtherSpaceshipViewModel extends SpaceshipViewModel {
+    /**
+     * The index of the ship among the other ships of the snapshot.
+     */
+    private int index;
+
+    /**
+     * The location in space that is in the middle of the window.
+     */
+    private double viewX;
+
+    private double viewY;
+
+    /**
+     * The location on the screen at which the ship is drawn. It is reused every time the ship is drawn.
+     */
+    private final Point.Double screenLocation = new Point.Double();
+
+    /**
+     * Constructs a new view model that draws one of the other ships in the given snapshot.
+     *
+     * @param snapshot The snapshot of the game with the ship that will be displayed when this view model is drawn.
+     * @param index The index of the ship among the other ships of the snapshot.
+     */
+    public OtherSpaceshipViewModel(GameSnapshot snapshot, int index) {
+        super(snapshot);
+        this.index = index;
+    }
+
+    /**
+     * Gives this view model another ship to display.
+     *
+     * @param snapshot The snapshot of the game with the ship.
+     * @param index The index of the ship among the other ships of the snapshot.
+     */
+    public void setModel(GameSnapshot snapshot, int index) {
+        this.setModel(snapshot);
+        this.index = index;
+    }
+
+    /**
+     * Tells where the view is, which is where the player's spaceship is drawn.
+     *
+     * @param x The location in space that is in the middle of the window, on the x-axis.
+     * @param y The same, on the y-axis.
+     */
+    public void setView(double x, double y) {
+        this.viewX = x;
+        this.viewY = y;
+    }
+
+    @Override
+    protected double getX() {
+        return this.getModel().getOtherShipX(this.index);
+    }
+
+    @Override
+    protected double getY() {
+        return this.getModel().getOtherShipY(this.index);
+    }
+
+    @Override
+    protected double getPreviousX() {
+        return this.getModel().getOtherShipPreviousX(this.index);
+    }
+
+    @Override
+    protected double getPreviousY() {
+        return this.getModel().getOtherShipPreviousY(this.index);
+    }
+
+    /**
+     * @return The velocity is worked out from the snapshot before, since the ship's own velocity isn't known.
+     */
+    @Override
+    protected double getVelocityX() {
+        return this.getX() - this.getPreviousX();
+    }
+
+    @Override
+    protected double getVelocityY() {
+        return this.getY() - this.getPreviousY();
+    }
+
+    @Override
+    protected double getDirection() {
+        return this.getModel().getOtherShipDirection(this.index);
+    }
+
+    @Override
+    protected int getColor() {
+        return this.getModel().getOtherShipColor(this.index);
+    }
+
+    @Override
+    protected boolean isAccelerating() {
+        return this.getModel().isOtherShipAccelerating(this.index);
+    }
+
+    @Override
+    protected Point.Double getScreenLocation(Point.Double location) {
+        this.screenLocation.setLocation(
+                location.getX() - this.viewX + AstroFrame.WINDOW_SIZE.width / 2.0,
+                location.getY() - this.viewY + AstroFrame.WINDOW_SIZE.height / 2.0
+        );
+        return this.screenLocation;
+    }
+}
@@ -0,0 +1,201 @@
+package rug.astro.view.view_models;
+
+import rug.astro.model.GameSnapshot;
+import rug.astro.util.PolarCoordinate;
+import rug.astro.view.AstroFrame;
+
+import java.awt.*;
+import java.awt.geom.Path2D;
+
+import static java.lang.Math.PI;
+
+public class SpaceshipViewModel extends GameObjectViewModel<GameSnapshot> {
+    /**
+     * The corners of the spaceship's main body, relative to its center and the direction it is facing.
+     */
+    private static final PolarCoordinate BODY_NOSE = new PolarCoordinate(0.0 * PI, 20);
+    private static final PolarCoordinate BODY_LEFT = new PolarCoordinate(0.8 * PI, 20);
+    private static final PolarCoordinate BODY_RIGHT = new PolarCoordinate(1.2 * PI, 20);
+
+    /**
+     * The corners of the spaceship's exhaust flame, relative to its center and the direction it is facing.
+     */
+    private static final PolarCoordinate EXHAUST_TIP = new PolarCoordinate(1.0 * PI, 25);
+    private static final PolarCoordinate EXHAUST_LEFT = new PolarCoordinate(0.9 * PI, 15);
+    private static final PolarCoordinate EXHAUST_RIGHT = new PolarCoordinate(1.1 * PI, 15);
+
+    /**
+     * The spaceship is always drawn in the middle of the window, since the view follows it.
+     */
+    private final Point.Double center = new Point.Double(AstroFrame.WINDOW_SIZE.width / 2.0, AstroFrame.WINDOW_SIZE.height / 2.0);
+
+    /**
+     * The shapes of the main body and the exhaust flame. They are rebuilt every frame, but the paths are reused.
+     */
+    private final Path2D.Double mainBody = new Path2D.Double();
+
+    private final Path2D.Double exhaustFlame = new Path2D.Double();
+
+    /**
+     * The color of the main body, which is made again only when the spaceship's color changes.
+     */
+    private Color color;
+
+    /**
+     * Constructs a new view model that draws the spaceship as it is in the given snapshot.
+     *
+     * @param snapshot The snapshot of the game whose spaceship will be displayed when this view model is drawn.
+     */
+    public SpaceshipViewModel(GameSnapshot snapshot) {
+        super(snapshot);
+    }
+
+    @Override
+    protected double getX() {
+        return this.getModel().getShipX();
+    }
+
+    @Override
+    protected double getY() {
+        return this.getModel().getShipY();
+    }
+
+    @Override
+    protected double getVelocityX() {
+        return this.getModel().getShipVelocityX();
+    }
+
+    @Override
+    protected double getVelocityY() {
+        return this.getModel().getShipVelocityY();
+    }
+
+    /**
+     * @return The direction the spaceship is facing, in radians.
+     */
+    protected double getDirection() {
+        return this.getModel().getShipDirection();
+    }
+
+    /**
+     * @return The color of the spaceship's body, as a packed 0xRRGGBB value.
+     */
+    protected int getColor() {
+        return this.getModel().getShipColor();
+    }
+
+    protected boolean isAccelerating() {
+        return this.getModel().isShipAccelerating();
+    }
+
+    /**
+     * Tells where on the screen the spaceship goes.
+     *
+     * @param location The location of the spaceship in space, as it is drawn.
+     * @return The location on the screen. The player's own spaceship is always in the middle, since the view follows
+     * it.
+     */
+    protected Point.Double getScreenLocation(Point.Double location) {
+        return this.center;
+    }
+
+    /**
+     * Draws the game object that was given to this view model.
+     *
+     * @param graphics2D The graphics object which provides the necessary drawing methods.
+     * @param location The location at which to draw the spaceship.
+     */
+    @Override
+    public void draw(Graphics2D graphics2D, Point.Double location) {
+        location = this.getScreenLocation(location);
+        this.drawMainBody(graphics2D, location);
+        if (this.isAccelerating()) {
+            this.drawExhaust(graphics2D, location);
+        }
+    }
+
+    /**
+     * Draws the main body of the spaceship as a white triangle.
+     *
+     * @param graphics2D The graphics object to use when drawing.
+     * @param location The location at which to draw the spaceship.
+     */
+    private void drawMainBody(Graphics2D graphics2D, Point.Double location) {
+        Path2D.Double spaceshipMainBody = this.buildTriangle(
+                this.mainBody,
+                location,
+                this.getDirection(),
+                BODY_NOSE,
+                BODY_LEFT,
+                BODY_RIGHT
+        );
+        int rgb = this.getColor();
+        if (this.color == null || (this.color.getRGB() & 0xFFFFFF) != rgb) {
+            this.color = new Color(rgb);
+        }
+        // The area where the spaceship's body goes is first cleared by filling it with black, then the path is drawn.
+        graphics2D.setColor(this.color);
+        graphics2D.fill(spaceshipMainBody);
+        graphics2D.setColor(Color.WHITE);
+        graphics2D.draw(spaceshipMainBody);
+    }
+
+    /**
+     * Draws the exhaust of the spaceship as a small yellow triangle.
+     *
+     * @param graphics2D The graphics object to use when drawing.
+     * @param location The location at which to draw the spaceship.
+     */
+    private void drawExhaust(Graphics2D graphics2D, Point.Double location) {
+        Path2D.Double exhaustFlame = this.buildTriangle(
+                this.exhaustFlame,
+                location,
+                this.getDirection(),
+                EXHAUST_TIP,
+                EXHAUST_LEFT,
+                EXHAUST_RIGHT
+        );
+        graphics2D.setColor(Color.YELLOW);
+        graphics2D.fill(exhaustFlame);
+    }
+
+    /**
+     * Builds a triangle shape using a starting location, direction, and three polar coordinates that define the corners
+     * of the triangle.
+     *
+     * @param path The path to build the triangle in. Whatever it held before is thrown away.
+     * @param location The location at which to center the triangle. This can be treated as the origin for the polar
+     *                 coordinates.
+     * @param facingDirection The direction that the triangle is facing, in radians. This essentially works as an offset
+     *                        for the angle of every point on the triangle.
+     * @param a The first coordinate.
+     * @param b The second coordinate.
+     * @param c The third coordinate.
+     *
+     * @return A path representing the points identified by the three polar coordinates given.
+     */
+    private Path2D.Double buildTriangle(
+            Path2D.Double path,
+            Point.Double location,
+            double facingDirection,
+            PolarCoordinate a,
+            PolarCoordinate b,
+            PolarCoordinate c
+    ) {
+        path.reset();
+        path.moveTo(
+                location.getX() + Math.sin(facingDirection + a.getAngle()) * a.getRadius(),
+                location.getY() - Math.cos(facingDirection + a.getAngle()) * a.getRadius()
+        );
+        path.lineTo(
+                location.getX() + Math.sin(facingDirection + b.getAngle()) * b.getRadius(),
+                location.getY() - Math.cos(facingDirection + b.getAngle()) * b.getRadius()
+        );
+        path.lineTo(
+                location.getX() + Math.sin(facingDirection + c.getAngle()) * c.getRadius(),
+                location.getY() - Math.cos(facingDirection + c.getAngle()) * c.getRadius()
+        );
+        path.closePath();
+        return path;
+    }
+}